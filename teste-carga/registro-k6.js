@@ -0,0 +1,51 @@
+// Teste de carga (k6) do cadastro de usuários, para medir cadastros por segundo.
+//
+// Rode com a aplicação e o banco de dados em máquinas dedicadas e compare a métrica
+// http_reqs (vazão) e http_req_duration (p95/p99) entre versões:
+//
+//   k6 run -e TAXA=200 teste-carga/registro-k6.js
+//
+// Uma fração das requisições repete um nome já cadastrado, para medir também o caminho do 409.
+// O custo do bcrypt domina cada cadastro; mantenha autorizacao.senha.* iguais entre as execuções.
+import http from 'k6/http';
+import { check } from 'k6';
+import exec from 'k6/execution';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8087/usuario';
+const TAXA = parseInt(__ENV.TAXA || '100');
+const FRACAO_DUPLICADOS = parseFloat(__ENV.FRACAO_DUPLICADOS || '0.05');
+const EXECUCAO = Date.now().toString(36);
+
+export const options = {
+    scenarios: {
+        cadastros: {
+            executor: 'constant-arrival-rate',
+            rate: TAXA,
+            timeUnit: '1s',
+            duration: '2m',
+            preAllocatedVUs: 200,
+            maxVUs: 1000,
+        },
+    },
+    thresholds: {
+        'checks': ['rate>0.99'],
+    },
+};
+
+export default function () {
+    const duplicado = Math.random() < FRACAO_DUPLICADOS;
+    const sufixo = duplicado ? 'dup' : `${EXECUCAO}${exec.scenario.iterationInTest}`;
+    const corpo = JSON.stringify({
+        nome: `carga${sufixo}`,
+        email: `carga${sufixo}@teste.com`,
+        senha: 'Senha@123',
+    });
+
+    const resposta = http.post(`${BASE_URL}/autenticacao/registro`, corpo,
+        { headers: { 'Content-Type': 'application/json' } });
+    if (duplicado) {
+        check(resposta, { 'duplicado 201 ou 409': (r) => r.status === 201 || r.status === 409 });
+    } else {
+        check(resposta, { 'cadastro 201': (r) => r.status === 201 });
+    }
+}
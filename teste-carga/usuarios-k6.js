@@ -0,0 +1,58 @@
+// Teste de carga (k6) para comparar threads de plataforma e threads virtuais.
+//
+// Execute a aplicação duas vezes com o mesmo spring.datasource.hikari.maximum-pool-size,
+// alternando apenas USUARIO_THREADS_VIRTUAIS=false/true, e rode em cada uma:
+//
+//   k6 run -e USUARIO=admin -e SENHA='Senha@123' teste-carga/usuarios-k6.js
+//
+// Compare http_req_duration (p95/p99), http_reqs (vazão) e a métrica
+// hikaricp.connections.pending em /usuario/actuator/metrics durante a execução.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8087/usuario';
+const USUARIO = __ENV.USUARIO || 'admin';
+const SENHA = __ENV.SENHA || 'Senha@123';
+
+export const options = {
+    scenarios: {
+        leituras: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: 50 },
+                { duration: '1m', target: 400 },
+                { duration: '2m', target: 400 },
+                { duration: '30s', target: 0 },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+// Autentica uma única vez; todas as VUs reutilizam o mesmo token
+export function setup() {
+    const resposta = http.post(`${BASE_URL}/autenticacao/login`,
+        JSON.stringify({ nome: USUARIO, senha: SENHA }),
+        { headers: { 'Content-Type': 'application/json' } });
+    check(resposta, { 'login 201': (r) => r.status === 201 });
+    return { token: resposta.json('token') };
+}
+
+export default function (dados) {
+    const params = { headers: { Authorization: `Bearer ${dados.token}` } };
+
+    // Listagem paginada: uma consulta de página e uma de contagem no PostgreSQL
+    const pagina = http.get(`${BASE_URL}/usuario?page=${Math.floor(Math.random() * 10)}&size=10`, params);
+    check(pagina, { 'listagem 200': (r) => r.status === 200 });
+
+    // Consulta por ID de um usuário da página
+    const conteudo = pagina.json('content');
+    if (conteudo && conteudo.length > 0) {
+        const usuarioId = conteudo[Math.floor(Math.random() * conteudo.length)].usuarioId;
+        const detalhe = http.get(`${BASE_URL}/usuario/${usuarioId}`, params);
+        check(detalhe, { 'detalhe 200': (r) => r.status === 200 });
+    }
+}
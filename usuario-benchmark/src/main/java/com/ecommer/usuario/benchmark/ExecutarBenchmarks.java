@@ -0,0 +1,25 @@
+package com.ecommer.usuario.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ponto de entrada de target/benchmarks.jar: aceita as mesmas opções da linha de comando do JMH
+ * (ex.: {@code java -jar target/benchmarks.jar TokenJwt -p algoritmo=HS256}) e sempre inclui o profiler de GC,
+ * que reporta a taxa de alocação ({@code gc.alloc.rate.norm}, bytes por operação) de cada benchmark.
+ */
+public final class ExecutarBenchmarks {
+
+    private ExecutarBenchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
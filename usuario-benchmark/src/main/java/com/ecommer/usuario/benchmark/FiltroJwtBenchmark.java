@@ -0,0 +1,66 @@
+package com.ecommer.usuario.benchmark;
+
+import com.ecommer.usuario.configs.security.ChavesJwt;
+import com.ecommer.usuario.configs.security.TokenJwt;
+import com.ecommer.usuario.configs.security.UsuarioDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Custo do JWT por requisição no filtro de autenticação (HS256): verificação anterior contra a atual
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FiltroJwtBenchmark {
+
+    private static final String SEGREDO = "benchmark-segredo-jwt-com-pelo-menos-256-bits-para-o-hs256-0123456789";
+    private static final int EXPIRACAO_MS = 900000;
+
+    private TokenJwt tokenJwt;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        tokenJwt = new TokenJwt(SEGREDO, EXPIRACAO_MS, false, new ChavesJwt(ChavesJwt.HS256), new SimpleMeterRegistry());
+        UsuarioDetailsImpl usuario = new UsuarioDetailsImpl(UUID.randomUUID(), "usuario.benchmark", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USUARIO")));
+        token = tokenJwt.gerarJwt(new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities()));
+    }
+
+    /*
+    Implementação anterior do filtro: validacaoJwt seguido de getUsernameJwt, cada um derivando a chave
+    e construindo um novo parser, ou seja, duas verificações de assinatura por requisição.
+    */
+    @Benchmark
+    public String anterior() {
+        Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SEGREDO.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token);
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SEGREDO.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload()
+                .getSubject();
+    }
+
+    // Implementação atual: chave e parser reutilizados e uma única verificação de assinatura
+    @Benchmark
+    public String atual() {
+        Claims claims = tokenJwt.getClaimsValidadasJwt(token);
+        return claims.getSubject();
+    }
+}
@@ -0,0 +1,82 @@
+package com.ecommer.usuario.benchmark;
+
+import com.ecommer.usuario.configs.DateConfig;
+import com.ecommer.usuario.dtos.UsuarioResumoRecordDto;
+import com.ecommer.usuario.enums.StatusUsuario;
+import com.ecommer.usuario.enums.TipoPerfio;
+import com.ecommer.usuario.models.UsuarioModel;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.hateoas.Link;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Serialização de páginas de usuários (PagedModel, como em pageSerializationMode = VIA_DTO) com o serializador de DateConfig:
+// entidades com links do HATEOAS contra o modelo de leitura
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PaginaJacksonBenchmark {
+
+    private static final String BASE_HREF = "http://localhost:8087/usuario/";
+
+    @Param({"10", "100"})
+    public int tamanhoPagina;
+
+    private ObjectMapper objectMapper;
+    private PagedModel<UsuarioModel> paginaEntidades;
+    private PagedModel<UsuarioResumoRecordDto> paginaResumo;
+
+    @Setup
+    public void preparar() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new DateConfig().jsonCustomizer().customize(builder);
+        objectMapper = builder.build();
+
+        LocalDateTime agora = LocalDateTime.now(ZoneId.of("America/Recife"));
+        List<UsuarioModel> entidades = new ArrayList<>(tamanhoPagina);
+        List<UsuarioResumoRecordDto> resumos = new ArrayList<>(tamanhoPagina);
+        for (int i = 0; i < tamanhoPagina; i++) {
+            UsuarioModel usuarioModel = new UsuarioModel();
+            usuarioModel.setUsuarioId(UUID.randomUUID());
+            usuarioModel.setNome("usuario.benchmark." + i);
+            usuarioModel.setEmail("usuario" + i + "@benchmark.com");
+            usuarioModel.setStatusUsuario(StatusUsuario.ATIVO);
+            usuarioModel.setPerfilUsuario(TipoPerfio.USUARIO);
+            usuarioModel.setDataCriacao(agora);
+            usuarioModel.setDataAtualizacao(agora);
+            usuarioModel.add(Link.of(BASE_HREF + usuarioModel.getUsuarioId()).withSelfRel());
+            entidades.add(usuarioModel);
+
+            resumos.add(new UsuarioResumoRecordDto(usuarioModel.getUsuarioId(), usuarioModel.getNome(),
+                    usuarioModel.getStatusUsuario(), usuarioModel.getPerfilUsuario(),
+                    usuarioModel.getDataCriacao(), usuarioModel.getDataAtualizacao()).comLink(BASE_HREF));
+        }
+        PageRequest pageRequest = PageRequest.of(0, tamanhoPagina);
+        paginaEntidades = new PagedModel<>(new PageImpl<>(entidades, pageRequest, 100_000));
+        paginaResumo = new PagedModel<>(new PageImpl<>(resumos, pageRequest, 100_000));
+    }
+
+    @Benchmark
+    public byte[] paginaEntidades() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(paginaEntidades);
+    }
+
+    @Benchmark
+    public byte[] paginaResumo() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(paginaResumo);
+    }
+}
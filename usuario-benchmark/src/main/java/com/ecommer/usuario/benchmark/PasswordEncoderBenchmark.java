@@ -0,0 +1,52 @@
+package com.ecommer.usuario.benchmark;
+
+import com.ecommer.usuario.configs.security.CalibradorCustoSenha;
+import com.ecommer.usuario.configs.security.PasswordEncoderLimitado;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+// Encoder de senhas configurado (DelegatingPasswordEncoder com bcrypt) em custos fixos, direto e pelo pool limitado
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+    private static final String SENHA = "Senha@Forte1";
+
+    // Custo do bcrypt; a calibração é desativada (tempo alvo 0) para o custo ser o mesmo em qualquer máquina
+    @Param({"10", "12"})
+    public int custo;
+
+    private PasswordEncoder passwordEncoder;
+    private PasswordEncoderLimitado passwordEncoderLimitado;
+    private String hash;
+
+    @Setup
+    public void preparar() {
+        passwordEncoder = CalibradorCustoSenha.criarEncoder(custo, 0);
+        passwordEncoderLimitado = new PasswordEncoderLimitado(passwordEncoder, 1, 64, new SimpleMeterRegistry());
+        hash = passwordEncoder.encode(SENHA);
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode(SENHA);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches(SENHA, hash);
+    }
+
+    // Mesmo matches, passando pela fila e pelo pool dedicado usados pela aplicação
+    @Benchmark
+    public boolean matchesLimitado() {
+        return passwordEncoderLimitado.matches(SENHA, hash);
+    }
+}
@@ -0,0 +1,51 @@
+package com.ecommer.usuario.benchmark;
+
+import com.ecommer.usuario.validates.SenhaConstraintImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// Validação de senha: política atual (PoliticaSenha) contra a expressão regular usada anteriormente
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SenhaConstraintBenchmark {
+
+    // Expressão regular da implementação anterior de SenhaConstraintImpl
+    private static final String SENHA_PATTERN = "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[!@#&()–[{}]:;',?/*~$^+=<>]).{5,20}$";
+    private static final Pattern PATTERN_PRECOMPILADO = Pattern.compile(SENHA_PATTERN);
+
+    // Válida, sem caractere especial, e longa demais
+    @Param({"Senha@Forte1", "senhaSemEspecial1", "Abcdef@123456789012345"})
+    public String senha;
+
+    private final SenhaConstraintImpl senhaConstraint = new SenhaConstraintImpl();
+
+    @Benchmark
+    public boolean politica() {
+        return senhaConstraint.isValid(senha, null);
+    }
+
+    // Comportamento anterior: compila o padrão a cada validação
+    @Benchmark
+    public boolean regexPorChamada() {
+        Pattern pattern = Pattern.compile(SENHA_PATTERN);
+        if (senha == null || senha.trim().isEmpty() || senha.contains(" ")) {
+            return false;
+        }
+        return pattern.matcher(senha).matches();
+    }
+
+    // Referência: a mesma expressão regular, compilada uma única vez
+    @Benchmark
+    public boolean regexPrecompilada() {
+        if (senha == null || senha.trim().isEmpty() || senha.contains(" ")) {
+            return false;
+        }
+        return PATTERN_PRECOMPILADO.matcher(senha).matches();
+    }
+}
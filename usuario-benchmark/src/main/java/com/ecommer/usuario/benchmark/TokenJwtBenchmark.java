@@ -0,0 +1,70 @@
+package com.ecommer.usuario.benchmark;
+
+import com.ecommer.usuario.configs.security.ChavesJwt;
+import com.ecommer.usuario.configs.security.TokenJwt;
+import com.ecommer.usuario.configs.security.UsuarioDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Geração e verificação de tokens JWT em cada algoritmo de assinatura suportado
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenJwtBenchmark {
+
+    private static final String SEGREDO = "benchmark-segredo-jwt-com-pelo-menos-256-bits-para-o-hs256-0123456789";
+    private static final int EXPIRACAO_MS = 900000;
+
+    @Param({ChavesJwt.HS256, ChavesJwt.ES256, ChavesJwt.EDDSA})
+    public String algoritmo;
+
+    private TokenJwt tokenJwt;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        ChavesJwt chavesJwt = new ChavesJwt(algoritmo);
+        if (chavesJwt.isAssimetrico()) {
+            // Uma única chave já ativa, no lugar das chaves lidas da TB_CHAVE_JWT
+            chavesJwt.publicar(List.of(new ChavesJwt.ChaveAssinatura("benchmark", chavesJwt.gerarParChaves(), 0L)));
+        }
+        tokenJwt = new TokenJwt(SEGREDO, EXPIRACAO_MS, false, chavesJwt, new SimpleMeterRegistry());
+        UsuarioDetailsImpl usuario = new UsuarioDetailsImpl(UUID.randomUUID(), "usuario.benchmark", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USUARIO")));
+        authentication = new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities());
+        token = tokenJwt.gerarJwt(authentication);
+    }
+
+    @Benchmark
+    public String gerarJwt() {
+        return tokenJwt.gerarJwt(authentication);
+    }
+
+    @Benchmark
+    public boolean validacaoJwt() {
+        return tokenJwt.validacaoJwt(token);
+    }
+
+    // Caminho do filtro de autenticação: uma única verificação de assinatura por requisição
+    @Benchmark
+    public Claims getClaimsValidadasJwt() {
+        return tokenJwt.getClaimsValidadasJwt(token);
+    }
+
+    @Benchmark
+    public String getUsernameJwt() {
+        return tokenJwt.getUsernameJwt(token);
+    }
+}
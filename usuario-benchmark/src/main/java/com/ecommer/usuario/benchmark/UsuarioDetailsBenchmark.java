@@ -0,0 +1,66 @@
+package com.ecommer.usuario.benchmark;
+
+import com.ecommer.usuario.configs.security.UsuarioDetailsImpl;
+import com.ecommer.usuario.enums.RoleType;
+import com.ecommer.usuario.models.RoleModel;
+import com.ecommer.usuario.models.UsuarioModel;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Montagem dos detalhes do usuário na autenticação: máscara de roles contra a leitura da associação de roles
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UsuarioDetailsBenchmark {
+
+    @Param({"1", "2"})
+    public int quantidadeRoles;
+
+    private UsuarioModel usuarioModel;
+
+    @Setup
+    public void preparar() {
+        usuarioModel = new UsuarioModel();
+        usuarioModel.setUsuarioId(UUID.randomUUID());
+        usuarioModel.setNome("usuario.benchmark");
+        usuarioModel.setSenha("{bcrypt}$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3oYKzqAqJZbYyJQj6GmTq2e");
+        usuarioModel.setDataAtualizacao(LocalDateTime.now(ZoneId.of("America/Recife")));
+        for (RoleType roleType : RoleType.values()) {
+            if (roleType.ordinal() < quantidadeRoles) {
+                RoleModel roleModel = new RoleModel();
+                roleModel.setRoleId(UUID.randomUUID());
+                roleModel.setRoleNome(roleType);
+                usuarioModel.adicionarRole(roleModel);
+            }
+        }
+    }
+
+    @Benchmark
+    public UsuarioDetailsImpl build() {
+        return UsuarioDetailsImpl.build(usuarioModel);
+    }
+
+    // Implementação anterior: uma nova lista de SimpleGrantedAuthority a partir da associação de roles
+    @Benchmark
+    public UsuarioDetailsImpl buildPorAssociacao() {
+        List<GrantedAuthority> authorities = usuarioModel.getRoles().stream()
+                .map(role -> new SimpleGrantedAuthority(role.getAuthority()))
+                .collect(Collectors.toList());
+        return new UsuarioDetailsImpl(
+                usuarioModel.getUsuarioId(),
+                usuarioModel.getNome(),
+                usuarioModel.getSenha(),
+                authorities);
+    }
+}
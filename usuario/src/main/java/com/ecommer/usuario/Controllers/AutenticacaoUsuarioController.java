@@ -1,23 +1,40 @@
 package com.ecommer.usuario.Controllers;
 
+import com.ecommer.usuario.configs.security.ChavesJwt;
+import com.ecommer.usuario.configs.security.DetalhesAutenticacaoJwt;
+import com.ecommer.usuario.configs.security.LimitadorTentativasLogin;
+import com.ecommer.usuario.configs.security.RevogacaoTokenJwt;
 import com.ecommer.usuario.configs.security.TokenJwt;
+import com.ecommer.usuario.configs.security.UsuarioDetailsImpl;
+import com.ecommer.usuario.configs.security.UsuarioDetailsServiceImpl;
 import com.ecommer.usuario.dtos.JwtRecordDto;
 import com.ecommer.usuario.dtos.LoginRecordDto;
+import com.ecommer.usuario.dtos.RefreshTokenRecordDto;
 import com.ecommer.usuario.dtos.UsuarioRecordDto;
+import com.ecommer.usuario.exceptios.RegistroDuplicadoException;
+import com.ecommer.usuario.models.UsuarioModel;
+import com.ecommer.usuario.services.RefreshTokenService;
 import com.ecommer.usuario.services.UsuarioService;
 import com.fasterxml.jackson.annotation.JsonView;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 @RestController
 @RequestMapping("/autenticacao")
 public class AutenticacaoUsuarioController {
@@ -29,27 +46,99 @@ public class AutenticacaoUsuarioController {
     private final UsuarioService usuarioService;
     private final AuthenticationManager authenticationManager;
     private final TokenJwt jwtProvedor;
+    private final ChavesJwt chavesJwt;
+    private final RefreshTokenService refreshTokenService;
+    private final UsuarioDetailsServiceImpl usuarioDetailsService;
+    private final RevogacaoTokenJwt revogacaoTokenJwt;
+    private final LimitadorTentativasLogin limitadorTentativasLogin;
 
     // Construtor para injeção via Spring
-    public AutenticacaoUsuarioController(UsuarioService usuarioService, AuthenticationManager authenticationManager, TokenJwt jwtProvedor) {
+    public AutenticacaoUsuarioController(UsuarioService usuarioService, AuthenticationManager authenticationManager, TokenJwt jwtProvedor, ChavesJwt chavesJwt,
+                                         RefreshTokenService refreshTokenService, UsuarioDetailsServiceImpl usuarioDetailsService,
+                                         RevogacaoTokenJwt revogacaoTokenJwt, LimitadorTentativasLogin limitadorTentativasLogin) {
         this.usuarioService = usuarioService;
         this.authenticationManager = authenticationManager;
         this.jwtProvedor = jwtProvedor;
+        this.chavesJwt = chavesJwt;
+        this.refreshTokenService = refreshTokenService;
+        this.usuarioDetailsService = usuarioDetailsService;
+        this.revogacaoTokenJwt = revogacaoTokenJwt;
+        this.limitadorTentativasLogin = limitadorTentativasLogin;
     }
 
     /**
      * Endpoint para autenticação de usuários.
-     * Recebe um DTO com nome e senha e retorna um token JWT caso as credenciais sejam válidas.
+     * Recebe um DTO com nome e senha e retorna um token JWT de curta duração e um refresh token
+     * caso as credenciais sejam válidas.
+     * As tentativas passam antes pelo limitador por nome e por IP, que responde 429 sem executar o bcrypt.
      *
      * @param loginRecordDto DTO contendo as credenciais do usuário.
-     * @return ResponseEntity com o token JWT em caso de sucesso.
+     * @param request Requisição HTTP, usada para obter o IP do cliente.
+     * @return ResponseEntity com o token JWT e o refresh token em caso de sucesso.
      */
-    @PostMapping("/ ")
-    public ResponseEntity<JwtRecordDto> autenticacao(@RequestBody @Valid LoginRecordDto loginRecordDto) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRecordDto.nome(), loginRecordDto.senha()));
+    @PostMapping("/login")
+    public ResponseEntity<JwtRecordDto> autenticacao(@RequestBody @Valid LoginRecordDto loginRecordDto, HttpServletRequest request) {
+        String ip = request.getRemoteAddr();
+        limitadorTentativasLogin.verificar(loginRecordDto.nome(), ip);
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(loginRecordDto.nome(), loginRecordDto.senha()));
+        } catch (AuthenticationException e) {
+            limitadorTentativasLogin.registrarFalha(loginRecordDto.nome(), ip);
+            throw e;
+        }
+        limitadorTentativasLogin.registrarSucesso(loginRecordDto.nome());
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        return ResponseEntity.status(HttpStatus.CREATED).body(new JwtRecordDto(jwtProvedor.gerarJwt(authentication)));
+        UsuarioDetailsImpl usuarioDetails = (UsuarioDetailsImpl) authentication.getPrincipal();
+        return ResponseEntity.status(HttpStatus.CREATED).body(new JwtRecordDto(
+                jwtProvedor.gerarJwt(authentication),
+                refreshTokenService.criarRefreshToken(usuarioDetails.getUsuarioId())));
+    }
+
+    /**
+     * Endpoint para renovação do token JWT.
+     * Recebe um refresh token válido e retorna um novo token JWT e um novo refresh token;
+     * o refresh token recebido é descartado e não pode ser reutilizado.
+     * É o único fluxo de autenticação que consulta o banco de dados a cada chamada.
+     *
+     * @param refreshTokenRecordDto DTO contendo o refresh token.
+     * @return ResponseEntity com o novo token JWT e o novo refresh token.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<JwtRecordDto> refresh(@RequestBody @Valid RefreshTokenRecordDto refreshTokenRecordDto) {
+        UsuarioModel usuarioModel = refreshTokenService.consumirRefreshToken(refreshTokenRecordDto.refreshToken());
+        UsuarioDetailsImpl usuarioDetails = (UsuarioDetailsImpl) usuarioDetailsService.loadUserByUsername(usuarioModel.getNome());
+        Authentication authentication = new UsernamePasswordAuthenticationToken(usuarioDetails, null, usuarioDetails.getAuthorities());
+        return ResponseEntity.status(HttpStatus.CREATED).body(new JwtRecordDto(
+                jwtProvedor.gerarJwt(authentication),
+                refreshTokenService.criarRefreshToken(usuarioDetails.getUsuarioId())));
+    }
+
+    /**
+     * Endpoint de logout.
+     * Revoga o token JWT enviado no cabeçalho e, se informado, o refresh token da mesma sessão.
+     * O {@code jti} e a expiração vêm da autenticação montada pelo filtro JWT, sem nova verificação do token.
+     * Um token sem {@code jti} não é revogado individualmente: ele expira sozinho em poucos minutos.
+     *
+     * @param authentication Autenticação feita pelo filtro JWT.
+     * @param usuarioDetails Usuário autenticado pelo token.
+     * @param refreshTokenRecordDto DTO opcional contendo o refresh token.
+     * @return ResponseEntity informando sucesso no logout.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Object> logout(Authentication authentication,
+                                         @AuthenticationPrincipal UsuarioDetailsImpl usuarioDetails,
+                                         @RequestBody(required = false) RefreshTokenRecordDto refreshTokenRecordDto) {
+        if (authentication.getDetails() instanceof DetalhesAutenticacaoJwt detalhes && detalhes.getJti() != null) {
+            revogacaoTokenJwt.revogarToken(detalhes.getJti(), usuarioDetails.getUsuarioId(), detalhes.getExpiracaoMs());
+        }
+        if (refreshTokenRecordDto != null && refreshTokenRecordDto.refreshToken() != null) {
+            refreshTokenService.revogarRefreshToken(refreshTokenRecordDto.refreshToken());
+        }
+        logger.debug("POST: logout do usuário {}", usuarioDetails.getUsername());
+        return ResponseEntity.status(HttpStatus.OK).body("Logout realizado com sucesso!");
     }
 
     /**
@@ -63,24 +152,28 @@ public class AutenticacaoUsuarioController {
             @RequestBody @Validated(UsuarioRecordDto.UsuarioView.RegistroUsuarioPost.class)
             @JsonView(UsuarioRecordDto.UsuarioView.RegistroUsuarioPost.class) UsuarioRecordDto usuarioRecordDto){
 
-        // Verifica se o nome de usuário já existe no sistema
-        if (usuarioService.existByNome(usuarioRecordDto.nome())) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("ERRO, USUARIO JÁ EXISTENTE!");
-        }
+        // Log de depuração
+        logger.debug("POST: Registro de usuário {}", usuarioRecordDto.nome());
 
-        // Verifica se a senha informada já está em uso
-        if (usuarioService.existBySenha(usuarioRecordDto.senha())) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("ERRO, ESSA SENHA JÁ ESTÁ EM USO!");
-        }
-        // Verifica se o nome de usuário já existe no sistema
-        if (usuarioService.existByEmail(usuarioRecordDto.email())) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("ERRO, ESTE E-MAIL JÁ ESTÁ EM USO!");
+        // Criação do usuário em um único INSERT; nome ou e-mail duplicado é detectado pelas restrições de unicidade
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(usuarioService.saveUsuario(usuarioRecordDto));
+        } catch (RegistroDuplicadoException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         }
+    }
 
-        // Log de depuração
-        logger.debug("POST: Registro de usuário {}", usuarioRecordDto);
-
-        // Criação do usuário e retorno da resposta
-        return ResponseEntity.status(HttpStatus.CREATED).body(usuarioService.saveUsuario(usuarioRecordDto));
+    /**
+     * Endpoint público com as chaves de verificação dos tokens (JWKS).
+     * Os demais microsserviços podem guardar as chaves em cache e validar os tokens localmente.
+     * No modo HS256 a lista de chaves é vazia.
+     *
+     * @return ResponseEntity com o documento JWKS.
+     */
+    @GetMapping("/jwks")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.status(HttpStatus.OK)
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(chavesJwt.getJwks());
     }
 }
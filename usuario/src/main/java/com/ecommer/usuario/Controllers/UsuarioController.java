@@ -1,26 +1,41 @@
 package com.ecommer.usuario.Controllers;
 
+import com.ecommer.usuario.dtos.PaginaCursorRecordDto;
 import com.ecommer.usuario.dtos.UsuarioRecordDto;
+import com.ecommer.usuario.dtos.UsuarioResumoRecordDto;
+import com.ecommer.usuario.enums.FormatoArquivo;
 import com.ecommer.usuario.models.UsuarioModel;
+import com.ecommer.usuario.services.ExportacaoUsuarioService;
+import com.ecommer.usuario.services.ImportacaoUsuarioService;
+import com.ecommer.usuario.services.RoleService;
 import com.ecommer.usuario.services.UsuarioService;
 import com.ecommer.usuario.specifications.SpecificationsTemplate;
 import com.fasterxml.jackson.annotation.JsonView;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.constraints.Size;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @RestController
 @RequestMapping("/usuario")
@@ -30,10 +45,17 @@ public class UsuarioController {
 
     final UsuarioService usuarioService;
     final PasswordEncoder passwordEncoder;
+    final ImportacaoUsuarioService importacaoUsuarioService;
+    final ExportacaoUsuarioService exportacaoUsuarioService;
+    final RoleService roleService;
 
-    public UsuarioController(UsuarioService usuarioService, PasswordEncoder passwordEncoder) {
+    public UsuarioController(UsuarioService usuarioService, PasswordEncoder passwordEncoder, ImportacaoUsuarioService importacaoUsuarioService,
+                             ExportacaoUsuarioService exportacaoUsuarioService, RoleService roleService) {
         this.usuarioService = usuarioService;
         this.passwordEncoder = passwordEncoder;
+        this.importacaoUsuarioService = importacaoUsuarioService;
+        this.exportacaoUsuarioService = exportacaoUsuarioService;
+        this.roleService = roleService;
     }
 
     /**
@@ -44,15 +66,70 @@ public class UsuarioController {
      * @return Página de usuários com hiperlinks de navegação.
      */
     @GetMapping
-    public ResponseEntity<Page<UsuarioModel>> getAllUsuarios(SpecificationsTemplate.UsuarioSpec spec,
-                                                             Pageable pageable) {
-        Page<UsuarioModel> usuarioModelPageSpec = usuarioService.findAll(spec, pageable);
-        if (!usuarioModelPageSpec.isEmpty()) {
-            for (UsuarioModel usuario : usuarioModelPageSpec.toList()) {
-                usuario.add(linkTo(methodOn(UsuarioController.class).getOnUsuario(usuario.getUsuarioId())).withSelfRel());
-            }
-        }
-        return ResponseEntity.status(HttpStatus.OK).body(usuarioModelPageSpec);
+    public ResponseEntity<Page<UsuarioResumoRecordDto>> getAllUsuarios(SpecificationsTemplate.UsuarioSpec spec,
+                                                                       Pageable pageable) {
+        String baseHref = baseHref();
+        Page<UsuarioResumoRecordDto> usuarios = usuarioService.findAllResumo(spec, pageable).map(usuario -> usuario.comLink(baseHref));
+        return ResponseEntity.status(HttpStatus.OK).body(usuarios);
+    }
+
+    /**
+     * Retorna os usuários cadastrados com paginação por cursor, ordenados por data de criação.
+     * Diferente da listagem por página, não executa contagem e o tempo de resposta é o mesmo em qualquer
+     * posição da listagem. Para a próxima página, envie o {@code proximoCursor} recebido.
+     *
+     * @param spec Filtro de busca dinâmico (o mesmo da listagem).
+     * @param cursor Cursor recebido na página anterior; ausente na primeira página.
+     * @param size Tamanho da página (de 1 a 100).
+     * @return Página de usuários e o cursor da próxima página.
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<PaginaCursorRecordDto<UsuarioResumoRecordDto>> getAllUsuariosCursor(SpecificationsTemplate.UsuarioSpec spec,
+                                                                                            @RequestParam(required = false) String cursor,
+                                                                                            @RequestParam(defaultValue = "10") int size) {
+        PaginaCursorRecordDto<UsuarioResumoRecordDto> pagina = usuarioService.findAllCursor(spec, cursor, Math.max(1, Math.min(size, 100)));
+        String baseHref = baseHref();
+        List<UsuarioResumoRecordDto> usuarios = pagina.content().stream().map(usuario -> usuario.comLink(baseHref)).toList();
+        return ResponseEntity.status(HttpStatus.OK).body(new PaginaCursorRecordDto<>(usuarios, pagina.size(), pagina.proximoCursor()));
+    }
+
+    /**
+     * Busca usuários pelo nome: retorna os que contêm o termo ou têm nome semelhante a ele, do mais para o menos
+     * semelhante. Usa o mesmo índice de trigramas do filtro {@code nome} da listagem; o que a busca acrescenta é a
+     * tolerância a erros de digitação e a maiúsculas (o filtro só encontra o trecho exato) e a ordenação pela semelhança.
+     *
+     * @param nome Trecho ou aproximação do nome (mínimo de 3 caracteres).
+     * @param limite Quantidade máxima de resultados (de 1 a 50).
+     * @return Usuários encontrados com hiperlinks de navegação.
+     */
+    @GetMapping("/busca")
+    public ResponseEntity<List<UsuarioResumoRecordDto>> buscarUsuarios(@RequestParam @Size(min = 3, max = 150) String nome,
+                                                                       @RequestParam(defaultValue = "10") int limite) {
+        logger.debug("GET: buscarUsuarios, nome: {}", nome);
+        String baseHref = baseHref();
+        List<UsuarioResumoRecordDto> usuarios = usuarioService.buscarPorNome(nome, Math.max(1, Math.min(limite, 50))).stream()
+                .map(usuario -> usuario.comLink(baseHref))
+                .toList();
+        return ResponseEntity.status(HttpStatus.OK).body(usuarios);
+    }
+
+    /**
+     * Exporta todos os usuários do filtro, sem paginação, em NDJSON (padrão) ou CSV.
+     * Os usuários são lidos por um cursor no servidor e transmitidos à medida que são lidos.
+     *
+     * @param spec Filtro de busca dinâmico (o mesmo da listagem).
+     * @param formato Formato da exportação: NDJSON ou CSV.
+     * @return Usuários do filtro, um por linha.
+     */
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    @GetMapping("/exportacao")
+    public ResponseEntity<StreamingResponseBody> exportarUsuarios(SpecificationsTemplate.UsuarioSpec spec,
+                                                                  @RequestParam(defaultValue = "NDJSON") FormatoArquivo formato) {
+        logger.debug("GET: exportarUsuarios, formato: {}", formato);
+        StreamingResponseBody usuarios = saida -> exportacaoUsuarioService.exportar(spec, formato, saida);
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(formato == FormatoArquivo.CSV ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .body(usuarios);
     }
 
     /**
@@ -64,7 +141,14 @@ public class UsuarioController {
     @GetMapping("/{usuarioId}")
     public ResponseEntity<Object> getOnUsuario(@PathVariable(value = "usuarioId") UUID usuarioId) {
         logger.debug("GET: getOnUsuario, consulta: {}", usuarioId);
-        return ResponseEntity.status(HttpStatus.OK).body(usuarioService.findById(usuarioId));
+        // Sem o link 'self' (a própria URL da requisição), como o detalhe sempre foi retornado
+        return ResponseEntity.status(HttpStatus.OK).body(usuarioService.findResumoById(usuarioId));
+    }
+
+    // Endereço da coleção (/usuario/) resolvido uma vez por requisição a partir do host e do contexto atuais.
+    // Os links 'self' são montados por concatenação do ID, sem o proxy de methodOn por linha.
+    private static String baseHref() {
+        return linkTo(UsuarioController.class).toUriComponentsBuilder().path("/").build().toUriString();
     }
 
     /**
@@ -130,6 +214,57 @@ public class UsuarioController {
     }
 
 
+    /**
+     * Importa usuários em lote a partir de um arquivo NDJSON ou CSV (cabeçalho com nome, email e senha).
+     * A resposta é transmitida enquanto o arquivo é processado: uma linha NDJSON com o resultado de cada
+     * linha do arquivo, seguida do resumo da importação.
+     *
+     * @param contentType Formato do arquivo: application/x-ndjson ou text/csv.
+     * @param request Requisição HTTP com o arquivo no corpo.
+     * @return Relatório da importação, linha a linha.
+     * @throws IOException Em caso de falha na leitura do corpo da requisição.
+     */
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    @PostMapping(value = "/importacao", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importarUsuarios(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                                  HttpServletRequest request) throws IOException {
+        FormatoArquivo formato = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? FormatoArquivo.NDJSON : FormatoArquivo.CSV;
+        InputStream entrada = request.getInputStream();
+        logger.debug("POST: importarUsuarios, formato: {}", formato);
+        StreamingResponseBody relatorio = saida -> importacaoUsuarioService.importar(entrada, formato, saida);
+        return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_NDJSON).body(relatorio);
+    }
+
+    /**
+     * Revoga todas as sessões de um usuário (tokens JWT emitidos e refresh tokens).
+     * Usado, por exemplo, quando a conta é comprometida.
+     *
+     * @param usuarioId ID do usuário.
+     * @return Mensagem de sucesso.
+     */
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    @PostMapping("/{usuarioId}/revogacao")
+    public ResponseEntity<Object> revogarTokens(@PathVariable(value = "usuarioId") UUID usuarioId) {
+        usuarioService.revogarTokens(usuarioService.findById(usuarioId).get());
+        logger.debug("POST: revogarTokens, usuarioId recebido: {}", usuarioId);
+        return ResponseEntity.status(HttpStatus.OK).body("Sessões do usuário revogadas com sucesso!");
+    }
+
+    /**
+     * Recarrega o registro de roles do banco de dados, para publicar imediatamente uma role incluída
+     * depois da inicialização.
+     *
+     * @return Roles carregadas.
+     */
+    @PreAuthorize("hasRole('ADMINISTRADOR')")
+    @PostMapping("/roles/recarga")
+    public ResponseEntity<Object> recarregarRoles() {
+        logger.debug("POST: recarregarRoles");
+        return ResponseEntity.status(HttpStatus.OK).body(roleService.recarregar().keySet());
+    }
+
     /**
      * Atualiza o status de um usuário.
      *
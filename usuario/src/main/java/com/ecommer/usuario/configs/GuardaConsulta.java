@@ -0,0 +1,202 @@
+package com.ecommer.usuario.configs;
+
+import com.ecommer.usuario.exceptios.ConsultaNaoPermitidaException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Guarda do formato das consultas de usuários: mantém os filtros e a ordenação recebidos por parâmetro
+ * dentro do que os índices de TB_USUARIO atendem, para que nenhuma consulta de listagem varra ou ordene a tabela inteira.
+ *
+ * <ul>
+ *     <li>Ordenação: por uma única propriedade, e apenas pelas que um índice entrega já ordenadas junto com os
+ *     filtros recebidos (ver {@link CaminhoAcesso}); {@code dataCriacao} recebe o desempate por {@code usuarioId},
+ *     como nos índices compostos. Uma ordenação fora do caminho de acesso dos filtros é reescrita para a ordem
+ *     do índice usado, na direção pedida, e não recusada.</li>
+ *     <li>Tamanho da página: limitado a {@code tamanhoMaximoPagina} pelo resolver de paginação.</li>
+ *     <li>Deslocamento: páginas além de {@code deslocamentoMaximo} registros são recusadas, já que o OFFSET percorre
+ *     todos os registros anteriores; para essas, a listagem por cursor deve ser usada.</li>
+ *     <li>Filtro {@code nome}: é um LIKE '%x%', atendido pelo índice de trigramas apenas a partir de 3 caracteres.</li>
+ * </ul>
+ *
+ * Cada reescrita ou recusa é contada na métrica {@code consulta.guarda.rejeicoes}, por motivo.
+ */
+@Component
+public class GuardaConsulta {
+
+    private static final Logger logger = LogManager.getLogger(GuardaConsulta.class);
+
+    // Propriedades de ordenação atendidas por índice (chave primária, restrições de unicidade e índice de data de criação)
+    private static final Set<String> ORDENACOES_INDEXADAS = Set.of("dataCriacao", "usuarioId", "nome", "email");
+
+    /**
+     * Combinações permitidas de filtros e ordenação, conforme os índices de TB_USUARIO (V0_1, V4, V5, V6 e V7):
+     *
+     * <ul>
+     *     <li>{@code usuarioId} ou {@code email}: chave primária ou restrição de unicidade, no máximo uma linha;
+     *     qualquer ordenação indexada é aceita, já que ordenar uma linha não custa nada.</li>
+     *     <li>{@code nome} (com ou sem {@code statusUsuario}): candidatos do índice de trigramas; apenas a ordem por
+     *     {@code nome}, que a restrição uk_tb_usuario_nome entrega sem ordenar os candidatos.</li>
+     *     <li>Apenas {@code statusUsuario}: índice (status_usuario, data_criacao, usuario_id); apenas a ordem por
+     *     {@code dataCriacao}.</li>
+     *     <li>Sem filtros: qualquer ordenação indexada (chave primária, restrições de unicidade e índice
+     *     (data_criacao, usuario_id)).</li>
+     * </ul>
+     *
+     * @param descricao Descrição usada no log.
+     * @param ordenacoes Propriedades de ordenação atendidas pelo índice do caminho.
+     * @param padrao Propriedade que substitui uma ordenação não atendida, ou {@code null} para não ordenar.
+     */
+    private record CaminhoAcesso(String descricao, Set<String> ordenacoes, String padrao) {
+        static final CaminhoAcesso CHAVE_UNICA = new CaminhoAcesso("chave única", ORDENACOES_INDEXADAS, null);
+        static final CaminhoAcesso NOME = new CaminhoAcesso("trigramas do nome", Set.of("nome"), "nome");
+        static final CaminhoAcesso STATUS = new CaminhoAcesso("status e data de criação", Set.of("dataCriacao"), "dataCriacao");
+        static final CaminhoAcesso SEM_FILTRO = new CaminhoAcesso("sem filtro", ORDENACOES_INDEXADAS, null);
+
+        // Caminho de acesso dos filtros da UsuarioSpec presentes na requisição
+        static CaminhoAcesso de(NativeWebRequest webRequest) {
+            if (presente(webRequest, "usuarioId") || presente(webRequest, "email")) {
+                return CHAVE_UNICA;
+            }
+            if (presente(webRequest, "nome")) {
+                return NOME;
+            }
+            return presente(webRequest, "statusUsuario") ? STATUS : SEM_FILTRO;
+        }
+
+        private static boolean presente(NativeWebRequest webRequest, String parametro) {
+            String valor = webRequest.getParameter(parametro);
+            return valor != null && !valor.isBlank();
+        }
+    }
+
+    private final int tamanhoMaximoPagina;
+    private final long deslocamentoMaximo;
+    private final int tamanhoMinimoNome;
+
+    private final Counter rejeicoesOrdenacao;
+    private final Counter rejeicoesTamanho;
+    private final Counter rejeicoesDeslocamento;
+    private final Counter rejeicoesFiltro;
+
+    public GuardaConsulta(@Value("${consulta.tamanhoMaximoPagina:100}") int tamanhoMaximoPagina,
+                          @Value("${consulta.deslocamentoMaximo:10000}") long deslocamentoMaximo,
+                          @Value("${consulta.tamanhoMinimoNome:3}") int tamanhoMinimoNome,
+                          MeterRegistry meterRegistry) {
+        this.tamanhoMaximoPagina = tamanhoMaximoPagina;
+        this.deslocamentoMaximo = deslocamentoMaximo;
+        this.tamanhoMinimoNome = tamanhoMinimoNome;
+        this.rejeicoesOrdenacao = contador(meterRegistry, "ordenacao");
+        this.rejeicoesTamanho = contador(meterRegistry, "tamanho");
+        this.rejeicoesDeslocamento = contador(meterRegistry, "deslocamento");
+        this.rejeicoesFiltro = contador(meterRegistry, "filtro");
+    }
+
+    public int getTamanhoMaximoPagina() {
+        return tamanhoMaximoPagina;
+    }
+
+    /**
+     * Ajusta a paginação recebida: reescreve a ordenação para a atendida pelo índice dos filtros e recusa
+     * deslocamentos muito grandes.
+     *
+     * @param pageable Paginação já resolvida (e com o tamanho limitado) pelo resolver.
+     * @param webRequest Requisição atual, para conferir o tamanho pedido originalmente e os filtros.
+     * @return Paginação com a ordenação permitida.
+     * @throws ConsultaNaoPermitidaException Se o deslocamento passar de {@code deslocamentoMaximo}.
+     */
+    public Pageable ajustar(Pageable pageable, NativeWebRequest webRequest) {
+        if (pageable.isUnpaged()) {
+            return pageable;
+        }
+        if (tamanhoPedido(webRequest.getParameter("size")) > tamanhoMaximoPagina) {
+            rejeicoesTamanho.increment();
+        }
+        if (pageable.getOffset() > deslocamentoMaximo) {
+            rejeicoesDeslocamento.increment();
+            logger.warn("Consulta recusada: deslocamento {} acima de {}", pageable.getOffset(), deslocamentoMaximo);
+            throw new ConsultaNaoPermitidaException("ERRO, PÁGINA MUITO DISTANTE! USE A LISTAGEM POR CURSOR (/usuario/cursor).");
+        }
+
+        if (pageable.getSort().isUnsorted()) {
+            return pageable;
+        }
+        CaminhoAcesso caminho = CaminhoAcesso.de(webRequest);
+        Ordenacao ordenacao = ordenacaoPermitida(pageable.getSort(), caminho);
+        if (ordenacao.reescrita()) {
+            rejeicoesOrdenacao.increment();
+            logger.debug("Ordenação reescrita ({}): {} -> {}", caminho.descricao(), pageable.getSort(), ordenacao.sort());
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), ordenacao.sort());
+    }
+
+    /**
+     * Confere os filtros recebidos antes de montar a Specification.
+     *
+     * @param webRequest Requisição atual.
+     * @throws ConsultaNaoPermitidaException Se o filtro {@code nome} for curto demais para o índice de trigramas.
+     */
+    public void verificarFiltros(NativeWebRequest webRequest) {
+        String nome = webRequest.getParameter("nome");
+        if (nome != null && !nome.isBlank() && nome.trim().length() < tamanhoMinimoNome) {
+            rejeicoesFiltro.increment();
+            throw new ConsultaNaoPermitidaException("ERRO, O FILTRO NOME DEVE TER AO MENOS " + tamanhoMinimoNome + " CARACTERES!");
+        }
+    }
+
+    // Ordenação que será aplicada e se ela difere da pedida pelo cliente
+    private record Ordenacao(Sort sort, boolean reescrita) {
+    }
+
+    private static Ordenacao ordenacaoPermitida(Sort sort, CaminhoAcesso caminho) {
+        Iterator<Sort.Order> ordens = sort.iterator();
+        Sort.Order primeira = ordens.next();
+        String propriedade = primeira.getProperty();
+        boolean reescrita = primeira.isIgnoreCase();
+        if (!caminho.ordenacoes().contains(propriedade)) {
+            propriedade = caminho.padrao();
+            reescrita = true;
+        }
+
+        Sort permitida = Sort.unsorted();
+        if (propriedade != null) {
+            permitida = Sort.by(primeira.getDirection(), propriedade);
+            if (propriedade.equals("dataCriacao")) {
+                permitida = permitida.and(Sort.by(primeira.getDirection(), "usuarioId"));
+                // O desempate igual ao do índice, se enviado pelo cliente, não é uma reescrita
+                if (!reescrita && ordens.hasNext()) {
+                    Sort.Order segunda = ordens.next();
+                    reescrita = !segunda.getProperty().equals("usuarioId") || segunda.getDirection() != primeira.getDirection()
+                            || segunda.isIgnoreCase();
+                }
+            }
+        }
+        reescrita |= ordens.hasNext();
+        return new Ordenacao(permitida, reescrita);
+    }
+
+    private static int tamanhoPedido(String size) {
+        try {
+            return size != null ? Integer.parseInt(size.trim()) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String motivo) {
+        return Counter.builder("consulta.guarda.rejeicoes").tag("motivo", motivo)
+                .description("Consultas de listagem reescritas ou recusadas pela guarda de consultas")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,162 @@
+package com.ecommer.usuario.configs;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Log de acesso: uma linha por requisição, no logger {@code ACESSO}, com método, caminho, query string,
+ * status, duração e IP. O corpo e os cabeçalhos nunca são lidos nem registrados.
+ *
+ * <ul>
+ *     <li>Ocultação: os valores dos parâmetros da query string listados em {@code camposOcultos} são trocados por {@code ***}.</li>
+ *     <li>Amostragem: apenas a fração {@code amostragem} das requisições é registrada; erros (5xx) e requisições
+ *     acima de {@code limiteLentoMs} são sempre registrados.</li>
+ *     <li>Sem alocação no caminho comum: a mensagem é parametrizada (sem varargs) e os números são registrados com
+ *     {@link Unbox}. A escrita acontece na thread dos loggers assíncronos do log4j2, fora da thread da requisição.</li>
+ * </ul>
+ *
+ * Em respostas assíncronas (StreamingResponseBody), a linha é registrada quando a resposta termina.
+ */
+public class LogAcessoFiltro extends OncePerRequestFilter {
+
+    private static final Logger logger = LogManager.getLogger("ACESSO");
+
+    private final double amostragem;
+    private final long limiteLentoMs;
+    private final String[] camposOcultos;
+
+    public LogAcessoFiltro(double amostragem, long limiteLentoMs, String[] camposOcultos) {
+        this.amostragem = amostragem;
+        this.limiteLentoMs = limiteLentoMs;
+        this.camposOcultos = camposOcultos;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long inicio = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        registrar(request, response, inicio);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                registrar(request, response, inicio);
+            }
+        }
+    }
+
+    private void registrar(HttpServletRequest request, HttpServletResponse response, long inicio) {
+        long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+        int status = response.getStatus();
+        if (status < 500 && duracaoMs < limiteLentoMs && !amostrada()) {
+            return;
+        }
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+        logger.info("metodo={} uri={} query={} status={} duracaoMs={} ip={}",
+                request.getMethod(), request.getRequestURI(), ocultarQuery(request.getQueryString()),
+                Unbox.box(status), Unbox.box(duracaoMs), request.getRemoteAddr());
+    }
+
+    private boolean amostrada() {
+        return amostragem >= 1.0 || (amostragem > 0 && ThreadLocalRandom.current().nextDouble() < amostragem);
+    }
+
+    /**
+     * Troca os valores dos campos ocultos da query string por {@code ***}.
+     * Sem campos ocultos, devolve a própria query string, sem cópia.
+     */
+    String ocultarQuery(String query) {
+        if (query == null) {
+            return "-";
+        }
+        StringBuilder ocultada = null;
+        int inicio = 0;
+        while (inicio <= query.length()) {
+            int fim = query.indexOf('&', inicio);
+            if (fim < 0) {
+                fim = query.length();
+            }
+            int igual = query.indexOf('=', inicio);
+            boolean oculto = igual > inicio && igual < fim && campoOculto(query, inicio, igual);
+            if (oculto && ocultada == null) {
+                ocultada = new StringBuilder(query.length()).append(query, 0, inicio);
+            }
+            if (ocultada != null) {
+                if (oculto) {
+                    ocultada.append(query, inicio, igual + 1).append("***");
+                } else {
+                    ocultada.append(query, inicio, fim);
+                }
+                if (fim < query.length()) {
+                    ocultada.append('&');
+                }
+            }
+            inicio = fim + 1;
+        }
+        return ocultada != null ? ocultada.toString() : query;
+    }
+
+    private boolean campoOculto(String query, int inicio, int fim) {
+        int percentual = query.indexOf('%', inicio);
+        if (percentual >= 0 && percentual < fim) {
+            // Nome codificado (sen%68a): o Spring o recebe decodificado, então a comparação também é feita decodificada
+            return campoOculto(decodificar(query.substring(inicio, fim)));
+        }
+        for (String campo : camposOcultos) {
+            if (campo.length() == fim - inicio && query.regionMatches(true, inicio, campo, 0, campo.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean campoOculto(String nome) {
+        for (String campo : camposOcultos) {
+            if (campo.equalsIgnoreCase(nome)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String decodificar(String nome) {
+        try {
+            return URLDecoder.decode(nome, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return nome; // Codificação inválida: compara o nome como veio
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecommer.usuario.configs;
+
+import com.ecommer.usuario.validates.PoliticaSenha;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Arrays;
+
+@Configuration
+public class PoliticaSenhaConfig {
+
+    // Política de senha usada por @SenhaConstraint; os valores padrão são as regras da expressão regular anterior
+    @Bean
+    public PoliticaSenha politicaSenha(@Value("${autorizacao.senha.politica.tamanhoMinimo:5}") int tamanhoMinimo,
+                                       @Value("${autorizacao.senha.politica.tamanhoMaximo:20}") int tamanhoMaximo,
+                                       @Value("${autorizacao.senha.politica.exigeMinuscula:true}") boolean exigeMinuscula,
+                                       @Value("${autorizacao.senha.politica.exigeMaiuscula:true}") boolean exigeMaiuscula,
+                                       @Value("${autorizacao.senha.politica.exigeDigito:true}") boolean exigeDigito,
+                                       @Value("${autorizacao.senha.politica.exigeEspecial:true}") boolean exigeEspecial,
+                                       @Value("${autorizacao.senha.politica.especiais:}") String especiais,
+                                       @Value("${autorizacao.senha.politica.proibidas:}") String[] proibidas) {
+        int classes = (exigeMinuscula ? PoliticaSenha.MINUSCULA : 0)
+                | (exigeMaiuscula ? PoliticaSenha.MAIUSCULA : 0)
+                | (exigeDigito ? PoliticaSenha.DIGITO : 0)
+                | (exigeEspecial ? PoliticaSenha.ESPECIAL : 0);
+        return new PoliticaSenha(tamanhoMinimo, tamanhoMaximo, classes,
+                especiais.isEmpty() ? PoliticaSenha.ESPECIAIS_PADRAO : especiais, Arrays.asList(proibidas));
+    }
+}
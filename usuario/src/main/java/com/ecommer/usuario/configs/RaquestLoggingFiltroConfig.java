@@ -1,23 +1,22 @@
 package com.ecommer.usuario.configs;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.filter.CommonsRequestLoggingFilter;
 
 @Configuration
 public class RaquestLoggingFiltroConfig {
 
-    // Configuração de logs
+    // Configuração de logs: log de acesso sem corpo nem cabeçalhos, com ocultação de campos e amostragem
     @Bean
-    public CommonsRequestLoggingFilter loggingFilter(){
-        var filter = new CommonsRequestLoggingFilter();
-
-        filter.setIncludeQueryString(true); // Incluindo a query String
-        filter.setIncludePayload(true); // Payload da mensagem
-        filter.setMaxPayloadLength(10000); // limite do payload
-        filter.setAfterMessagePrefix("SOLICITAÇÃO DE DADOS: "); // Mensagem fixa
-        filter.setHeaderPredicate(header -> !header.equalsIgnoreCase("authorization")); // Ingnore a tag authorization
-
-        return filter;
+    public FilterRegistrationBean<LogAcessoFiltro> logAcessoFiltro(@Value("${acesso.amostragem:1.0}") double amostragem,
+                                                                   @Value("${acesso.limiteLentoMs:1000}") long limiteLentoMs,
+                                                                   @Value("${acesso.camposOcultos:senha,senhaAntiga,token,refreshToken}") String[] camposOcultos) {
+        var filtro = new FilterRegistrationBean<>(new LogAcessoFiltro(amostragem, limiteLentoMs, camposOcultos));
+        // Antes da cadeia do Spring Security, para registrar também as requisições recusadas por ela (401/403)
+        filtro.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return filtro;
     }
-}
\ No newline at end of file
+}
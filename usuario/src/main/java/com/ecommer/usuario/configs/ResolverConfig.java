@@ -2,10 +2,15 @@ package com.ecommer.usuario.configs;
 
 import net.kaczmarzyk.spring.data.jpa.web.SpecificationArgumentResolver;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -16,15 +21,43 @@ import static org.springframework.data.web.config.EnableSpringDataWebSupport.Pag
 @Configuration
 @EnableSpringDataWebSupport(pageSerializationMode = VIA_DTO) // Configuração de serialização de paginação a nivel global
 public class ResolverConfig implements WebMvcConfigurer{
+
+    final GuardaConsulta guardaConsulta;
+
+    public ResolverConfig(GuardaConsulta guardaConsulta) {
+        this.guardaConsulta = guardaConsulta;
+    }
+
     // Configuração de paginação a nivel de classe.
     @Override
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> argumentResolvers){
-        // Uso da dependência do Specification.
-        argumentResolvers.add(new SpecificationArgumentResolver());
+        // Uso da dependência do Specification, com os filtros conferidos pela guarda de consultas antes da montagem.
+        var specificationResolver = new SpecificationArgumentResolver();
+        argumentResolvers.add(new HandlerMethodArgumentResolver() {
+            @Override
+            public boolean supportsParameter(MethodParameter parameter) {
+                return specificationResolver.supportsParameter(parameter);
+            }
+
+            @Override
+            public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                          NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+                guardaConsulta.verificarFiltros(webRequest);
+                return specificationResolver.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
+            }
+        });
 
-        var pageableResolver = new PageableHandlerMethodArgumentResolver();
+        // Paginação limitada pela guarda de consultas: tamanho máximo, deslocamento máximo e ordenação por índice.
+        var pageableResolver = new PageableHandlerMethodArgumentResolver() {
+            @Override
+            public Pageable resolveArgument(MethodParameter methodParameter, ModelAndViewContainer mavContainer,
+                                            NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+                return guardaConsulta.ajustar(super.resolveArgument(methodParameter, mavContainer, webRequest, binderFactory), webRequest);
+            }
+        };
         // Inicia na página 0, exiba até 10 elementos por página e ordena de forma crescente.
         pageableResolver.setFallbackPageable(PageRequest.of(0, 10));
+        pageableResolver.setMaxPageSize(guardaConsulta.getTamanhoMaximoPagina());
         argumentResolvers.add(pageableResolver);
     }
 
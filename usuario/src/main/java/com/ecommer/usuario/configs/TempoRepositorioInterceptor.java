@@ -0,0 +1,71 @@
+package com.ecommer.usuario.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o tempo de cada método de um repositório Spring Data ({@code repositorio.tempo}, com as tags
+ * {@code repositorio}, {@code metodo} e {@code resultado}).
+ *
+ * <p>Os timers dos métodos declarados nas interfaces da aplicação são registrados na criação do proxy; os herdados
+ * do Spring Data ({@code findAll}, {@code deleteById}...) só na primeira chamada, para não publicar histogramas de
+ * dezenas de métodos nunca usados. Por chamada há apenas a consulta do par de timers pelo {@link Method} e duas
+ * leituras de {@link System#nanoTime()}, sem alocação de tags.</p>
+ */
+class TempoRepositorioInterceptor implements MethodInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final String repositorio;
+
+    // Timers de cada método: [sucesso, erro]
+    private final Map<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    TempoRepositorioInterceptor(MeterRegistry meterRegistry, Class<?> interfaceRepositorio) {
+        this.meterRegistry = meterRegistry;
+        this.repositorio = interfaceRepositorio.getSimpleName();
+        String pacote = interfaceRepositorio.getPackageName();
+        for (Method method : interfaceRepositorio.getMethods()) {
+            if (method.getDeclaringClass().getPackageName().equals(pacote)) {
+                timers.put(method, registrar(method));
+            }
+        }
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Timer[] timersMetodo = timers.get(invocation.getMethod());
+        if (timersMetodo == null) {
+            // Método herdado do Spring Data ou de Object; registrado na primeira chamada
+            timersMetodo = timers.computeIfAbsent(invocation.getMethod(), this::registrar);
+        }
+        long inicio = System.nanoTime();
+        try {
+            Object resultado = invocation.proceed();
+            timersMetodo[0].record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            return resultado;
+        } catch (Throwable e) {
+            timersMetodo[1].record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer[] registrar(Method method) {
+        return new Timer[]{timer(method, "sucesso"), timer(method, "erro")};
+    }
+
+    private Timer timer(Method method, String resultado) {
+        return Timer.builder("repositorio.tempo")
+                .tag("repositorio", repositorio)
+                .tag("metodo", method.getName())
+                .tag("resultado", resultado)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,45 @@
+package com.ecommer.usuario.configs;
+
+import jakarta.annotation.PostConstruct;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Configuration;
+
+import java.sql.Driver;
+
+/**
+ * Verificações do modo de threads virtuais ({@code spring.threads.virtual.enabled=true}).
+ *
+ * <p>Nesse modo o Spring Boot atende as requisições do Tomcat, as tarefas {@code @Async} e os
+ * agendamentos em threads virtuais. Uma thread virtual fica presa ("pinned") à thread de plataforma
+ * quando bloqueia dentro de um bloco {@code synchronized}; versões do driver PostgreSQL anteriores à
+ * 42.6 usam {@code synchronized} ao redor do I/O de rede, o que anularia o ganho. Por isso a aplicação
+ * não sobe nesse modo com um driver antigo.</p>
+ *
+ * <p>Para localizar outros pontos de pinning, execute com {@code -Djdk.tracePinnedThreads=short}.</p>
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ThreadsVirtuaisConfig {
+
+    Logger logger = LogManager.getLogger(ThreadsVirtuaisConfig.class);
+
+    // Primeira versão do driver PostgreSQL sem synchronized nas operações de I/O
+    private static final int DRIVER_MAJOR_MINIMO = 42;
+    private static final int DRIVER_MINOR_MINIMO = 6;
+
+    @PostConstruct
+    public void verificarDriverJdbc() throws ReflectiveOperationException {
+        // O driver é dependência de runtime, por isso é carregado por reflexão
+        Driver driver = (Driver) Class.forName("org.postgresql.Driver").getDeclaredConstructor().newInstance();
+        boolean compativel = driver.getMajorVersion() > DRIVER_MAJOR_MINIMO
+                || (driver.getMajorVersion() == DRIVER_MAJOR_MINIMO && driver.getMinorVersion() >= DRIVER_MINOR_MINIMO);
+        if (!compativel) {
+            throw new IllegalStateException("Threads virtuais exigem o driver PostgreSQL 42.6 ou superior; versão encontrada: "
+                    + driver.getMajorVersion() + "." + driver.getMinorVersion());
+        }
+        logger.info("Threads virtuais ativas (driver PostgreSQL {}.{})", driver.getMajorVersion(), driver.getMinorVersion());
+    }
+}
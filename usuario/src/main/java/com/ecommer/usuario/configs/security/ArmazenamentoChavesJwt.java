@@ -0,0 +1,208 @@
+package com.ecommer.usuario.configs.security;
+
+import com.ecommer.usuario.models.ChaveJwtModel;
+import com.ecommer.usuario.repositorys.ChaveJwtRepository;
+import jakarta.annotation.PostConstruct;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Armazenamento compartilhado das chaves de assinatura ES256/EdDSA na tabela {@code TB_CHAVE_JWT}.
+ *
+ * <p>Todas as instâncias leem as mesmas chaves, de modo que um token assinado em uma instância é verificado
+ * em qualquer outra, o JWKS é o mesmo em todas e uma reinicialização não invalida os tokens em circulação.</p>
+ *
+ * <p>A rotação é feita por qualquer instância na leitura periódica: quando a chave mais nova já assina há
+ * {@code jwtRotacaoMs - antecedenciaMs}, uma nova chave é criada para assinar somente após {@code antecedenciaMs}.
+ * Nesse intervalo ela já é aceita por todas as instâncias e publicada no JWKS (que os demais serviços guardam em
+ * cache). A chave anterior deixa de assinar na ativação da nova e é mantida até essa ativação mais o tempo de
+ * expiração do token. A restrição de unicidade da geração garante uma única chave nova quando duas instâncias
+ * rotacionam ao mesmo tempo.</p>
+ *
+ * <p>A chave privada é gravada cifrada com AES-GCM, com uma chave derivada de {@code autorizacao.jwtChaves.segredo}
+ * (por padrão, o próprio {@code jwtSecret}), que deve ser o mesmo em todas as instâncias.</p>
+ */
+@Component
+public class ArmazenamentoChavesJwt {
+
+    private static final Logger logger = LogManager.getLogger(ArmazenamentoChavesJwt.class);
+
+    private static final ZoneId ZONA = ZoneId.of("America/Recife");
+
+    private static final String CIFRA = "AES/GCM/NoPadding";
+    private static final int TAMANHO_IV = 12;
+    private static final int TAMANHO_TAG_BITS = 128;
+
+    final ChaveJwtRepository chaveJwtRepository;
+    final ChavesJwt chavesJwt;
+    final long jwtExpirationMs;
+    final long rotacaoMs;
+    final long antecedenciaMs;
+    private final SecretKeySpec chaveCifragem;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /**
+     * Construtor que recebe o repositório, o conjunto de chaves em memória e as configurações da rotação.
+     *
+     * @param chaveJwtRepository Repositório das chaves.
+     * @param chavesJwt Conjunto de chaves em memória usado na assinatura e na verificação.
+     * @param jwtExpirationMs Tempo de expiração do token JWT, que define quanto tempo uma chave aposentada é mantida.
+     * @param rotacaoMs Tempo durante o qual cada chave assina.
+     * @param antecedenciaMs Tempo entre a publicação de uma nova chave e o início da sua assinatura.
+     * @param atualizacaoMs Intervalo da leitura periódica das chaves; deve ser menor que a antecedência.
+     * @param segredo Segredo usado para cifrar as chaves privadas gravadas.
+     */
+    public ArmazenamentoChavesJwt(ChaveJwtRepository chaveJwtRepository, ChavesJwt chavesJwt,
+                                  @Value("${autorizacao.jwtExpirationMs}") long jwtExpirationMs,
+                                  @Value("${autorizacao.jwtRotacaoMs:86400000}") long rotacaoMs,
+                                  @Value("${autorizacao.jwtChaves.antecedenciaMs:900000}") long antecedenciaMs,
+                                  @Value("${autorizacao.jwtChaves.atualizacaoMs:60000}") long atualizacaoMs,
+                                  @Value("${autorizacao.jwtChaves.segredo:${autorizacao.jwtSecret}}") String segredo) {
+        if (antecedenciaMs <= atualizacaoMs || rotacaoMs <= antecedenciaMs) {
+            throw new IllegalArgumentException("Configuração das chaves JWT inválida: é preciso atualizacaoMs < antecedenciaMs < jwtRotacaoMs");
+        }
+        this.chaveJwtRepository = chaveJwtRepository;
+        this.chavesJwt = chavesJwt;
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.rotacaoMs = rotacaoMs;
+        this.antecedenciaMs = antecedenciaMs;
+        this.chaveCifragem = new SecretKeySpec(resumo(segredo), "AES");
+    }
+
+    /**
+     * Carrega as chaves na inicialização (criando a primeira, se necessário), antes de a aplicação receber requisições.
+     */
+    @PostConstruct
+    public void carregar() {
+        if (!chavesJwt.isAssimetrico()) {
+            return;
+        }
+        atualizar();
+        logger.info("Chaves JWT carregadas: {}", chavesJwt.getChaves().size());
+    }
+
+    /**
+     * Rotaciona as chaves quando for a hora, conclui a aposentadoria das anteriores e publica
+     * em memória as chaves em uso gravadas por qualquer instância.
+     */
+    @Scheduled(fixedDelayString = "${autorizacao.jwtChaves.atualizacaoMs:60000}", initialDelayString = "${autorizacao.jwtChaves.atualizacaoMs:60000}")
+    public void atualizar() {
+        if (!chavesJwt.isAssimetrico()) {
+            return;
+        }
+        LocalDateTime agora = LocalDateTime.now(ZONA);
+        List<ChaveJwtModel> emUso = chaveJwtRepository.findEmUso(chavesJwt.getAlgoritmo(), agora);
+        ChaveJwtModel maisNova = emUso.isEmpty() ? null : emUso.get(0);
+
+        if (maisNova == null) {
+            // Nenhuma chave em uso (primeira inicialização ou troca de algoritmo): assina imediatamente
+            criar(agora);
+            emUso = chaveJwtRepository.findEmUso(chavesJwt.getAlgoritmo(), agora);
+        } else if (!maisNova.getDataAtivacao().plusNanos((rotacaoMs - antecedenciaMs) * 1_000_000).isAfter(agora)) {
+            // A chave mais nova já assina há tempo suficiente: publica a próxima, que só assina após a antecedência
+            if (criar(agora.plusNanos(antecedenciaMs * 1_000_000))) {
+                chaveJwtRepository.deleteExpiradas(agora);
+            }
+            emUso = chaveJwtRepository.findEmUso(chavesJwt.getAlgoritmo(), agora);
+        }
+
+        if (!emUso.isEmpty() && emUso.stream().skip(1).anyMatch(chave -> chave.getDataExpiracao() == null)) {
+            // Cada chave anterior vale até a ativação da mais nova mais a expiração do último token que assinou
+            ChaveJwtModel ultima = emUso.get(0);
+            chaveJwtRepository.aposentarAnteriores(ultima.getGeracao(), ultima.getDataAtivacao().plusNanos(jwtExpirationMs * 1_000_000));
+        }
+
+        List<ChavesJwt.ChaveAssinatura> chaves = new ArrayList<>(emUso.size());
+        for (ChaveJwtModel chave : emUso) {
+            chaves.add(decifrar(chave));
+        }
+        chavesJwt.publicar(chaves);
+    }
+
+    // Grava uma nova chave na geração seguinte; retorna false se outra instância gravou essa geração antes
+    private boolean criar(LocalDateTime dataAtivacao) {
+        int geracao = chaveJwtRepository.findUltimaGeracao() + 1;
+        KeyPair parChaves = chavesJwt.gerarParChaves();
+
+        var chaveJwtModel = new ChaveJwtModel();
+        chaveJwtModel.setKid(UUID.randomUUID().toString());
+        chaveJwtModel.setGeracao(geracao);
+        chaveJwtModel.setAlgoritmo(chavesJwt.getAlgoritmo());
+        chaveJwtModel.setChavePublica(Base64.getEncoder().encodeToString(parChaves.getPublic().getEncoded()));
+        chaveJwtModel.setChavePrivada(cifrar(parChaves.getPrivate().getEncoded()));
+        chaveJwtModel.setDataAtivacao(dataAtivacao);
+        try {
+            chaveJwtRepository.saveAndFlush(chaveJwtModel);
+        } catch (DataIntegrityViolationException e) {
+            logger.info("Chave JWT da geração {} já criada por outra instância", geracao);
+            return false;
+        }
+        logger.info("Chave JWT {} criada (geração {}, assina a partir de {})", chaveJwtModel.getKid(), geracao, dataAtivacao);
+        return true;
+    }
+
+    private ChavesJwt.ChaveAssinatura decifrar(ChaveJwtModel chave) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(ChavesJwt.ES256.equals(chave.getAlgoritmo()) ? "EC" : "EdDSA");
+            KeyPair parChaves = new KeyPair(
+                    keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(chave.getChavePublica()))),
+                    keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decifrar(chave.getChavePrivada()))));
+            return new ChavesJwt.ChaveAssinatura(chave.getKid(), parChaves,
+                    chave.getDataAtivacao().atZone(ZONA).toInstant().toEpochMilli());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Não foi possível ler a chave JWT " + chave.getKid(), e);
+        }
+    }
+
+    // IV aleatório seguido do texto cifrado com a tag de autenticação, em Base64
+    private String cifrar(byte[] chavePrivada) {
+        try {
+            byte[] iv = new byte[TAMANHO_IV];
+            secureRandom.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(CIFRA);
+            cipher.init(Cipher.ENCRYPT_MODE, chaveCifragem, new GCMParameterSpec(TAMANHO_TAG_BITS, iv));
+            byte[] cifrado = cipher.doFinal(chavePrivada);
+            return Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + cifrado.length).put(iv).put(cifrado).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Não foi possível cifrar a chave JWT", e);
+        }
+    }
+
+    private byte[] decifrar(String chavePrivada) throws GeneralSecurityException {
+        byte[] dados = Base64.getDecoder().decode(chavePrivada);
+        Cipher cipher = Cipher.getInstance(CIFRA);
+        cipher.init(Cipher.DECRYPT_MODE, chaveCifragem, new GCMParameterSpec(TAMANHO_TAG_BITS, dados, 0, TAMANHO_IV));
+        return cipher.doFinal(dados, TAMANHO_IV, dados.length - TAMANHO_IV);
+    }
+
+    private static byte[] resumo(String segredo) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(segredo.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 não disponível na JVM", e);
+        }
+    }
+}
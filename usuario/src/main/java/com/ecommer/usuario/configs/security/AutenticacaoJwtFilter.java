@@ -1,5 +1,6 @@
 package com.ecommer.usuario.configs.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,7 +10,6 @@ import org.apache.logging.log4j.Logger;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -33,16 +33,23 @@ public class AutenticacaoJwtFilter extends OncePerRequestFilter {
 
     final TokenJwt tokenJwt;
     final UsuarioDetailsServiceImpl usuarioDetailsService;
+    final TokenJwtCache tokenJwtCache;
+    final RevogacaoTokenJwt revogacaoTokenJwt;
 
     /**
      * Construtor para inicializar os serviços necessários para autenticação JWT.
      *
      * @param tokenJwt       Serviço para manipulação de JWT.
      * @param userDetailsService Serviço para carregar detalhes do usuário.
+     * @param tokenJwtCache  Cache de tokens já verificados.
+     * @param revogacaoTokenJwt Lista de tokens revogados em memória.
      */
-    public AutenticacaoJwtFilter(TokenJwt tokenJwt, UsuarioDetailsServiceImpl userDetailsService) {
+    public AutenticacaoJwtFilter(TokenJwt tokenJwt, UsuarioDetailsServiceImpl userDetailsService, TokenJwtCache tokenJwtCache,
+                                 RevogacaoTokenJwt revogacaoTokenJwt) {
         this.tokenJwt = tokenJwt;
         this.usuarioDetailsService = userDetailsService;
+        this.tokenJwtCache = tokenJwtCache;
+        this.revogacaoTokenJwt = revogacaoTokenJwt;
     }
 
     /**
@@ -61,16 +68,14 @@ public class AutenticacaoJwtFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwtStr = getTokenHeader(request);
-            if (jwtStr != null && tokenJwt.validacaoJwt(jwtStr)) {
-                // Extrai o nome de usuário do token JWT
-                String username = tokenJwt.getUsernameJwt(jwtStr);
-                // Carrega os detalhes do usuário a partir do nome extraído
-                UserDetails userDetails = usuarioDetailsService.loadUserByUsername(username);
+            TokenJwtCache.Entrada entrada = jwtStr != null ? getEntradaToken(jwtStr) : null;
+            if (entrada != null) {
+                UserDetails userDetails = entrada.usuario();
                 // Cria um objeto de autenticação com as credenciais e permissões do usuário
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
-                // Define os detalhes da autenticação com base na requisição
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                // Define os detalhes da autenticação com base na requisição e no token verificado (usados no logout)
+                authentication.setDetails(new DetalhesAutenticacaoJwt(request, entrada.jti(), entrada.expiracaoMs()));
                 // Configura a autenticação no contexto do Spring Security
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
@@ -82,6 +87,44 @@ public class AutenticacaoJwtFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Obtém o usuário autenticado pelo token, consultando primeiro o cache de tokens verificados.
+     *
+     * <p>Somente em caso de falha no cache a assinatura é verificada e o usuário é montado
+     * (a partir das reivindicações no modo sem estado, ou do banco de dados). A lista de revogação
+     * é consultada em todas as requisições, inclusive nos acertos do cache.</p>
+     *
+     * @param jwtStr Token JWT sem o prefixo "Bearer ".
+     * @return Entrada do token verificado (usuário, {@code jti} e expiração), ou {@code null} se o token for
+     * inválido ou estiver revogado.
+     */
+    private TokenJwtCache.Entrada getEntradaToken(String jwtStr) {
+        String chave = tokenJwtCache.chave(jwtStr);
+        TokenJwtCache.Entrada entrada = tokenJwtCache.buscar(chave);
+        if (entrada == null) {
+            // Valida o token e extrai as reivindicações em uma única verificação de assinatura
+            Claims claims = tokenJwt.getClaimsValidadasJwt(jwtStr);
+            if (claims == null) {
+                return null;
+            }
+            // No modo sem estado o usuário vem das reivindicações; caso contrário, do banco de dados
+            UsuarioDetailsImpl usuario = tokenJwt.isJwtStateless() ? tokenJwt.getUsuarioDetailsClaims(claims) : null;
+            if (usuario == null) {
+                usuario = usuarioDetailsService.carregarUsuarioCache(claims.getSubject());
+            }
+            long emitidoEmMs = claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L;
+            entrada = new TokenJwtCache.Entrada(usuario, claims.getId(), emitidoEmMs, claims.getExpiration().getTime());
+            tokenJwtCache.guardar(chave, entrada);
+        }
+
+        // Leitura de memória, sem bloqueio: filtro de Bloom seguido do conjunto exato
+        if (revogacaoTokenJwt.estaRevogado(entrada.jti(), entrada.usuario().getUsuarioId(), entrada.emitidoEmMs())) {
+            logger.warn("Token JWT revogado para o usuário: {}", entrada.usuario().getUsername());
+            return null;
+        }
+        return entrada;
+    }
+
     /**
      * Obtém o token JWT do cabeçalho da requisição HTTP.
      *
@@ -0,0 +1,57 @@
+package com.ecommer.usuario.configs.security;
+
+import com.ecommer.usuario.enums.RoleType;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Listas de autoridades pré-calculadas para cada máscara de roles ({@link RoleType#bit()}).
+ *
+ * <p>Com poucas roles o número de combinações é pequeno (2<sup>n</sup>), então todas as listas imutáveis são
+ * montadas uma vez e compartilhadas entre os usuários: montar os detalhes de um usuário não aloca autoridades.</p>
+ */
+final class AutoridadesRole {
+
+    private static final List<List<GrantedAuthority>> POR_MASCARA;
+
+    static {
+        RoleType[] tipos = RoleType.values();
+        List<List<GrantedAuthority>> listas = new ArrayList<>(1 << tipos.length);
+        for (int mascara = 0; mascara < 1 << tipos.length; mascara++) {
+            List<GrantedAuthority> autoridades = new ArrayList<>(Integer.bitCount(mascara));
+            for (RoleType tipo : tipos) {
+                if ((mascara & tipo.bit()) != 0) {
+                    autoridades.add(new SimpleGrantedAuthority(tipo.name()));
+                }
+            }
+            listas.add(List.copyOf(autoridades));
+        }
+        POR_MASCARA = List.copyOf(listas);
+    }
+
+    private AutoridadesRole() {
+    }
+
+    // Lista compartilhada das autoridades da máscara; bits sem role correspondente são ignorados
+    static List<GrantedAuthority> de(int mascara) {
+        return POR_MASCARA.get(mascara & (POR_MASCARA.size() - 1));
+    }
+
+    // Máscara a partir dos nomes das roles (reivindicação do token); nomes desconhecidos são ignorados
+    static int mascara(Collection<?> nomes) {
+        int mascara = 0;
+        for (Object nome : nomes) {
+            for (RoleType tipo : RoleType.values()) {
+                if (tipo.name().equals(nome)) {
+                    mascara |= tipo.bit();
+                    break;
+                }
+            }
+        }
+        return mascara;
+    }
+}
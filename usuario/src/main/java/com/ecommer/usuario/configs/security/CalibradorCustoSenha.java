@@ -0,0 +1,132 @@
+package com.ecommer.usuario.configs.security;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.scrypt.SCryptPasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cria o encoder de senhas com o custo do bcrypt definido na configuração, o mesmo em todas as instâncias.
+ *
+ * <p>O custo não é calibrado automaticamente: instâncias em máquinas diferentes chegariam a custos diferentes
+ * e recriptografariam os hashes umas das outras a cada login. Quando um tempo alvo é informado, o calibrador
+ * apenas mede a máquina na inicialização e registra no log o custo sugerido, para que o valor da frota seja
+ * ajustado na configuração.</p>
+ *
+ * <p>O encoder gerado pede a recriptografia ({@code upgradeEncoding}) somente dos hashes bcrypt com custo
+ * menor que o configurado. Junto com o {@code UserDetailsPasswordService}, esses hashes são fortalecidos de
+ * forma transparente no próximo login do usuário.</p>
+ */
+public final class CalibradorCustoSenha {
+
+    private static final Logger logger = LogManager.getLogger(CalibradorCustoSenha.class);
+
+    // Custo de referência usado na primeira medição (padrão do Spring Security)
+    private static final int CUSTO_REFERENCIA = 10;
+    // Limite superior de segurança: cada ponto de custo dobra o tempo
+    private static final int CUSTO_MAXIMO = 16;
+    // Senha qualquer usada apenas para medir o tempo
+    private static final String SENHA_AMOSTRA = "Calibracao@2024";
+
+    private CalibradorCustoSenha() {
+    }
+
+    /**
+     * Cria o encoder delegador com o bcrypt no custo configurado como algoritmo padrão.
+     *
+     * @param custo Custo do bcrypt usado em toda a frota.
+     * @param tempoAlvoMs Tempo alvo de uma criptografia, em milissegundos, usado apenas para sugerir um custo no log
+     *                    (0 desativa a medição).
+     * @return Encoder delegador que reconhece os mesmos prefixos do encoder padrão do Spring Security.
+     */
+    public static PasswordEncoder criarEncoder(int custo, long tempoAlvoMs) {
+        if (tempoAlvoMs > 0) {
+            int sugerido = calibrarBcrypt(tempoAlvoMs, CUSTO_REFERENCIA);
+            if (sugerido != custo) {
+                logger.warn("Custo do bcrypt configurado é {}, mas nesta máquina o custo {} atinge o alvo de {} ms; "
+                        + "ajuste autorizacao.senha.custo em todas as instâncias se necessário", custo, sugerido, tempoAlvoMs);
+            }
+        }
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptCalibrado(custo));
+        encoders.put("pbkdf2@SpringSecurity_v5_8", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        encoders.put("scrypt@SpringSecurity_v5_8", SCryptPasswordEncoder.defaultsForSpringSecurity_v5_8());
+        encoders.put("argon2@SpringSecurity_v5_8", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        return new DelegatingPasswordEncoder("bcrypt", encoders);
+    }
+
+    /**
+     * Mede o tempo do bcrypt no custo de referência e extrapola o custo mais próximo do alvo,
+     * confirmando com uma segunda medição. Cada ponto de custo dobra o tempo de criptografia.
+     *
+     * @param tempoAlvoMs Tempo alvo de uma criptografia, em milissegundos.
+     * @param custoMinimo Custo mínimo aceito.
+     * @return Custo sugerido para esta máquina.
+     */
+    static int calibrarBcrypt(long tempoAlvoMs, int custoMinimo) {
+        double tempoReferencia = medir(CUSTO_REFERENCIA);
+        int custo = (int) Math.round(CUSTO_REFERENCIA + Math.log(tempoAlvoMs / tempoReferencia) / Math.log(2));
+        custo = Math.max(custoMinimo, Math.min(CUSTO_MAXIMO, custo));
+
+        // Confirma a estimativa: se passou muito do alvo, reduz um ponto
+        double tempoMedido = medir(custo);
+        if (tempoMedido > tempoAlvoMs * 1.5 && custo > custoMinimo) {
+            custo--;
+            tempoMedido = tempoMedido / 2;
+        }
+        logger.info("Custo do bcrypt sugerido para esta máquina: {} (~{} ms por senha, alvo {} ms)", custo, Math.round(tempoMedido), tempoAlvoMs);
+        return custo;
+    }
+
+    // Retorna o menor de três tempos de criptografia, após um aquecimento, em milissegundos
+    private static double medir(int custo) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(custo);
+        encoder.encode(SENHA_AMOSTRA); // Aquecimento
+        long melhor = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long inicio = System.nanoTime();
+            encoder.encode(SENHA_AMOSTRA);
+            melhor = Math.min(melhor, System.nanoTime() - inicio);
+        }
+        return melhor / 1_000_000.0;
+    }
+
+    /**
+     * Bcrypt que considera desatualizado o hash com custo menor que o configurado. Hashes com custo maior
+     * continuam válidos, para que uma redução do custo não enfraqueça as senhas já gravadas.
+     */
+    static class BCryptCalibrado extends BCryptPasswordEncoder {
+
+        private final int custo;
+
+        BCryptCalibrado(int custo) {
+            super(custo);
+            this.custo = custo;
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            // Formato do hash: $2a$10$... (o custo fica entre o segundo e o terceiro "$")
+            if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(3) != '$') {
+                return false;
+            }
+            try {
+                return Integer.parseInt(encodedPassword, 4, 6, 10) < custo;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        public int getCusto() {
+            return custo;
+        }
+    }
+}
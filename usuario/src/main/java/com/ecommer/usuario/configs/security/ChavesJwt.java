@@ -0,0 +1,139 @@
+package com.ecommer.usuario.configs.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conjunto em memória das chaves assimétricas usadas para assinar os tokens JWT (modos ES256 e EdDSA).
+ *
+ * <p>As chaves são compartilhadas por todas as instâncias: ficam na tabela {@code TB_CHAVE_JWT} e são
+ * criadas, rotacionadas e recarregadas por {@link ArmazenamentoChavesJwt}, que publica aqui a lista atual.
+ * Várias chaves ficam ativas ao mesmo tempo e são identificadas pelo {@code kid} do cabeçalho do token.
+ * A mais nova já ativada assina os novos tokens; uma chave ainda não ativada já é aceita e publicada no JWKS,
+ * e as anteriores continuam válidas para verificação até que o último token assinado com elas expire.
+ * As chaves públicas são publicadas no formato JWKS para que os demais microsserviços verifiquem os tokens localmente.</p>
+ *
+ * <p>No modo HS256 (padrão) nenhuma chave é usada e a assinatura continua com o segredo compartilhado.</p>
+ */
+@Component
+public class ChavesJwt {
+
+    public static final String HS256 = "HS256";
+    public static final String ES256 = "ES256";
+    public static final String EDDSA = "EdDSA";
+
+    // Algoritmo configurado: HS256, ES256 ou EdDSA
+    private final String algoritmo;
+
+    // Chaves em uso, da ativação mais nova para a mais antiga. A lista é imutável e trocada a cada publicação.
+    private volatile List<ChaveAssinatura> chaves = List.of();
+
+    public ChavesJwt(@Value("${autorizacao.jwtAlgoritmo:HS256}") String algoritmo) {
+        if (!HS256.equals(algoritmo) && !ES256.equals(algoritmo) && !EDDSA.equals(algoritmo)) {
+            throw new IllegalArgumentException("Algoritmo JWT não suportado: " + algoritmo);
+        }
+        this.algoritmo = algoritmo;
+    }
+
+    /**
+     * Substitui as chaves em uso pelas recebidas.
+     *
+     * @param novasChaves Chaves a publicar, em qualquer ordem.
+     */
+    public void publicar(List<ChaveAssinatura> novasChaves) {
+        List<ChaveAssinatura> ordenadas = new ArrayList<>(novasChaves);
+        ordenadas.sort(Comparator.comparingLong(ChaveAssinatura::ativaEm).reversed());
+        chaves = List.copyOf(ordenadas);
+    }
+
+    public List<ChaveAssinatura> getChaves() {
+        return chaves;
+    }
+
+    public boolean isAssimetrico() {
+        return !HS256.equals(algoritmo);
+    }
+
+    public String getAlgoritmo() {
+        return algoritmo;
+    }
+
+    /**
+     * @return Algoritmo de assinatura do JJWT correspondente ao modo configurado.
+     */
+    public SignatureAlgorithm getAlgoritmoAssinatura() {
+        return ES256.equals(algoritmo) ? Jwts.SIG.ES256 : Jwts.SIG.EdDSA;
+    }
+
+    /**
+     * @return Chave usada para assinar os novos tokens: a mais nova cuja ativação já chegou.
+     * @throws IllegalStateException se nenhuma chave tiver sido ativada.
+     */
+    public ChaveAssinatura getChaveAtual() {
+        long agora = System.currentTimeMillis();
+        for (ChaveAssinatura chave : chaves) {
+            if (chave.ativaEm() <= agora) {
+                return chave;
+            }
+        }
+        throw new IllegalStateException("Nenhuma chave JWT ativa para o algoritmo " + algoritmo);
+    }
+
+    /**
+     * Busca a chave pública de verificação pelo identificador do cabeçalho do token.
+     *
+     * @param kid Identificador da chave.
+     * @return Chave pública, ou {@code null} se a chave não existir ou já tiver sido descartada.
+     */
+    public PublicKey getChavePublica(String kid) {
+        for (ChaveAssinatura chave : chaves) {
+            if (chave.kid().equals(kid)) {
+                return chave.parChaves().getPublic();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Monta o documento JWKS com as chaves públicas em uso, inclusive a próxima chave ainda não ativada.
+     *
+     * @return Mapa no formato {@code {"keys": [...]}} pronto para serialização JSON.
+     */
+    public Map<String, Object> getJwks() {
+        List<Map<String, ?>> keys = new ArrayList<>();
+        for (ChaveAssinatura chave : chaves) {
+            Jwk<?> jwk = Jwks.builder()
+                    .key(chave.parChaves().getPublic())
+                    .id(chave.kid())
+                    .algorithm(algoritmo)
+                    .publicKeyUse("sig")
+                    .build();
+            keys.add(new LinkedHashMap<String, Object>(jwk));
+        }
+        return Map.of("keys", keys);
+    }
+
+    /**
+     * @return Novo par de chaves P-256 (ES256) ou Ed25519 (EdDSA).
+     */
+    public KeyPair gerarParChaves() {
+        return ES256.equals(algoritmo)
+                ? Jwts.SIG.ES256.keyPair().build()
+                : Jwks.CRV.Ed25519.keyPair().build();
+    }
+
+    // Chave de assinatura com o seu identificador e o instante em que passa a assinar
+    public record ChaveAssinatura(String kid, KeyPair parChaves, long ativaEm) {}
+}
@@ -0,0 +1,33 @@
+package com.ecommer.usuario.configs.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.io.Serial;
+
+/**
+ * Detalhes da autenticação feita pelo {@link AutenticacaoJwtFilter}: além do IP e da sessão da requisição,
+ * o {@code jti} e a expiração do token já verificado, para que o logout o revogue sem verificá-lo de novo.
+ */
+public class DetalhesAutenticacaoJwt extends WebAuthenticationDetails {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final String jti;
+    private final long expiracaoMs;
+
+    public DetalhesAutenticacaoJwt(HttpServletRequest request, String jti, long expiracaoMs) {
+        super(request);
+        this.jti = jti;
+        this.expiracaoMs = expiracaoMs;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public long getExpiracaoMs() {
+        return expiracaoMs;
+    }
+}
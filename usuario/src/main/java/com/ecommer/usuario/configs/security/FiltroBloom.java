@@ -0,0 +1,55 @@
+package com.ecommer.usuario.configs.security;
+
+/**
+ * Filtro de Bloom imutável usado na frente da lista de tokens revogados.
+ *
+ * <p>Responde "talvez contenha" ou "certamente não contém" sem alocação e sem bloqueio. Como a
+ * grande maioria dos tokens verificados não está revogada, quase todas as consultas terminam aqui,
+ * sem chegar ao conjunto exato.</p>
+ *
+ * <p>O filtro é preenchido apenas na construção e depois publicado por referência volátil, por isso
+ * pode ser lido por várias threads ao mesmo tempo.</p>
+ */
+final class FiltroBloom {
+
+    private static final double LN2 = Math.log(2);
+
+    private final long[] bits;
+    private final long quantidadeBits;
+    private final int quantidadeHashes;
+
+    /**
+     * Dimensiona o filtro para a quantidade esperada de elementos e a taxa de falso positivo desejada.
+     *
+     * @param elementosEsperados Quantidade de elementos que serão adicionados.
+     * @param taxaFalsoPositivo Probabilidade aceitável de falso positivo (ex.: 0.01).
+     */
+    FiltroBloom(int elementosEsperados, double taxaFalsoPositivo) {
+        int elementos = Math.max(1, elementosEsperados);
+        long bitsNecessarios = (long) Math.ceil(-elementos * Math.log(taxaFalsoPositivo) / (LN2 * LN2));
+        this.bits = new long[(int) Math.max(1, (bitsNecessarios + 63) / 64)];
+        this.quantidadeBits = bits.length * 64L;
+        this.quantidadeHashes = Math.max(1, (int) Math.round((double) quantidadeBits / elementos * LN2));
+    }
+
+    void adicionar(String valor) {
+        long h1 = HashChave.hash(valor);
+        long h2 = HashChave.misturar(h1 ^ 0x9E3779B97F4A7C15L) | 1L; // Ímpar, para percorrer todas as posições
+        for (int i = 0; i < quantidadeHashes; i++) {
+            long posicao = Math.floorMod(h1 + i * h2, quantidadeBits);
+            bits[(int) (posicao >>> 6)] |= 1L << posicao;
+        }
+    }
+
+    boolean talvezContenha(String valor) {
+        long h1 = HashChave.hash(valor);
+        long h2 = HashChave.misturar(h1 ^ 0x9E3779B97F4A7C15L) | 1L;
+        for (int i = 0; i < quantidadeHashes; i++) {
+            long posicao = Math.floorMod(h1 + i * h2, quantidadeBits);
+            if ((bits[(int) (posicao >>> 6)] & (1L << posicao)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
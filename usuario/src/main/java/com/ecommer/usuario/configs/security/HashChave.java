@@ -0,0 +1,31 @@
+package com.ecommer.usuario.configs.security;
+
+/**
+ * Funções de hash de 64 bits, sem alocação, usadas pelas estruturas probabilísticas
+ * em memória (filtro de Bloom da revogação e limitador de tentativas de login).
+ */
+final class HashChave {
+
+    private HashChave() {
+    }
+
+    // FNV-1a de 64 bits sobre os caracteres, seguido da mistura final do MurmurHash3
+    static long hash(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            h ^= valor.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return misturar(h);
+    }
+
+    // Mistura final do MurmurHash3 (fmix64)
+    static long misturar(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,350 @@
+package com.ecommer.usuario.configs.security;
+
+import com.ecommer.usuario.exceptios.LimiteTentativasException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Limitador de tentativas de login, executado antes da autenticação (e portanto antes do bcrypt e do banco de dados).
+ *
+ * <p>Cada tentativa consome uma ficha de dois baldes (token bucket): um pelo nome do usuário e outro pelo IP
+ * do cliente. Além disso, as falhas consecutivas bloqueiam o nome e o IP por um tempo que dobra a cada nova falha.</p>
+ *
+ * <p>O balde de cada nome é exato, por chave, em um mapa limitado (Caffeine) que descarta o balde depois do tempo
+ * de uma recarga completa sem tentativas, quando ele já estaria cheio. Assim, uma enxurrada de tentativas com
+ * muitos nomes distintos esgota apenas os baldes desses nomes: os demais usuários continuam entrando. Se o mapa
+ * lotar, os baldes menos usados são descartados, o que só devolve fichas a esses nomes.</p>
+ *
+ * <p>Os baldes de IP e a primeira contagem de falhas usam memória fixa, qualquer que seja a quantidade de chaves
+ * distintas: as chaves não são armazenadas, apenas espalhadas por vetores de {@code long} (no estilo de um
+ * count-min sketch), em duas linhas com funções de hash independentes. Cada posição guarda o estado compactado
+ * em um único {@code long}, atualizado com compare-and-set, sem bloqueio. Os IPs distintos de um atacante são
+ * limitados pelos recursos dele, e um IP só perde fichas quando todas as suas posições se esgotam.</p>
+ *
+ * <p>O sketch de falhas serve apenas de pré-filtro. Como ele nunca subestima, uma chave com menos de duas falhas
+ * no sketch certamente não está bloqueada, e a verificação termina ali, sem consultar mapa nenhum. A partir da
+ * segunda falha no sketch, as falhas da chave passam a ser contadas exatamente, por chave, em um mapa limitado
+ * (Caffeine), e o bloqueio é decidido apenas por essa contagem exata. Assim, nomes que colidem no sketch com o
+ * de um atacante nunca são bloqueados pelas falhas dele: no máximo passam a ter as próprias falhas contadas
+ * no mapa. Em troca, uma chave só é bloqueada uma falha depois do configurado (a primeira fica só no sketch).</p>
+ *
+ * <p>O IP considerado é o de {@code HttpServletRequest#getRemoteAddr()}; atrás de um proxy reverso, habilite
+ * {@code server.forward-headers-strategy} para que seja o IP real do cliente.</p>
+ */
+@Component
+public class LimitadorTentativasLogin {
+
+    private static final Logger logger = LogManager.getLogger(LimitadorTentativasLogin.class);
+
+    // Linhas independentes do sketch; a chave só é limitada se todas as linhas concordarem
+    private static final int LINHAS = 2;
+
+    // Baldes: déficit de fichas (1 ficha = ESCALA unidades) nos 20 bits altos e o instante da última recarga nos 44 bits baixos
+    private static final long ESCALA = 1024;
+    private static final int BITS_TEMPO_BALDE = 44;
+    private static final long MASCARA_TEMPO_BALDE = (1L << BITS_TEMPO_BALDE) - 1;
+    private static final long DEFICIT_MAXIMO = (1L << (64 - BITS_TEMPO_BALDE)) - 1;
+
+    // Falhas no sketch: contador nos 8 bits altos e o instante da última falha nos 56 bits baixos
+    private static final int BITS_TEMPO_FALHA = 56;
+    private static final long MASCARA_TEMPO_FALHA = (1L << BITS_TEMPO_FALHA) - 1;
+    private static final long FALHAS_MAXIMO = 255;
+
+    // Falhas no sketch a partir das quais a chave passa a ser contada exatamente
+    private static final int FALHAS_ANTES_RASTREIO = 2;
+
+    // Os instantes são relativos à criação do limitador, para caberem nos bits disponíveis
+    private final long inicio = System.currentTimeMillis();
+
+    private final int slotsPorLinha;
+    private final Cache<String, AtomicLong> baldesNome;
+    private final AtomicLongArray baldesIp;
+    private final AtomicLongArray falhasNome;
+    private final AtomicLongArray falhasIp;
+    private final Cache<String, Falhas> rastreioNome;
+    private final Cache<String, Falhas> rastreioIp;
+
+    private final LimiteBalde limiteNome;
+    private final LimiteBalde limiteIp;
+    private final int falhasAntesBloqueioNome;
+    private final int falhasAntesBloqueioIp;
+    private final long bloqueioBaseMs;
+    private final long bloqueioMaximoMs;
+    private final long esquecimentoMs;
+    // Tempo que uma falha fica no sketch: cobre o maior bloqueio, para que o pré-filtro não libere uma chave bloqueada
+    private final long janelaSketchMs;
+
+    private final Counter rejeicoesTaxa;
+    private final Counter rejeicoesBloqueio;
+
+    /**
+     * Construtor que dimensiona os vetores e registra as métricas do limitador.
+     *
+     * @param slots Posições por linha em cada vetor (arredondado para potência de dois).
+     * @param capacidadeNome Tentativas seguidas permitidas por nome de usuário.
+     * @param recargaNomePorMinuto Fichas devolvidas por minuto ao balde do nome.
+     * @param capacidadeIp Tentativas seguidas permitidas por IP.
+     * @param recargaIpPorMinuto Fichas devolvidas por minuto ao balde do IP.
+     * @param falhasAntesBloqueioNome Falhas consecutivas do nome antes do primeiro bloqueio.
+     * @param falhasAntesBloqueioIp Falhas consecutivas do IP antes do primeiro bloqueio.
+     * @param bloqueioBaseMs Duração do primeiro bloqueio; dobra a cada nova falha.
+     * @param bloqueioMaximoMs Duração máxima de um bloqueio.
+     * @param esquecimentoMs Tempo sem falhas, após o fim do bloqueio, para zerar o contador.
+     * @param chavesRastreadas Quantidade máxima de nomes (e, à parte, de IPs) com as falhas contadas exatamente.
+     * @param nomesComBalde Quantidade máxima de nomes com balde de fichas em memória.
+     * @param meterRegistry Registro de métricas da aplicação.
+     */
+    public LimitadorTentativasLogin(@Value("${autorizacao.login.slots:16384}") int slots,
+                                    @Value("${autorizacao.login.capacidadeNome:5}") int capacidadeNome,
+                                    @Value("${autorizacao.login.recargaNomePorMinuto:5}") double recargaNomePorMinuto,
+                                    @Value("${autorizacao.login.capacidadeIp:20}") int capacidadeIp,
+                                    @Value("${autorizacao.login.recargaIpPorMinuto:60}") double recargaIpPorMinuto,
+                                    @Value("${autorizacao.login.falhasAntesBloqueioNome:5}") int falhasAntesBloqueioNome,
+                                    @Value("${autorizacao.login.falhasAntesBloqueioIp:20}") int falhasAntesBloqueioIp,
+                                    @Value("${autorizacao.login.bloqueioBaseMs:30000}") long bloqueioBaseMs,
+                                    @Value("${autorizacao.login.bloqueioMaximoMs:900000}") long bloqueioMaximoMs,
+                                    @Value("${autorizacao.login.esquecimentoMs:900000}") long esquecimentoMs,
+                                    @Value("${autorizacao.login.chavesRastreadas:10000}") int chavesRastreadas,
+                                    @Value("${autorizacao.login.nomesComBalde:100000}") int nomesComBalde,
+                                    MeterRegistry meterRegistry) {
+        this.slotsPorLinha = Integer.highestOneBit(Math.max(1024, slots));
+        this.baldesIp = new AtomicLongArray(slotsPorLinha * LINHAS);
+        this.falhasNome = new AtomicLongArray(slotsPorLinha * LINHAS);
+        this.falhasIp = new AtomicLongArray(slotsPorLinha * LINHAS);
+        this.limiteNome = LimiteBalde.de(capacidadeNome, recargaNomePorMinuto);
+        this.limiteIp = LimiteBalde.de(capacidadeIp, recargaIpPorMinuto);
+        // Sem tentativas por uma recarga completa, o balde está cheio, o mesmo estado de um balde ausente
+        this.baldesNome = Caffeine.newBuilder()
+                .maximumSize(nomesComBalde)
+                .expireAfterAccess(Duration.ofMillis((long) Math.ceil(limiteNome.capacidade() / limiteNome.recargaPorMs())))
+                .build();
+        this.falhasAntesBloqueioNome = falhasAntesBloqueioNome;
+        this.falhasAntesBloqueioIp = falhasAntesBloqueioIp;
+        this.bloqueioBaseMs = bloqueioBaseMs;
+        this.bloqueioMaximoMs = bloqueioMaximoMs;
+        this.esquecimentoMs = esquecimentoMs;
+        this.janelaSketchMs = bloqueioMaximoMs + esquecimentoMs;
+        // Uma contagem exata só importa até o fim do maior bloqueio mais o esquecimento, como no sketch
+        this.rastreioNome = criarRastreio(chavesRastreadas, janelaSketchMs);
+        this.rastreioIp = criarRastreio(chavesRastreadas, janelaSketchMs);
+        this.rejeicoesTaxa = Counter.builder("login.limitador.rejeicoes").tag("motivo", "taxa")
+                .description("Tentativas de login recusadas antes da autenticação").register(meterRegistry);
+        this.rejeicoesBloqueio = Counter.builder("login.limitador.rejeicoes").tag("motivo", "bloqueio")
+                .description("Tentativas de login recusadas antes da autenticação").register(meterRegistry);
+    }
+
+    /**
+     * Verifica e consome uma tentativa de login. Deve ser chamado antes de {@code AuthenticationManager#authenticate}.
+     *
+     * @param nome Nome do usuário informado.
+     * @param ip IP do cliente.
+     * @throws LimiteTentativasException Se o nome ou o IP estiver bloqueado ou sem fichas.
+     */
+    public void verificar(String nome, String ip) {
+        long agora = agora();
+        long hashNome = HashChave.hash(nome);
+        long hashIp = HashChave.hash(ip);
+
+        long bloqueioMs = Math.max(
+                tempoBloqueio(falhasNome, rastreioNome, nome, hashNome, falhasAntesBloqueioNome, agora),
+                tempoBloqueio(falhasIp, rastreioIp, ip, hashIp, falhasAntesBloqueioIp, agora));
+        if (bloqueioMs > 0) {
+            rejeicoesBloqueio.increment();
+            logger.debug("Login bloqueado após falhas consecutivas: usuário {}, IP {}", nome, ip);
+            throw new LimiteTentativasException("ERRO, MUITAS TENTATIVAS DE LOGIN! TENTE NOVAMENTE MAIS TARDE.", emSegundos(bloqueioMs));
+        }
+
+        // O balde do IP vem primeiro: um IP sem fichas não consome as fichas do nome de outro usuário
+        long esperaMs = consumir(baldesIp, hashIp, limiteIp, agora);
+        if (esperaMs == 0) {
+            esperaMs = consumir(baldesNome.get(nome, chave -> new AtomicLong()), limiteNome, agora);
+        }
+        if (esperaMs > 0) {
+            rejeicoesTaxa.increment();
+            throw new LimiteTentativasException("ERRO, MUITAS TENTATIVAS DE LOGIN! TENTE NOVAMENTE MAIS TARDE.", emSegundos(esperaMs));
+        }
+    }
+
+    /**
+     * Registra uma falha de autenticação, aumentando o bloqueio do nome e do IP.
+     *
+     * @param nome Nome do usuário informado.
+     * @param ip IP do cliente.
+     */
+    public void registrarFalha(String nome, String ip) {
+        long agora = agora();
+        registrarFalha(falhasNome, rastreioNome, nome, falhasAntesBloqueioNome, agora);
+        registrarFalha(falhasIp, rastreioIp, ip, falhasAntesBloqueioIp, agora);
+    }
+
+    /**
+     * Registra um login bem-sucedido, zerando as falhas do nome. As falhas do IP são mantidas,
+     * para que um atacante não as zere entrando na própria conta.
+     *
+     * @param nome Nome do usuário autenticado.
+     */
+    public void registrarSucesso(String nome) {
+        long hashNome = HashChave.hash(nome);
+        for (int linha = 0; linha < LINHAS; linha++) {
+            falhasNome.set(indice(hashNome, linha), 0L);
+        }
+        rastreioNome.invalidate(nome);
+    }
+
+    // Consome uma ficha em cada linha que tiver ficha; retorna 0 se alguma linha permitiu, ou a menor espera em ms
+    private long consumir(AtomicLongArray baldes, long hash, LimiteBalde limite, long agora) {
+        long esperaMinima = Long.MAX_VALUE;
+        for (int linha = 0; linha < LINHAS; linha++) {
+            esperaMinima = Math.min(esperaMinima, consumirSlot(baldes, indice(hash, linha), limite, agora));
+        }
+        return esperaMinima;
+    }
+
+    // Balde de fichas em um único long: o valor zero equivale a um balde cheio
+    private long consumirSlot(AtomicLongArray baldes, int indice, LimiteBalde limite, long agora) {
+        while (true) {
+            long atual = baldes.get(indice);
+            long deficit = deficitAposConsumo(atual, limite, agora);
+            if (deficit > limite.capacidade()) {
+                return espera(deficit, limite);
+            }
+            if (baldes.compareAndSet(indice, atual, (deficit << BITS_TEMPO_BALDE) | agora)) {
+                return 0;
+            }
+        }
+    }
+
+    // O mesmo balde, exato para uma única chave; retorna 0 se havia ficha, ou a espera em ms
+    private static long consumir(AtomicLong balde, LimiteBalde limite, long agora) {
+        while (true) {
+            long atual = balde.get();
+            long deficit = deficitAposConsumo(atual, limite, agora);
+            if (deficit > limite.capacidade()) {
+                return espera(deficit, limite);
+            }
+            if (balde.compareAndSet(atual, (deficit << BITS_TEMPO_BALDE) | agora)) {
+                return 0;
+            }
+        }
+    }
+
+    // Déficit de fichas do balde após a recarga desde o último consumo e o consumo de uma ficha
+    private static long deficitAposConsumo(long atual, LimiteBalde limite, long agora) {
+        long ultimaRecarga = atual & MASCARA_TEMPO_BALDE;
+        long recarregado = (long) (Math.max(0, agora - ultimaRecarga) * limite.recargaPorMs());
+        return Math.max(0, (atual >>> BITS_TEMPO_BALDE) - recarregado) + ESCALA;
+    }
+
+    private static long espera(long deficit, LimiteBalde limite) {
+        return Math.max(1, (long) Math.ceil((deficit - limite.capacidade()) / limite.recargaPorMs()));
+    }
+
+    // Bloqueio restante em ms; o sketch descarta as chaves sem falhas suficientes e a contagem exata decide o resto
+    private long tempoBloqueio(AtomicLongArray falhas, Cache<String, Falhas> rastreio, String chave, long hash,
+                               int falhasAntesBloqueio, long agora) {
+        if (estimarFalhas(falhas, hash, agora) < FALHAS_ANTES_RASTREIO) {
+            return 0;
+        }
+        Falhas registro = rastreio.getIfPresent(chave);
+        if (registro == null || registro.quantidade() < falhasAntesBloqueio) {
+            return 0;
+        }
+        return Math.max(0, registro.bloqueadoAte() - agora);
+    }
+
+    // Menor contagem de falhas recentes entre as linhas; nunca menor que a contagem real da chave
+    private long estimarFalhas(AtomicLongArray falhas, long hash, long agora) {
+        long estimativa = Long.MAX_VALUE;
+        for (int linha = 0; linha < LINHAS; linha++) {
+            long atual = falhas.get(indice(hash, linha));
+            long quantidade = agora - (atual & MASCARA_TEMPO_FALHA) > janelaSketchMs ? 0 : atual >>> BITS_TEMPO_FALHA;
+            estimativa = Math.min(estimativa, quantidade);
+        }
+        return estimativa;
+    }
+
+    // Conta a falha no sketch e, se a chave já passou do pré-filtro, na contagem exata com bloqueio exponencial
+    private void registrarFalha(AtomicLongArray falhas, Cache<String, Falhas> rastreio, String chave,
+                                int falhasAntesBloqueio, long agora) {
+        long hash = HashChave.hash(chave);
+        for (int linha = 0; linha < LINHAS; linha++) {
+            int indice = indice(hash, linha);
+            while (true) {
+                long atual = falhas.get(indice);
+                long quantidade = atual >>> BITS_TEMPO_FALHA;
+                if (agora - (atual & MASCARA_TEMPO_FALHA) > janelaSketchMs) {
+                    quantidade = 0; // Sem falhas recentes: recomeça a contagem
+                }
+                quantidade = Math.min(FALHAS_MAXIMO, quantidade + 1);
+                if (falhas.compareAndSet(indice, atual, (quantidade << BITS_TEMPO_FALHA) | agora)) {
+                    break;
+                }
+            }
+        }
+        if (estimarFalhas(falhas, hash, agora) >= FALHAS_ANTES_RASTREIO) {
+            rastreio.asMap().compute(chave, (k, registro) -> registro == null
+                    ? Falhas.primeira(agora, falhasAntesBloqueio, bloqueioBaseMs)
+                    : registro.somar(agora, falhasAntesBloqueio, bloqueioBaseMs, bloqueioMaximoMs, esquecimentoMs));
+        }
+    }
+
+    // Posição da chave na linha; cada linha usa uma mistura diferente do hash
+    private int indice(long hash, int linha) {
+        long misturado = HashChave.misturar(hash + linha * 0x9E3779B97F4A7C15L);
+        return linha * slotsPorLinha + (int) (misturado & (slotsPorLinha - 1));
+    }
+
+    private static Cache<String, Falhas> criarRastreio(int chavesRastreadas, long expiracaoMs) {
+        return Caffeine.newBuilder()
+                .maximumSize(chavesRastreadas)
+                .expireAfterWrite(Duration.ofMillis(expiracaoMs))
+                .build();
+    }
+
+    private long agora() {
+        return System.currentTimeMillis() - inicio;
+    }
+
+    private static long emSegundos(long ms) {
+        return Math.max(1, (ms + 999) / 1000);
+    }
+
+    // Contagem exata das falhas de uma chave: a quantidade e o fim do bloqueio (ou a última falha, se não bloqueada)
+    private record Falhas(int quantidade, long bloqueadoAte) {
+        static Falhas primeira(long agora, int falhasAntesBloqueio, long bloqueioBaseMs) {
+            return new Falhas(1, falhasAntesBloqueio <= 1 ? agora + bloqueioBaseMs : agora);
+        }
+
+        // Bloqueio exponencial: base, 2x base, 4x base... até o máximo configurado
+        Falhas somar(long agora, int falhasAntesBloqueio, long bloqueioBaseMs, long bloqueioMaximoMs, long esquecimentoMs) {
+            int total = agora - bloqueadoAte > esquecimentoMs ? 1 : quantidade + 1;
+            long ate = agora;
+            if (total >= falhasAntesBloqueio) {
+                int expoente = Math.min(30, total - falhasAntesBloqueio);
+                ate = agora + Math.min(bloqueioMaximoMs, bloqueioBaseMs << expoente);
+            }
+            return new Falhas(total, ate);
+        }
+    }
+
+    // Capacidade e recarga do balde já na escala interna (unidades de ficha)
+    private record LimiteBalde(long capacidade, double recargaPorMs) {
+        static LimiteBalde de(int capacidade, double recargaPorMinuto) {
+            long capacidadeEscalada = capacidade * ESCALA;
+            if (capacidade < 1 || capacidadeEscalada > DEFICIT_MAXIMO || recargaPorMinuto <= 0) {
+                throw new IllegalArgumentException("Limite de login inválido: capacidade " + capacidade + ", recarga " + recargaPorMinuto);
+            }
+            return new LimiteBalde(capacidadeEscalada, recargaPorMinuto * ESCALA / 60_000.0);
+        }
+    }
+}
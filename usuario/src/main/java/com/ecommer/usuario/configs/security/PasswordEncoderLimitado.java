@@ -0,0 +1,169 @@
+package com.ecommer.usuario.configs.security;
+
+import com.ecommer.usuario.exceptios.ServicoSobrecarregadoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PasswordEncoder} que executa toda criptografia e verificação de senha em um pool dedicado.
+ *
+ * <p>O bcrypt é caro em CPU; executá-lo nas threads do Tomcat faz um pico de logins atrasar até as
+ * requisições mais simples. Aqui o trabalho vai para um pool com uma thread por núcleo e uma fila
+ * limitada. Quando a fila enche, a requisição é recusada na hora com {@link ServicoSobrecarregadoException}
+ * (HTTP 503), em vez de esperar indefinidamente.</p>
+ *
+ * <p>Métricas publicadas: {@code senha.hash.fila} (tamanho da fila), {@code senha.hash.tempo}
+ * (duração da criptografia, por operação), {@code senha.hash.espera} (tempo na fila) e
+ * {@code senha.hash.rejeicoes}.</p>
+ */
+public class PasswordEncoderLimitado implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+
+    // Métricas registradas uma única vez na criação
+    private final Timer tempoEncode;
+    private final Timer tempoMatches;
+    private final Timer tempoEspera;
+    private final Counter rejeicoes;
+
+    /**
+     * @param delegate Encoder que realmente criptografa as senhas.
+     * @param threads Quantidade de threads do pool (normalmente o número de núcleos).
+     * @param capacidadeFila Quantidade máxima de tarefas aguardando na fila.
+     * @param meterRegistry Registro de métricas da aplicação.
+     */
+    public PasswordEncoderLimitado(PasswordEncoder delegate, int threads, int capacidadeFila, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila),
+                Thread.ofPlatform().name("senha-hash-", 0).daemon(true).factory(), // Threads de plataforma: trabalho de CPU
+                new ThreadPoolExecutor.AbortPolicy()); // Fila cheia: recusa imediata
+
+        Gauge.builder("senha.hash.fila", executor, e -> e.getQueue().size())
+                .description("Tarefas de criptografia de senha aguardando na fila")
+                .register(meterRegistry);
+        this.tempoEncode = Timer.builder("senha.hash.tempo").tag("operacao", "encode")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.tempoMatches = Timer.builder("senha.hash.tempo").tag("operacao", "matches")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.tempoEspera = Timer.builder("senha.hash.espera")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.rejeicoes = Counter.builder("senha.hash.rejeicoes").register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executar(() -> delegate.encode(rawPassword), tempoEncode);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executar(() -> delegate.matches(rawPassword, encodedPassword), tempoMatches);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword); // Apenas lê o prefixo do hash, não precisa do pool
+    }
+
+    /**
+     * Criptografa várias senhas em paralelo, usando todas as threads do pool.
+     *
+     * <p>Usado em importações em lote. Mantém no máximo uma tarefa em andamento por thread, para não encher a fila
+     * e provocar recusas nos logins concorrentes; se a fila estiver cheia mesmo assim, aguarda em vez de recusar.</p>
+     *
+     * @param senhas Senhas em texto puro.
+     * @return Hashes na mesma ordem das senhas.
+     */
+    public List<String> encodeTodos(List<? extends CharSequence> senhas) {
+        Semaphore vagas = new Semaphore(executor.getCorePoolSize());
+        List<Future<String>> futures = new ArrayList<>(senhas.size());
+        try {
+            for (CharSequence senha : senhas) {
+                vagas.acquire();
+                futures.add(enviarAguardando(() -> {
+                    try {
+                        return tempoEncode.recordCallable(() -> delegate.encode(senha));
+                    } finally {
+                        vagas.release();
+                    }
+                }));
+            }
+            List<String> hashes = new ArrayList<>(senhas.size());
+            for (Future<String> future : futures) {
+                hashes.add(aguardar(future));
+            }
+            return hashes;
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Criptografia de senhas interrompida", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    // Envia a tarefa ao pool e aguarda o resultado na thread da requisição
+    private <T> T executar(Callable<T> tarefa, Timer timer) {
+        long enviadaEm = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                tempoEspera.record(System.nanoTime() - enviadaEm, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(tarefa);
+            });
+        } catch (RejectedExecutionException e) {
+            rejeicoes.increment();
+            throw new ServicoSobrecarregadoException("ERRO, SERVIÇO SOBRECARREGADO. TENTE NOVAMENTE EM INSTANTES.", 1);
+        }
+
+        try {
+            return aguardar(future);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Criptografia de senha interrompida", e);
+        }
+    }
+
+    // Envia a tarefa ao pool; com a fila cheia, aguarda e tenta novamente em vez de recusar
+    private <T> Future<T> enviarAguardando(Callable<T> tarefa) throws InterruptedException {
+        while (true) {
+            try {
+                return executor.submit(tarefa);
+            } catch (RejectedExecutionException e) {
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    // Aguarda o resultado, repassando as exceções de execução da tarefa
+    private static <T> T aguardar(Future<T> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Falha na criptografia de senha", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.ecommer.usuario.configs.security;
+
+import com.ecommer.usuario.models.TokenRevogadoModel;
+import com.ecommer.usuario.repositorys.TokenRevogadoRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lista de revogação de tokens JWT mantida em memória em cada instância.
+ *
+ * <p>As revogações são gravadas na tabela {@code TB_TOKEN_REVOGADO} e lidas de forma incremental
+ * a cada {@code autorizacao.revogacao.atualizacaoMs}. Os jti revogados ficam em um instantâneo imutável
+ * (filtro de Bloom + conjunto exato) publicado por referência volátil e reconstruído apenas nessa leitura
+ * periódica; as revogações feitas nesta instância entre duas leituras ficam em um pequeno conjunto à parte,
+ * consultado diretamente. As revogações por usuário ficam em um mapa concorrente. A verificação por
+ * requisição é apenas uma leitura de memória, sem bloqueio e sem banco de dados.</p>
+ *
+ * <p>Cada revogação deixa a memória quando o token correspondente expira: um jti revogado vale até o
+ * {@code exp} do token, e a revogação de um usuário vale até o {@code exp} do último token que ele
+ * poderia ter recebido antes dela.</p>
+ */
+@Component
+public class RevogacaoTokenJwt {
+
+    private static final Logger logger = LogManager.getLogger(RevogacaoTokenJwt.class);
+
+    private static final ZoneId ZONA = ZoneId.of("America/Recife");
+
+    // Taxa de falso positivo do filtro de Bloom; um falso positivo custa apenas uma consulta ao conjunto exato
+    private static final double TAXA_FALSO_POSITIVO = 0.01;
+
+    final TokenRevogadoRepository tokenRevogadoRepository;
+    final UsuarioDetailsServiceImpl usuarioDetailsService;
+    final long jwtExpirationMs;
+    final long margemMs;
+    final int expurgoLote;
+
+    // Instantâneo dos jti revogados lido por todas as requisições; substituído por inteiro na leitura periódica
+    private volatile Estado estado = Estado.vazio();
+
+    // jti revogados nesta instância desde a última reconstrução do instantâneo: jti -> expiração
+    private final Map<String, Long> recentes = new ConcurrentHashMap<>();
+
+    // Usuário -> instante da revogação de todos os seus tokens, truncado ao segundo
+    private final Map<UUID, Long> usuarios = new ConcurrentHashMap<>();
+
+    // Serializa a publicação do instantâneo; a consulta ao banco é feita antes, fora do bloqueio, para não
+    // prender a thread (inclusive virtual) durante o JDBC
+    private final ReentrantLock publicacao = new ReentrantLock();
+
+    // Início da última leitura incremental (escrito apenas pela carga inicial e pela leitura periódica)
+    private volatile LocalDateTime ultimaLeitura;
+
+    /**
+     * Construtor que recebe o repositório e as configurações da lista de revogação.
+     *
+     * @param tokenRevogadoRepository Repositório das revogações.
+     * @param usuarioDetailsService Serviço de usuários, cujo cache é invalidado a cada revogação de usuário lida.
+     * @param jwtExpirationMs Tempo de expiração do token JWT, usado na revogação por usuário.
+     * @param margemMs Janela relida em cada leitura incremental, para cobrir transações lentas e relógios dessincronizados.
+     * @param expurgoLote Quantidade de revogações vencidas removidas por transação.
+     * @param meterRegistry Registro de métricas da aplicação.
+     */
+    public RevogacaoTokenJwt(TokenRevogadoRepository tokenRevogadoRepository,
+                             UsuarioDetailsServiceImpl usuarioDetailsService,
+                             @Value("${autorizacao.jwtExpirationMs}") long jwtExpirationMs,
+                             @Value("${autorizacao.revogacao.margemMs:30000}") long margemMs,
+                             @Value("${autorizacao.revogacao.expurgoLote:1000}") int expurgoLote,
+                             MeterRegistry meterRegistry) {
+        this.tokenRevogadoRepository = tokenRevogadoRepository;
+        this.usuarioDetailsService = usuarioDetailsService;
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.margemMs = margemMs;
+        this.expurgoLote = expurgoLote;
+        Gauge.builder("jwt.revogacao.entradas", this, RevogacaoTokenJwt::quantidade)
+                .description("Revogações de tokens JWT mantidas em memória")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Verifica se um token está revogado. Não acessa o banco de dados nem adquire bloqueios.
+     *
+     * @param jti Identificador do token, ou {@code null} para tokens emitidos antes da reivindicação existir.
+     * @param usuarioId ID do usuário dono do token.
+     * @param emitidoEmMs Instante de emissão do token ({@code iat}) em milissegundos.
+     * @return {@code true} se o token foi revogado.
+     */
+    public boolean estaRevogado(String jti, UUID usuarioId, long emitidoEmMs) {
+        if (!usuarios.isEmpty() && usuarioId != null) {
+            Long revogadoEmMs = usuarios.get(usuarioId);
+            // O "iat" tem precisão de segundos, e a revogação é truncada ao segundo: são recusados os tokens
+            // emitidos em um segundo anterior ao da revogação, e aceitos os emitidos a partir dele (novo login)
+            if (revogadoEmMs != null && emitidoEmMs < revogadoEmMs) {
+                return true;
+            }
+        }
+        if (jti == null) {
+            return false;
+        }
+        if (!recentes.isEmpty() && recentes.containsKey(jti)) {
+            return true;
+        }
+        // O filtro de Bloom descarta quase todos os tokens válidos; o conjunto exato elimina os falsos positivos
+        Estado atual = this.estado;
+        return atual.filtro().talvezContenha(jti) && atual.tokens().containsKey(jti);
+    }
+
+    /**
+     * Revoga um único token. A revogação vale imediatamente nesta instância e, nas demais,
+     * a partir da próxima leitura incremental.
+     *
+     * @param jti Identificador do token.
+     * @param usuarioId ID do usuário dono do token.
+     * @param expiracaoMs Instante de expiração do token ({@code exp}) em milissegundos.
+     */
+    public void revogarToken(String jti, UUID usuarioId, long expiracaoMs) {
+        salvar(jti, usuarioId, System.currentTimeMillis(), expiracaoMs);
+        recentes.put(jti, expiracaoMs);  // Entra no instantâneo na próxima leitura periódica
+    }
+
+    /**
+     * Revoga todos os tokens do usuário emitidos até agora.
+     *
+     * @param usuarioId ID do usuário.
+     */
+    public void revogarUsuario(UUID usuarioId) {
+        long agora = System.currentTimeMillis();
+        salvar(null, usuarioId, agora, agora + jwtExpirationMs);
+        usuarios.merge(usuarioId, truncarSegundo(agora), Math::max);
+    }
+
+    /**
+     * Carrega todas as revogações em vigor na inicialização, antes de a aplicação receber requisições.
+     */
+    @PostConstruct
+    public void carregar() {
+        LocalDateTime inicio = LocalDateTime.now(ZONA);
+        List<TokenRevogadoModel> revogacoes = tokenRevogadoRepository.findByDataExpiracaoAfter(inicio);
+        ultimaLeitura = inicio;
+        publicar(revogacoes, System.currentTimeMillis());
+        logger.info("Revogações de tokens JWT carregadas: {}", quantidade());
+    }
+
+    /**
+     * Lê as revogações registradas desde a última leitura (inclusive as de outras instâncias), reconstrói
+     * o instantâneo com elas e com as revogações recentes desta instância e remove da memória as que já venceram.
+     * Cada revogação de usuário lida também remove o usuário do cache de autenticação, para que senha, status e
+     * exclusão alterados em outra instância valham aqui.
+     */
+    @Scheduled(fixedDelayString = "${autorizacao.revogacao.atualizacaoMs:5000}")
+    public void atualizar() {
+        LocalDateTime inicio = LocalDateTime.now(ZONA);
+        List<TokenRevogadoModel> revogacoes = tokenRevogadoRepository
+                .findByDataRevogacaoGreaterThanEqualAndDataExpiracaoAfter(ultimaLeitura.minusNanos(margemMs * 1_000_000), inicio);
+        ultimaLeitura = inicio;
+        publicar(revogacoes, System.currentTimeMillis());
+        for (TokenRevogadoModel revogacao : revogacoes) {
+            if (revogacao.getJti() == null) {
+                usuarioDetailsService.invalidarUsuarioId(revogacao.getUsuarioId());
+            }
+        }
+    }
+    /**
+     * Remove periodicamente as revogações vencidas da tabela, em lotes.
+     */
+    @Scheduled(fixedDelayString = "${autorizacao.revogacao.expurgoMs:3600000}")
+    public void expurgarExpirados() {
+        LocalDateTime agora = LocalDateTime.now(ZONA);
+        long total = 0;
+        int removidos;
+        do {
+            removidos = tokenRevogadoRepository.deleteExpirados(agora, expurgoLote);
+            total += removidos;
+        } while (removidos == expurgoLote);
+
+        if (total > 0) {
+            logger.info("Revogações de tokens JWT vencidas removidas: {}", total);
+        }
+    }
+
+    private void salvar(String jti, UUID usuarioId, long revogadoEmMs, long expiracaoMs) {
+        var tokenRevogadoModel = new TokenRevogadoModel();
+        tokenRevogadoModel.setJti(jti);
+        tokenRevogadoModel.setUsuarioId(usuarioId);
+        tokenRevogadoModel.setDataRevogacao(paraData(revogadoEmMs));
+        tokenRevogadoModel.setDataExpiracao(paraData(expiracaoMs));
+        tokenRevogadoRepository.save(tokenRevogadoModel);
+    }
+
+    // Reconstrói e publica o instantâneo: os jti em vigor, os revogados nesta instância desde a última
+    // reconstrução e os lidos do banco. Só copia os mapas e refaz o filtro de Bloom quando algo mudou.
+    private void publicar(List<TokenRevogadoModel> revogacoes, long agoraMs) {
+        publicacao.lock();
+        try {
+            usuarios.values().removeIf(revogadoEmMs -> revogadoEmMs + jwtExpirationMs <= agoraMs);
+            for (TokenRevogadoModel revogacao : revogacoes) {
+                if (revogacao.getJti() == null) {
+                    usuarios.merge(revogacao.getUsuarioId(), truncarSegundo(paraMs(revogacao.getDataRevogacao())), Math::max);
+                }
+            }
+
+            Estado atual = this.estado;
+            Map<String, Long> pendentes = Map.copyOf(recentes);
+            boolean alterado = !pendentes.isEmpty()
+                    || revogacoes.stream().anyMatch(revogacao -> revogacao.getJti() != null)
+                    || atual.tokens().values().stream().anyMatch(expiracaoMs -> expiracaoMs <= agoraMs);
+            if (!alterado) {
+                return;
+            }
+
+            Map<String, Long> tokens = new HashMap<>(atual.tokens());
+            tokens.putAll(pendentes);
+            for (TokenRevogadoModel revogacao : revogacoes) {
+                if (revogacao.getJti() != null) {
+                    tokens.put(revogacao.getJti(), paraMs(revogacao.getDataExpiracao()));
+                }
+            }
+            tokens.values().removeIf(expiracaoMs -> expiracaoMs <= agoraMs);
+
+            FiltroBloom filtro = new FiltroBloom(Math.max(1024, tokens.size() * 2), TAXA_FALSO_POSITIVO);
+            tokens.keySet().forEach(filtro::adicionar);
+            this.estado = new Estado(filtro, Map.copyOf(tokens));
+            // Só depois de publicado o instantâneo; revogações feitas durante a reconstrução continuam pendentes
+            pendentes.forEach(recentes::remove);
+        } finally {
+            publicacao.unlock();
+        }
+    }
+
+    private int quantidade() {
+        return estado.tokens().size() + recentes.size() + usuarios.size();
+    }
+
+    private static long truncarSegundo(long epochMs) {
+        return epochMs - Math.floorMod(epochMs, 1000L);
+    }
+
+    private static LocalDateTime paraData(long epochMs) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMs), ZONA);
+    }
+
+    private static long paraMs(LocalDateTime data) {
+        return data.atZone(ZONA).toInstant().toEpochMilli();
+    }
+
+    // Instantâneo imutável: jti revogado -> expiração, com o filtro de Bloom correspondente
+    private record Estado(FiltroBloom filtro, Map<String, Long> tokens) {
+        static Estado vazio() {
+            return new Estado(new FiltroBloom(1024, TAXA_FALSO_POSITIVO), Map.of());
+        }
+    }
+}
@@ -1,90 +1,206 @@
 package com.ecommer.usuario.configs.security;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Classe responsável por fornecer funcionalidades para geração de tokens JWT na aplicação.
  *
  * Esta classe utiliza a biblioteca JJWT para criar tokens seguros, baseados em uma chave secreta
  * e em um tempo de expiração definido nas configurações da aplicação.
+ *
+ * A chave e o parser são construídos uma única vez na inicialização, pois ambos são imutáveis
+ * e seguros para uso concorrente.
+ *
+ * Nos modos ES256 e EdDSA a assinatura usa as chaves rotativas de {@link ChavesJwt}, identificadas
+ * pelo {@code kid} do cabeçalho, e a verificação localiza a chave pública correspondente.
  */
 @Component
 public class TokenJwt {
 
     private static final Logger logger = LogManager.getLogger(TokenJwt.class);
 
-    //Chave secreta utilizada para assinar os tokens JWT. */
-    @Value("${autorizacao.jwtSecret}")
-    private String jwtSecret;
+    // Nomes das reivindicações usadas no modo sem estado (stateless)
+    public static final String CLAIM_USUARIO_ID = "usuarioId";
+    public static final String CLAIM_ROLES = "roles";
 
     //Tempo de expiração do token JWT em milissegundos. */
-    @Value("${autorizacao.jwtExpirationMs}")
-    private int jwtExpirationMs;
+    private final int jwtExpirationMs;
+
+    //Chave secreta utilizada para assinar e verificar os tokens JWT no modo HS256. */
+    private final SecretKey secretKey;
+
+    //Chaves assimétricas utilizadas nos modos ES256 e EdDSA. */
+    private final ChavesJwt chavesJwt;
+
+    //Parser reutilizado em todas as validações, já configurado com a chave de verificação. */
+    private final JwtParser jwtParser;
+
+    //Quando ativo, o filtro JWT monta o usuário a partir das reivindicações, sem consultar o banco de dados. */
+    private final boolean jwtStateless;
+
+    //Tempos de geração e de verificação (válidos e recusados), registrados na construção: sem tags por chamada. */
+    private final Timer tempoGerar;
+    private final Timer tempoVerificarValido;
+    private final Timer tempoVerificarInvalido;
+
+    /**
+     * Construtor que prepara a chave de assinatura e o parser JWT a partir das configurações.
+     *
+     * @param jwtSecret Chave secreta utilizada para assinar os tokens JWT.
+     * @param jwtExpirationMs Tempo de expiração do token JWT em milissegundos.
+     * @param jwtStateless Ativa o modo de autorização sem consulta ao banco de dados por requisição.
+     * @param chavesJwt Gerenciador das chaves assimétricas de assinatura.
+     * @param meterRegistry Registro de métricas da aplicação.
+     */
+    public TokenJwt(@Value("${autorizacao.jwtSecret}") String jwtSecret,
+                    @Value("${autorizacao.jwtExpirationMs}") int jwtExpirationMs,
+                    @Value("${autorizacao.jwtStateless:false}") boolean jwtStateless,
+                    ChavesJwt chavesJwt,
+                    MeterRegistry meterRegistry) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.tempoGerar = Timer.builder("jwt.tempo").tag("operacao", "gerar")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.tempoVerificarValido = Timer.builder("jwt.tempo").tag("operacao", "verificar").tag("resultado", "valido")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.tempoVerificarInvalido = Timer.builder("jwt.tempo").tag("operacao", "verificar").tag("resultado", "invalido")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.jwtStateless = jwtStateless;
+        this.chavesJwt = chavesJwt;
+        this.secretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        if (chavesJwt.isAssimetrico()) {
+            // Localiza a chave pública pelo "kid" do cabeçalho, permitindo várias chaves ativas
+            this.jwtParser = Jwts.parser().keyLocator(new LocatorAdapter<Key>() {
+                @Override
+                protected Key locate(JwsHeader header) {
+                    PublicKey chavePublica = chavesJwt.getChavePublica(header.getKeyId());
+                    if (chavePublica == null) {
+                        throw new UnsupportedJwtException("Chave de assinatura desconhecida: " + header.getKeyId());
+                    }
+                    return chavePublica;
+                }
+            }).build();
+        } else {
+            this.jwtParser = Jwts.parser().verifyWith(secretKey).build();
+        }
+    }
 
     /**
      * Método responsável por gerar um token JWT com base na autenticação do usuário.
      *
+     * <p>Além do nome do usuário, o token carrega o ID e as permissões do usuário, permitindo que o modo
+     * sem estado reconstrua o usuário sem acessar o banco de dados. Nesse modo, alterações de senha, status
+     * ou exclusão do usuário só têm efeito sobre tokens já emitidos pela lista de revogação
+     * ({@link RevogacaoTokenJwt}).</p>
+     *
      * @param authentication Objeto contendo as informações do usuário autenticado.
      * @return Token JWT gerado.
      */
     public String gerarJwt(Authentication authentication) {
+        long inicio = System.nanoTime();
         UsuarioDetailsImpl usuarioPrincipal = (UsuarioDetailsImpl) authentication.getPrincipal();
+        long agora = System.currentTimeMillis();
+
+        List<String> roles = new ArrayList<>(usuarioPrincipal.getAuthorities().size());
+        for (GrantedAuthority authority : usuarioPrincipal.getAuthorities()) {
+            roles.add(authority.getAuthority());
+        }
 
-        return Jwts.builder()
+        JwtBuilder jwtBuilder = Jwts.builder()
+                .id(UUID.randomUUID().toString()) // Identificador único do token ("jti"), usado na revogação
                 .subject(usuarioPrincipal.getUsername()) // Define o nome do usuário como "subject" do token
-                .issuedAt(new Date()) // Define a data de emissão do token
-                .expiration(new Date((new Date()).getTime() + jwtExpirationMs)) // Define a data de expiração do token
-                .signWith(getSecretKey()) // Assina o token com a chave secreta
-                .compact(); // Retorna o token gerado
+                .claim(CLAIM_USUARIO_ID, String.valueOf(usuarioPrincipal.getUsuarioId())) // ID do usuário
+                .claim(CLAIM_ROLES, roles) // Permissões do usuário
+                .issuedAt(new Date(agora)) // Define a data de emissão do token
+                .expiration(new Date(agora + jwtExpirationMs)); // Define a data de expiração do token
+
+        if (chavesJwt.isAssimetrico()) {
+            // Assina com a chave privada atual e informa o "kid" para a verificação
+            ChavesJwt.ChaveAssinatura chave = chavesJwt.getChaveAtual();
+            jwtBuilder.header().keyId(chave.kid()).and()
+                    .signWith(chave.parChaves().getPrivate(), chavesJwt.getAlgoritmoAssinatura());
+        } else {
+            jwtBuilder.signWith(secretKey); // Assina o token com a chave secreta
+        }
+        String token = jwtBuilder.compact();
+        tempoGerar.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        return token; // Retorna o token gerado
     }
 
     /**
-     * Obtém a chave secreta para assinatura do token JWT.
+     * Monta os detalhes do usuário apenas com as reivindicações de um token já validado.
      *
-     * @return Instância de SecretKey utilizada para assinar os tokens.
+     * @param claims Reivindicações obtidas em {@link #getClaimsValidadasJwt(String)}.
+     * @return Detalhes do usuário, ou {@code null} se o token não tiver as reivindicações do modo sem estado.
      */
-    private SecretKey getSecretKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    public UsuarioDetailsImpl getUsuarioDetailsClaims(Claims claims) {
+        String usuarioId = claims.get(CLAIM_USUARIO_ID, String.class);
+        List<?> roles = claims.get(CLAIM_ROLES, List.class);
+        if (usuarioId == null || roles == null) {
+            return null; // Token emitido antes do modo sem estado
+        }
+
+        List<GrantedAuthority> authorities = AutoridadesRole.de(AutoridadesRole.mascara(roles));  // Lista compartilhada
+        return new UsuarioDetailsImpl(
+                UUID.fromString(usuarioId),
+                claims.getSubject(),
+                null, // A senha nunca trafega no token
+                authorities);
+    }
+
+    public boolean isJwtStateless() {
+        return jwtStateless;
     }
 
     public String getUsernameJwt(String token) {
-        return Jwts.parser()
-                .verifyWith(getSecretKey())
-                .build()
-                .parseSignedClaims(token)
+        return jwtParser.parseSignedClaims(token)
                 .getPayload()
                 .getSubject();
     }
 
     /**
-     * Valida um token JWT.
+     * Valida o token JWT e retorna as suas reivindicações em uma única verificação de assinatura.
      *
-     * <p>Este método tenta ValidadorHorarioAntecedencia o token JWT fornecido. Caso o token seja válido, retorna {@code true}.
-     * Caso contrário, captura e registra a exceção correspondente e retorna {@code false}.</p>
+     * <p>Deve ser preferido à combinação {@link #validacaoJwt(String)} + {@link #getUsernameJwt(String)},
+     * que verifica a assinatura duas vezes.</p>
      *
      * @param authToken O token JWT a ser validado.
-     * @return {@code true} se o token for válido, {@code false} caso contrário.
+     * @return As reivindicações do token, ou {@code null} se o token for inválido.
      */
-    public boolean validacaoJwt(String authToken) {
+    public Claims getClaimsValidadasJwt(String authToken) {
+        long inicio = System.nanoTime();
         try {
-            Jwts.parser()
-                    .verifyWith(getSecretKey()) // verifica se o token está expirado
-                    .build()// inicia validação
-                    .parseSignedClaims(authToken);
-            return true;
+            Claims claims = jwtParser.parseSignedClaims(authToken).getPayload();
+            tempoVerificarValido.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            return claims;
         } catch (SecurityException e) {
             logger.error("Assinatura JWT inválida: {}", e.getMessage());
         } catch (MalformedJwtException e) {
@@ -95,7 +211,23 @@ public class TokenJwt {
             logger.error("O Token JWT não é suportado: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("A string de reivindicações do JWT está vazia: {}", e.getMessage());
+        } catch (JwtException e) {
+            logger.error("Token JWT rejeitado: {}", e.getMessage());
         }
-        return false;
+        tempoVerificarInvalido.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        return null;
+    }
+
+    /**
+     * Valida um token JWT.
+     *
+     * <p>Este método tenta ValidadorHorarioAntecedencia o token JWT fornecido. Caso o token seja válido, retorna {@code true}.
+     * Caso contrário, captura e registra a exceção correspondente e retorna {@code false}.</p>
+     *
+     * @param authToken O token JWT a ser validado.
+     * @return {@code true} se o token for válido, {@code false} caso contrário.
+     */
+    public boolean validacaoJwt(String authToken) {
+        return getClaimsValidadasJwt(authToken) != null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.ecommer.usuario.configs.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache limitado de tokens JWT já verificados.
+ *
+ * <p>A chave é o resumo SHA-256 do token (o token em si não fica em memória) e o valor é o usuário
+ * autenticado com suas permissões, junto com o {@code jti} e o {@code iat} do token, necessários para
+ * consultar a lista de revogação a cada requisição. Cada entrada expira junto com o próprio token ({@code exp}) e,
+ * ao atingir o tamanho máximo, as entradas menos usadas são descartadas.</p>
+ *
+ * <p>Os acertos e falhas são publicados no Micrometer com o nome de cache {@code tokenJwt}.</p>
+ */
+@Component
+public class TokenJwtCache {
+
+    private final Cache<String, Entrada> cache;
+
+    /**
+     * Construtor que cria o cache e registra as suas métricas.
+     *
+     * @param tamanhoMaximo Quantidade máxima de tokens mantidos em memória.
+     * @param meterRegistry Registro de métricas da aplicação.
+     */
+    public TokenJwtCache(@Value("${autorizacao.cache.tokenTamanhoMaximo:10000}") long tamanhoMaximo,
+                         MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo) // Despejo por tamanho
+                .expireAfter(new ExpiracaoDoToken()) // Expira no mesmo instante que o token
+                .recordStats() // Contadores de acertos e falhas
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "tokenJwt");
+    }
+
+    /**
+     * Calcula a chave do cache a partir do token.
+     *
+     * @param token Token JWT recebido no cabeçalho.
+     * @return Resumo SHA-256 do token em Base64.
+     */
+    public String chave(String token) {
+        try {
+            byte[] resumo = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(resumo);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível na JVM", e);
+        }
+    }
+
+    /**
+     * Busca um token já verificado.
+     *
+     * @param chave Chave obtida em {@link #chave(String)}.
+     * @return Entrada com o usuário autenticado, ou {@code null} se o token não estiver no cache.
+     */
+    public Entrada buscar(String chave) {
+        return cache.getIfPresent(chave);
+    }
+
+    /**
+     * Guarda um token recém-verificado.
+     *
+     * @param chave Chave obtida em {@link #chave(String)}.
+     * @param entrada Usuário autenticado pelo token e dados do token.
+     */
+    public void guardar(String chave, Entrada entrada) {
+        cache.put(chave, entrada);
+    }
+
+    /**
+     * Remove todos os tokens em cache de um usuário.
+     *
+     * <p>Percorre o cache inteiro, o que é aceitável por ocorrer apenas nas alterações de usuário.</p>
+     *
+     * @param nome Nome do usuário alterado.
+     */
+    public void invalidarUsuario(String nome) {
+        cache.asMap().values().removeIf(entrada -> nome.equals(entrada.usuario().getUsername()));
+    }
+
+    /**
+     * Remove todos os tokens em cache de um usuário, pelo ID.
+     *
+     * @param usuarioId ID do usuário revogado.
+     */
+    public void invalidarUsuarioId(UUID usuarioId) {
+        cache.asMap().values().removeIf(entrada -> usuarioId.equals(entrada.usuario().getUsuarioId()));
+    }
+
+    public long getAcertos() {
+        return cache.stats().hitCount();
+    }
+
+    public long getFalhas() {
+        return cache.stats().missCount();
+    }
+
+    // Valor armazenado no cache: usuário verificado, identificador, emissão e expiração do token
+    record Entrada(UsuarioDetailsImpl usuario, String jti, long emitidoEmMs, long expiracaoMs) {}
+
+    // Política de expiração por entrada, baseada no "exp" do próprio token
+    private static class ExpiracaoDoToken implements Expiry<String, Entrada> {
+        @Override
+        public long expireAfterCreate(String chave, Entrada entrada, long tempoAtual) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, entrada.expiracaoMs() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String chave, Entrada entrada, long tempoAtual, long duracaoAtual) {
+            return expireAfterCreate(chave, entrada, tempoAtual);
+        }
+
+        @Override
+        public long expireAfterRead(String chave, Entrada entrada, long tempoAtual, long duracaoAtual) {
+            return duracaoAtual;
+        }
+    }
+}
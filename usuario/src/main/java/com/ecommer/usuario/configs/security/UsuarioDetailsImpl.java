@@ -3,13 +3,10 @@ package com.ecommer.usuario.configs.security;
 import com.ecommer.usuario.models.UsuarioModel;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 public class UsuarioDetailsImpl implements UserDetails {
     private UUID usuarioId;
@@ -38,14 +35,11 @@ public class UsuarioDetailsImpl implements UserDetails {
      * @return Objeto UsuarioDetailsImpl preenchido.
      */
     public static UsuarioDetailsImpl build(UsuarioModel usuarioModel) {
-        List<GrantedAuthority> authorities = usuarioModel.getRoles().stream()
-                .map(role -> new SimpleGrantedAuthority(role.getAuthority()))
-                .collect(Collectors.toList());
         return new UsuarioDetailsImpl(
                 usuarioModel.getUsuarioId(),
                 usuarioModel.getNome(),
                 usuarioModel.getSenha(),
-                authorities);
+                AutoridadesRole.de(usuarioModel.getRolesMascara()));  // Lista compartilhada, sem ler a associação de roles
     }
 
     @Override
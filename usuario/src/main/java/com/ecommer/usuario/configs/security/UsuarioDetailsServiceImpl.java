@@ -2,33 +2,141 @@ package com.ecommer.usuario.configs.security;
 
 import com.ecommer.usuario.models.UsuarioModel;
 import com.ecommer.usuario.repositorys.UsuarioRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
-public class UsuarioDetailsServiceImpl implements UserDetailsService {
+public class UsuarioDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     final UsuarioRepository usuarioRepository;
+    final TokenJwtCache tokenJwtCache;
+
+    // Cache de usuários por nome, limitado por tamanho e por tempo de vida
+    private final Cache<String, UsuarioDetailsImpl> usuarioCache;
+
+    // Tempo de loadUserByUsername por origem do resultado, registrado na construção: sem tags por chamada
+    private final Timer tempoCache;
+    private final Timer tempoBanco;
+    private final Timer tempoNaoEncontrado;
 
-    public UsuarioDetailsServiceImpl(UsuarioRepository usuarioRepository) {
+    public UsuarioDetailsServiceImpl(UsuarioRepository usuarioRepository, TokenJwtCache tokenJwtCache, MeterRegistry meterRegistry,
+                                     @Value("${autorizacao.cache.usuarioTamanhoMaximo:10000}") long tamanhoMaximo,
+                                     @Value("${autorizacao.cache.usuarioTtlMs:300000}") long ttlMs) {
         this.usuarioRepository = usuarioRepository;
+        this.tokenJwtCache = tokenJwtCache;
+        this.usuarioCache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, usuarioCache, "usuarioDetails");
+        this.tempoCache = Timer.builder("usuario.carregar.tempo").tag("origem", "cache")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.tempoBanco = Timer.builder("usuario.carregar.tempo").tag("origem", "banco")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.tempoNaoEncontrado = Timer.builder("usuario.carregar.tempo").tag("origem", "nao_encontrado")
+                .publishPercentileHistogram().register(meterRegistry);
     }
 
     /**
      * Método para carregar um usuário pelo nome de usuário.
-     * Esse método é chamado pelo Spring Security durante a autenticação.
+     * Esse método é chamado pelo Spring Security durante o login (e pelo refresh) e sempre consulta o banco de dados:
+     * a senha e o status verificados são os atuais, mesmo que outra instância tenha acabado de alterá-los.
+     * O resultado substitui a entrada do cache usada pelo filtro JWT em {@link #carregarUsuarioCache(String)}.
      * @param username Nome de usuário recebido na autenticação
      * @return UserDetails contendo informações do usuário autenticado
      * @throws UsernameNotFoundException se o usuário não for encontrado
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        long inicio = System.nanoTime();
         // Busca o usuário no banco de dados pelo nome
-        UsuarioModel usuarioModel = usuarioRepository.findByNome(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
+        UsuarioModel usuarioModel = usuarioRepository.findByNome(username).orElse(null);
+        if (usuarioModel == null) {
+            tempoNaoEncontrado.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            throw new UsernameNotFoundException("User Not Found with username: " + username);
+        }
+
+        // Converte a entidade UsuarioModel para um objeto UserDetails, guarda no cache e retorna
+        UsuarioDetailsImpl usuarioDetails = UsuarioDetailsImpl.build(usuarioModel);
+        usuarioCache.put(username, usuarioDetails);
+        tempoBanco.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        return usuarioDetails;
+    }
+
+    /**
+     * Carrega o usuário de um token JWT já verificado, consultando primeiro o cache.
+     * O resultado fica em cache até expirar, até ser invalidado por {@link #invalidarUsuario(String)} nesta instância
+     * ou por {@link #invalidarUsuarioId(UUID)} quando a revogação feita em outra instância chega pela lista de revogação.
+     * @param username Nome do usuário (subject do token)
+     * @return UsuarioDetailsImpl com as informações do usuário
+     * @throws UsernameNotFoundException se o usuário não for encontrado
+     */
+    public UsuarioDetailsImpl carregarUsuarioCache(String username) throws UsernameNotFoundException {
+        long inicio = System.nanoTime();
+        UsuarioDetailsImpl usuarioDetails = usuarioCache.getIfPresent(username);
+        if (usuarioDetails != null) {
+            tempoCache.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            return usuarioDetails;
+        }
+        return (UsuarioDetailsImpl) loadUserByUsername(username);
+    }
+
+    /**
+     * Substitui o hash da senha do usuário por um novo hash com o custo atual.
+     * Esse método é chamado pelo Spring Security após um login bem-sucedido quando o hash armazenado
+     * foi gerado com um custo diferente do calibrado na inicialização.
+     * @param user Usuário autenticado
+     * @param newPassword Novo hash da senha, já com o prefixo do algoritmo
+     * @return UserDetails com o novo hash
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UsuarioModel usuarioModel = usuarioRepository.findByNome(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + user.getUsername()));
+        usuarioModel.setSenha(newPassword); // Não altera a data de atualização: a senha em si não mudou
+        usuarioRepository.save(usuarioModel);
+        invalidarUsuario(usuarioModel.getNome());
 
-        // Converte a entidade UsuarioModel para um objeto UserDetails e retorna
-        return UsuarioDetailsImpl.build(usuarioModel);
+        UsuarioDetailsImpl usuarioDetails = UsuarioDetailsImpl.build(usuarioModel);
+        usuarioCache.put(usuarioModel.getNome(), usuarioDetails);
+        return usuarioDetails;
+    }
+
+    /**
+     * Remove o usuário dos caches de autenticação (usuários e tokens verificados).
+     * Deve ser chamado sempre que nome, senha, status ou existência do usuário mudarem,
+     * para que a alteração tenha efeito na próxima requisição.
+     * @param nome Nome do usuário alterado
+     */
+    public void invalidarUsuario(String nome) {
+        usuarioCache.invalidate(nome);
+        tokenJwtCache.invalidarUsuario(nome);
+    }
+
+    /**
+     * Remove o usuário dos caches de autenticação pelo ID.
+     * Chamado para cada revogação de usuário lida da tabela de revogações, inclusive as registradas em outras
+     * instâncias: alterações de senha, bloqueio e exclusão feitas em outro nó chegam a este cache na próxima leitura.
+     * Percorre o cache inteiro, o que é aceitável por ocorrer apenas nessas alterações.
+     * @param usuarioId ID do usuário revogado
+     */
+    public void invalidarUsuarioId(UUID usuarioId) {
+        usuarioCache.asMap().values().removeIf(usuario -> usuarioId.equals(usuario.getUsuarioId()));
+        tokenJwtCache.invalidarUsuarioId(usuarioId);
     }
-}
\ No newline at end of file
+}
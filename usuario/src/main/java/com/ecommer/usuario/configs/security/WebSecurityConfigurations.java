@@ -1,6 +1,8 @@
 package com.ecommer.usuario.configs.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,10 +13,14 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.factory.PasswordEncoderFactories;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.Arrays;
 
 /**
  * Classe de configuração de segurança da aplicação.
@@ -32,24 +38,37 @@ public class WebSecurityConfigurations {
             // PARCE SEMPRE O CAMINHO COMPLETO, PARA EVITAR ERROS
             "/autenticacao/login",
             "/autenticacao/registro",
+            "/autenticacao/refresh",
+            "/autenticacao/jwks",
             "usuario/**",
             "/swagger-ui/**",
             "/v3/api-docs/**",
             "/swagger-ui.html",
     };
 
+    // Endpoints do Actuator liberados, somente na porta de gerenciamento (management.server.port), fechada à rede pública
+    private static final String [] LISTA_GERENCIAMENTO ={
+            "/actuator/health",
+            "/actuator/prometheus", // Coleta do Prometheus
+    };
+
     // Injeção de dependência via construtor
     private final UsuarioDetailsServiceImpl usuarioDetailsService;
     private final AutenticacaoEntryPointImpl autenticacaoEntryPoint;
     private final TokenJwt tokenJwt;
     private final AccessDeniedHandlerImpl accessDeniedHandler;
+    private final TokenJwtCache tokenJwtCache;
+    private final RevogacaoTokenJwt revogacaoTokenJwt;
 
     //Construtor para injeção das dependências necessárias para a segurança.
-    public WebSecurityConfigurations(UsuarioDetailsServiceImpl usuarioDetailsService, AutenticacaoEntryPointImpl authenticationEntryPoint, TokenJwt tokenJwt, AccessDeniedHandlerImpl accessDeniedHandler) {
+    public WebSecurityConfigurations(UsuarioDetailsServiceImpl usuarioDetailsService, AutenticacaoEntryPointImpl authenticationEntryPoint, TokenJwt tokenJwt, AccessDeniedHandlerImpl accessDeniedHandler, TokenJwtCache tokenJwtCache,
+                                     RevogacaoTokenJwt revogacaoTokenJwt) {
         this.usuarioDetailsService = usuarioDetailsService;
         this.autenticacaoEntryPoint = authenticationEntryPoint;
         this.tokenJwt = tokenJwt;
         this.accessDeniedHandler = accessDeniedHandler;
+        this.tokenJwtCache = tokenJwtCache;
+        this.revogacaoTokenJwt = revogacaoTokenJwt;
     }
 
     /**
@@ -57,14 +76,17 @@ public class WebSecurityConfigurations {
      */
     @Bean
     public AutenticacaoJwtFilter autenticacaoJwtFilter() {
-        return new AutenticacaoJwtFilter(tokenJwt, usuarioDetailsService);
+        return new AutenticacaoJwtFilter(tokenJwt, usuarioDetailsService, tokenJwtCache, revogacaoTokenJwt);
     }
 
     /**
      * Configuração da cadeia de filtros de segurança.
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity,
+                                                   @Value("${management.server.port:-1}") int portaGerenciamento) throws Exception {
+        // Sem porta de gerenciamento própria, o Actuator fica na porta pública e exige autenticação
+        RequestMatcher portaDeGerenciamento = request -> request.getLocalPort() == portaGerenciamento;
         httpSecurity
                 // Configuração de tratamento de exceções
                 .exceptionHandling((exception) -> exception
@@ -75,6 +97,9 @@ public class WebSecurityConfigurations {
                 .authorizeHttpRequests(authorizeRequests -> authorizeRequests
                         .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll() // Permite acesso a páginas de erro
                         .requestMatchers(LISTA_AUTENTICADOS).permitAll() // Endpoints permitidos sem autenticação
+                        .requestMatchers(new AndRequestMatcher(portaDeGerenciamento, new OrRequestMatcher(
+                                Arrays.stream(LISTA_GERENCIAMENTO).map(AntPathRequestMatcher::antMatcher).toArray(RequestMatcher[]::new))))
+                        .permitAll() // Health check e coleta do Prometheus, somente pela porta de gerenciamento
                         //.requestMatchers(HttpMethod.DELETE, "/usuario/**").hasAnyRole("ADMINISTRADOR")
                         //.requestMatchers(HttpMethod.PUT, "/usuario/**").hasAnyRole("ADMINISTRADOR")
                         .anyRequest().authenticated() // Todas as demais requisições precisam de autenticação
@@ -100,9 +125,17 @@ public class WebSecurityConfigurations {
 
     /**
      * Configuração do encoder de senhas.
+     * O custo do bcrypt é o configurado, igual em todas as instâncias (o tempo alvo só gera uma sugestão no log), e a criptografia
+     * roda em um pool dedicado e limitado (uma thread por núcleo, por padrão), fora das threads do Tomcat.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    public PasswordEncoderLimitado passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${autorizacao.senha.threads:0}") int threads,
+                                           @Value("${autorizacao.senha.capacidadeFila:64}") int capacidadeFila,
+                                           @Value("${autorizacao.senha.custo:10}") int custo,
+                                           @Value("${autorizacao.senha.tempoAlvoMs:100}") long tempoAlvoMs) {
+        int quantidadeThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new PasswordEncoderLimitado(CalibradorCustoSenha.criarEncoder(custo, tempoAlvoMs),
+                quantidadeThreads, capacidadeFila, meterRegistry);
     }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.ecommer.usuario.dtos;
+
+import com.ecommer.usuario.exceptios.CursorInvalidoException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+// Posição na listagem por cursor: a chave (dataCriacao, usuarioId) do último usuário da página.
+// Trafega como texto opaco em Base64 (URL-safe); o cliente apenas devolve o valor recebido.
+public record CursorUsuarioRecordDto(LocalDateTime dataCriacao, UUID usuarioId) {
+
+    public String codificar() {
+        String valor = dataCriacao + "|" + usuarioId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorUsuarioRecordDto decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf('|');
+            return new CursorUsuarioRecordDto(
+                    LocalDateTime.parse(valor.substring(0, separador)),
+                    UUID.fromString(valor.substring(separador + 1)));
+        } catch (RuntimeException e) {
+            throw new CursorInvalidoException("ERRO, CURSOR DE PAGINAÇÃO INVÁLIDO!");
+        }
+    }
+}
@@ -1,12 +1,20 @@
 package com.ecommer.usuario.dtos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record JwtRecordDto(@NotBlank String token,
-                           String type) {
+                           String type,
+                           String refreshToken) {
 
     // Construtor que inicia o type
     public JwtRecordDto(@NotBlank String token) {
-        this(token, "Bearer");
+        this(token, "Bearer", null);
+    }
+
+    // Construtor que inicia o type e informa o refresh token
+    public JwtRecordDto(@NotBlank String token, String refreshToken) {
+        this(token, "Bearer", refreshToken);
     }
 }
\ No newline at end of file
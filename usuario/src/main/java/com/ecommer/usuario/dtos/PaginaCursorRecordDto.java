@@ -0,0 +1,13 @@
+package com.ecommer.usuario.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// Página da listagem por cursor. Não há total de elementos nem de páginas (nenhuma contagem é executada);
+// 'proximoCursor' é nulo na última página.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PaginaCursorRecordDto<T>(List<T> content,
+                                       int size,
+                                       String proximoCursor) {
+}
@@ -0,0 +1,6 @@
+package com.ecommer.usuario.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRecordDto(@NotBlank String refreshToken) {
+}
@@ -0,0 +1,15 @@
+package com.ecommer.usuario.dtos;
+
+import com.ecommer.usuario.enums.StatusImportacao;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
+// Resultado de uma linha da importação em lote; uma linha NDJSON por linha do arquivo recebido
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ResultadoImportacaoRecordDto(long linha,
+                                           String nome,
+                                           StatusImportacao status,
+                                           String mensagem,
+                                           UUID usuarioId) {
+}
@@ -0,0 +1,7 @@
+package com.ecommer.usuario.dtos;
+
+// Totais da importação em lote, enviados na última linha da resposta
+public record ResumoImportacaoRecordDto(long total,
+                                        long criados,
+                                        long rejeitados) {
+}
@@ -0,0 +1,27 @@
+package com.ecommer.usuario.dtos;
+
+import com.ecommer.usuario.enums.StatusUsuario;
+import com.ecommer.usuario.enums.TipoPerfio;
+import com.ecommer.usuario.models.UsuarioModel;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Linha da exportação de usuários: os mesmos campos públicos da API, sem senha, e-mail ou roles
+public record UsuarioExportacaoRecordDto(UUID usuarioId,
+                                         String nome,
+                                         StatusUsuario statusUsuario,
+                                         TipoPerfio perfilUsuario,
+                                         LocalDateTime dataCriacao,
+                                         LocalDateTime dataAtualizacao) {
+
+    public static UsuarioExportacaoRecordDto de(UsuarioModel usuarioModel) {
+        return new UsuarioExportacaoRecordDto(
+                usuarioModel.getUsuarioId(),
+                usuarioModel.getNome(),
+                usuarioModel.getStatusUsuario(),
+                usuarioModel.getPerfilUsuario(),
+                usuarioModel.getDataCriacao(),
+                usuarioModel.getDataAtualizacao());
+    }
+}
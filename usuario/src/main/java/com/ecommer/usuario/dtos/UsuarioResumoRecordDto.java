@@ -0,0 +1,37 @@
+package com.ecommer.usuario.dtos;
+
+import com.ecommer.usuario.enums.StatusUsuario;
+import com.ecommer.usuario.enums.TipoPerfio;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Modelo de leitura das consultas de usuário (listagem e detalhe): projeção lida direto das colunas, sem entidade
+// gerenciada. O JSON é o mesmo que UsuarioModel (RepresentationModel) gerava: os mesmos campos públicos e a lista
+// 'links' no formato [{"rel":"self","href":...}], vazia quando não há link.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UsuarioResumoRecordDto(UUID usuarioId,
+                                     String nome,
+                                     StatusUsuario statusUsuario,
+                                     TipoPerfio perfilUsuario,
+                                     LocalDateTime dataCriacao,
+                                     LocalDateTime dataAtualizacao,
+                                     List<Link> links) {
+
+    // Construtor usado pelas consultas (select new / CriteriaBuilder.construct), sem links
+    public UsuarioResumoRecordDto(UUID usuarioId, String nome, StatusUsuario statusUsuario, TipoPerfio perfilUsuario,
+                                  LocalDateTime dataCriacao, LocalDateTime dataAtualizacao) {
+        this(usuarioId, nome, statusUsuario, perfilUsuario, dataCriacao, dataAtualizacao, List.of());
+    }
+
+    // Cópia com o link 'self'; 'baseHref' é o endereço da coleção terminado em '/', calculado uma vez por requisição
+    public UsuarioResumoRecordDto comLink(String baseHref) {
+        return new UsuarioResumoRecordDto(usuarioId, nome, statusUsuario, perfilUsuario, dataCriacao, dataAtualizacao,
+                List.of(new Link("self", baseHref + usuarioId)));
+    }
+
+    public record Link(String rel, String href) {
+    }
+}
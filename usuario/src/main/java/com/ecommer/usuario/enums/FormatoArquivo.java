@@ -0,0 +1,6 @@
+package com.ecommer.usuario.enums;
+
+public enum FormatoArquivo {
+    NDJSON,
+    CSV
+}
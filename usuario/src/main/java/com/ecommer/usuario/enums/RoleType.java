@@ -1,6 +1,13 @@
 package com.ecommer.usuario.enums;
 
+// A posição de cada constante define o seu bit em TB_USUARIO.roles_mascara: novas roles devem ser incluídas
+// sempre ao final, e nenhuma constante pode ser reordenada ou removida sem migrar a coluna.
 public enum RoleType {
     ROLE_USUARIO,
-    ROLE_ADMINISTRADOR
+    ROLE_ADMINISTRADOR;
+
+    // Bit da role na máscara de roles do usuário
+    public int bit() {
+        return 1 << ordinal();
+    }
 }
@@ -0,0 +1,8 @@
+package com.ecommer.usuario.enums;
+
+public enum StatusImportacao {
+    CRIADO,
+    INVALIDO,
+    DUPLICADO,
+    ERRO
+}
@@ -0,0 +1,17 @@
+package com.ecommer.usuario.exceptios;
+
+/**
+ * Exceção personalizada que representa uma consulta recusada pela guarda de consultas.
+ * É lançada quando o filtro ou a paginação pedidos não podem ser atendidos por um índice.
+ * Extende a classe RuntimeException para ser uma exceção não verificada.
+ */
+public class ConsultaNaoPermitidaException extends RuntimeException {
+    /**
+     * Construtor da exceção ConsultaNaoPermitidaException.
+     *
+     * @param message A mensagem de erro que será associada à exceção.
+     */
+    public ConsultaNaoPermitidaException(String message) {
+        super(message);
+    }
+}
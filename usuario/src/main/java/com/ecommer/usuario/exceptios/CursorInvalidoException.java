@@ -0,0 +1,17 @@
+package com.ecommer.usuario.exceptios;
+
+/**
+ * Exceção personalizada que representa um cursor de paginação inválido.
+ * É lançada quando o cursor recebido não foi gerado pela API ou foi alterado pelo cliente.
+ * Extende a classe RuntimeException para ser uma exceção não verificada.
+ */
+public class CursorInvalidoException extends RuntimeException {
+    /**
+     * Construtor da exceção CursorInvalidoException.
+     *
+     * @param message A mensagem de erro que será associada à exceção.
+     */
+    public CursorInvalidoException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,7 @@ package com.ecommer.usuario.exceptios;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -97,4 +98,111 @@ public class GlobalExceptionHandler {
         // Retorna a resposta com o status HTTP 400 (Bad Request) e a mensagem explicativa
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Erro: O corpo da requisição está ausente ou mal formatado.");
     }
+
+    /**
+     * Trata exceções do tipo ServicoSobrecarregadoException.
+     * Retorna uma resposta com o código de erro 503 (SERVICE_UNAVAILABLE) e o cabeçalho Retry-After,
+     * sem ocupar a thread da requisição com trabalho que não poderia ser atendido.
+     *
+     * @param exception A exceção capturada.
+     * @return ResponseEntity com o código de erro e a mensagem da exceção.
+     */
+    @ExceptionHandler(ServicoSobrecarregadoException.class)
+    public ResponseEntity<ErroRecordResponse> handleServicoSobrecarregadoException(ServicoSobrecarregadoException exception) {
+        var erroRecordResponse = new ErroRecordResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                exception.getMessage(),
+                null
+        );
+
+        // Registra o aviso no log
+        logger.warn("Serviço sobrecarregado: {}", exception.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getTentarNovamenteEmSegundos()))
+                .body(erroRecordResponse);
+    }
+
+    /**
+     * Trata exceções do tipo TokenInvalidoException.
+     * Retorna uma resposta com o código de erro 401 (UNAUTHORIZED) e a mensagem da exceção.
+     *
+     * @param exception A exceção capturada.
+     * @return ResponseEntity com o código de erro e a mensagem da exceção.
+     */
+    @ExceptionHandler(TokenInvalidoException.class)
+    public ResponseEntity<ErroRecordResponse> handleTokenInvalidoException(TokenInvalidoException exception) {
+        var erroRecordResponse = new ErroRecordResponse(
+                HttpStatus.UNAUTHORIZED.value(),
+                exception.getMessage(),
+                null
+        );
+
+        // Registra o aviso no log
+        logger.warn("Token inválido: {}", exception.getMessage());
+
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(erroRecordResponse);
+    }
+
+    /**
+     * Trata exceções do tipo LimiteTentativasException.
+     * Retorna uma resposta com o código de erro 429 (TOO_MANY_REQUESTS) e o cabeçalho Retry-After.
+     *
+     * @param exception A exceção capturada.
+     * @return ResponseEntity com o código de erro e a mensagem da exceção.
+     */
+    @ExceptionHandler(LimiteTentativasException.class)
+    public ResponseEntity<ErroRecordResponse> handleLimiteTentativasException(LimiteTentativasException exception) {
+        var erroRecordResponse = new ErroRecordResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                exception.getMessage(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getTentarNovamenteEmSegundos()))
+                .body(erroRecordResponse);
+    }
+
+    /**
+     * Trata exceções do tipo CursorInvalidoException.
+     * Retorna uma resposta com o código de erro 400 (BAD_REQUEST) e a mensagem da exceção.
+     *
+     * @param exception A exceção capturada.
+     * @return ResponseEntity com o código de erro e a mensagem da exceção.
+     */
+    @ExceptionHandler(CursorInvalidoException.class)
+    public ResponseEntity<ErroRecordResponse> handleCursorInvalidoException(CursorInvalidoException exception) {
+        var erroRecordResponse = new ErroRecordResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                exception.getMessage(),
+                null
+        );
+
+        // Registra o aviso no log
+        logger.warn("Cursor inválido: {}", exception.getMessage());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(erroRecordResponse);
+    }
+
+    /**
+     * Trata exceções do tipo ConsultaNaoPermitidaException.
+     * Retorna uma resposta com o código de erro 400 (BAD_REQUEST) e a mensagem da exceção.
+     *
+     * @param exception A exceção capturada.
+     * @return ResponseEntity com o código de erro e a mensagem da exceção.
+     */
+    @ExceptionHandler(ConsultaNaoPermitidaException.class)
+    public ResponseEntity<ErroRecordResponse> handleConsultaNaoPermitidaException(ConsultaNaoPermitidaException exception) {
+        var erroRecordResponse = new ErroRecordResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                exception.getMessage(),
+                null
+        );
+
+        // Registra o aviso no log
+        logger.warn("Consulta não permitida: {}", exception.getMessage());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(erroRecordResponse);
+    }
 }
\ No newline at end of file
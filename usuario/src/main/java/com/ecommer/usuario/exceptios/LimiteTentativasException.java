@@ -0,0 +1,27 @@
+package com.ecommer.usuario.exceptios;
+
+/**
+ * Exceção personalizada que representa o excesso de tentativas de login.
+ * É lançada pelo limitador de tentativas antes da autenticação, sem custo de criptografia ou de banco de dados.
+ * Extende a classe RuntimeException para ser uma exceção não verificada.
+ */
+public class LimiteTentativasException extends RuntimeException {
+
+    // Tempo sugerido ao cliente, em segundos, antes de tentar novamente
+    private final long tentarNovamenteEmSegundos;
+
+    /**
+     * Construtor da exceção LimiteTentativasException.
+     *
+     * @param message A mensagem de erro que será associada à exceção.
+     * @param tentarNovamenteEmSegundos Tempo sugerido antes de uma nova tentativa.
+     */
+    public LimiteTentativasException(String message, long tentarNovamenteEmSegundos) {
+        super(message);
+        this.tentarNovamenteEmSegundos = tentarNovamenteEmSegundos;
+    }
+
+    public long getTentarNovamenteEmSegundos() {
+        return tentarNovamenteEmSegundos;
+    }
+}
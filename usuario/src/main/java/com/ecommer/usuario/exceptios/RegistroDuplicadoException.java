@@ -0,0 +1,18 @@
+package com.ecommer.usuario.exceptios;
+
+/**
+ * Exceção personalizada que representa a tentativa de cadastrar um nome ou e-mail já existente.
+ * É lançada a partir da violação das restrições de unicidade do banco de dados, com a mensagem do campo duplicado.
+ * Extende a classe RuntimeException para ser uma exceção não verificada.
+ */
+public class RegistroDuplicadoException extends RuntimeException {
+    /**
+     * Construtor da exceção RegistroDuplicadoException.
+     *
+     * @param message A mensagem de erro que será associada à exceção.
+     * @param cause A violação de integridade que originou a exceção.
+     */
+    public RegistroDuplicadoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
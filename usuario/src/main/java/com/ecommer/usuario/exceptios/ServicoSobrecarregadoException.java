@@ -0,0 +1,28 @@
+package com.ecommer.usuario.exceptios;
+
+/**
+ * Exceção personalizada que representa a sobrecarga temporária do serviço.
+ * É lançada quando um recurso limitado (como o pool de criptografia de senhas) está com a fila cheia,
+ * para que a requisição seja recusada imediatamente em vez de ocupar uma thread do servidor.
+ * Extende a classe RuntimeException para ser uma exceção não verificada.
+ */
+public class ServicoSobrecarregadoException extends RuntimeException {
+
+    // Tempo sugerido ao cliente, em segundos, antes de tentar novamente
+    private final long tentarNovamenteEmSegundos;
+
+    /**
+     * Construtor da exceção ServicoSobrecarregadoException.
+     *
+     * @param message A mensagem de erro que será associada à exceção.
+     * @param tentarNovamenteEmSegundos Tempo sugerido antes de uma nova tentativa.
+     */
+    public ServicoSobrecarregadoException(String message, long tentarNovamenteEmSegundos) {
+        super(message);
+        this.tentarNovamenteEmSegundos = tentarNovamenteEmSegundos;
+    }
+
+    public long getTentarNovamenteEmSegundos() {
+        return tentarNovamenteEmSegundos;
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecommer.usuario.exceptios;
+
+/**
+ * Exceção personalizada que representa um token inválido, expirado ou revogado.
+ * Esta exceção é lançada, por exemplo, quando um refresh token não é reconhecido.
+ * Extende a classe RuntimeException para ser uma exceção não verificada.
+ */
+public class TokenInvalidoException extends RuntimeException {
+    /**
+     * Construtor da exceção TokenInvalidoException.
+     *
+     * @param message A mensagem de erro que será associada à exceção.
+     */
+    public TokenInvalidoException(String message) {
+        super(message);
+    }
+}
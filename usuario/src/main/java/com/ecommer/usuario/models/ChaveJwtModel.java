@@ -0,0 +1,106 @@
+package com.ecommer.usuario.models;
+
+import jakarta.persistence.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Classe que representa o modelo da entidade "ChaveJwt".
+ * Esta classe é mapeada para a tabela "TB_CHAVE_JWT" no banco de dados, criada pela migração do Flyway.
+ * Guarda as chaves de assinatura ES256/EdDSA compartilhadas por todas as instâncias: a chave pública em X.509
+ * e a chave privada em PKCS#8 cifrada, ambas em Base64.
+ */
+@Entity
+@Table(name = "TB_CHAVE_JWT", uniqueConstraints = {
+        @UniqueConstraint(name = ChaveJwtModel.UK_GERACAO, columnNames = "geracao")
+})
+public class ChaveJwtModel implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    // Nome da restrição de unicidade que impede duas chaves na mesma geração
+    public static final String UK_GERACAO = "uk_tb_chave_jwt_geracao";
+
+    // Identificador da chave, publicado no cabeçalho "kid" dos tokens e no JWKS
+    @Id
+    @Column(length = 36)
+    private String kid;
+
+    // Sequência das chaves; a maior é a mais nova
+    @Column(nullable = false, updatable = false)
+    private int geracao;
+
+    @Column(nullable = false, updatable = false, length = 10)
+    private String algoritmo;
+
+    @Column(nullable = false, updatable = false, length = 512)
+    private String chavePublica;
+
+    @Column(nullable = false, updatable = false, length = 512)
+    private String chavePrivada;
+
+    // Instante a partir do qual a chave assina os novos tokens
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime dataAtivacao;
+
+    // Instante a partir do qual nenhum token assinado com a chave pode mais ser aceito; nulo na chave mais nova
+    private LocalDateTime dataExpiracao;
+
+    public String getKid() {
+        return kid;
+    }
+
+    public void setKid(String kid) {
+        this.kid = kid;
+    }
+
+    public int getGeracao() {
+        return geracao;
+    }
+
+    public void setGeracao(int geracao) {
+        this.geracao = geracao;
+    }
+
+    public String getAlgoritmo() {
+        return algoritmo;
+    }
+
+    public void setAlgoritmo(String algoritmo) {
+        this.algoritmo = algoritmo;
+    }
+
+    public String getChavePublica() {
+        return chavePublica;
+    }
+
+    public void setChavePublica(String chavePublica) {
+        this.chavePublica = chavePublica;
+    }
+
+    public String getChavePrivada() {
+        return chavePrivada;
+    }
+
+    public void setChavePrivada(String chavePrivada) {
+        this.chavePrivada = chavePrivada;
+    }
+
+    public LocalDateTime getDataAtivacao() {
+        return dataAtivacao;
+    }
+
+    public void setDataAtivacao(LocalDateTime dataAtivacao) {
+        this.dataAtivacao = dataAtivacao;
+    }
+
+    public LocalDateTime getDataExpiracao() {
+        return dataExpiracao;
+    }
+
+    public void setDataExpiracao(LocalDateTime dataExpiracao) {
+        this.dataExpiracao = dataExpiracao;
+    }
+}
@@ -0,0 +1,78 @@
+package com.ecommer.usuario.models;
+
+import jakarta.persistence.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Classe que representa o modelo da entidade "RefreshToken".
+ * Esta classe é mapeada para a tabela "TB_REFRESH_TOKEN" no banco de dados, criada pela migração do Flyway.
+ * Apenas o resumo SHA-256 do token é armazenado; o token opaco em si só é conhecido pelo cliente.
+ */
+@Entity
+@Table(name = "TB_REFRESH_TOKEN")
+public class RefreshTokenModel implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID refreshTokenId;
+
+    // Resumo SHA-256 do token em hexadecimal (índice único na migração)
+    @Column(nullable = false, length = 64)
+    private String tokenHash;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "usuarioId", nullable = false)
+    private UsuarioModel usuario;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime dataCriacao;
+
+    @Column(nullable = false)
+    private LocalDateTime dataExpiracao;
+
+    public UUID getRefreshTokenId() {
+        return refreshTokenId;
+    }
+
+    public void setRefreshTokenId(UUID refreshTokenId) {
+        this.refreshTokenId = refreshTokenId;
+    }
+
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+
+    public UsuarioModel getUsuario() {
+        return usuario;
+    }
+
+    public void setUsuario(UsuarioModel usuario) {
+        this.usuario = usuario;
+    }
+
+    public LocalDateTime getDataCriacao() {
+        return dataCriacao;
+    }
+
+    public void setDataCriacao(LocalDateTime dataCriacao) {
+        this.dataCriacao = dataCriacao;
+    }
+
+    public LocalDateTime getDataExpiracao() {
+        return dataExpiracao;
+    }
+
+    public void setDataExpiracao(LocalDateTime dataExpiracao) {
+        this.dataExpiracao = dataExpiracao;
+    }
+}
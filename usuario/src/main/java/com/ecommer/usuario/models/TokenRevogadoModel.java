@@ -0,0 +1,79 @@
+package com.ecommer.usuario.models;
+
+import jakarta.persistence.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Classe que representa o modelo da entidade "TokenRevogado".
+ * Esta classe é mapeada para a tabela "TB_TOKEN_REVOGADO" no banco de dados, criada pela migração do Flyway.
+ * Com o jti preenchido, revoga um único token; com o jti nulo, revoga todos os tokens do usuário
+ * emitidos até a data de revogação. O registro deixa de ser necessário após a data de expiração.
+ */
+@Entity
+@Table(name = "TB_TOKEN_REVOGADO")
+public class TokenRevogadoModel implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID tokenRevogadoId;
+
+    // Identificador do token (reivindicação "jti"); nulo na revogação de todos os tokens do usuário
+    @Column(length = 36)
+    private String jti;
+
+    @Column(nullable = false)
+    private UUID usuarioId;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime dataRevogacao;
+
+    // Instante a partir do qual nenhum token afetado pode mais ser aceito
+    @Column(nullable = false)
+    private LocalDateTime dataExpiracao;
+
+    public UUID getTokenRevogadoId() {
+        return tokenRevogadoId;
+    }
+
+    public void setTokenRevogadoId(UUID tokenRevogadoId) {
+        this.tokenRevogadoId = tokenRevogadoId;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public void setJti(String jti) {
+        this.jti = jti;
+    }
+
+    public UUID getUsuarioId() {
+        return usuarioId;
+    }
+
+    public void setUsuarioId(UUID usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+
+    public LocalDateTime getDataRevogacao() {
+        return dataRevogacao;
+    }
+
+    public void setDataRevogacao(LocalDateTime dataRevogacao) {
+        this.dataRevogacao = dataRevogacao;
+    }
+
+    public LocalDateTime getDataExpiracao() {
+        return dataExpiracao;
+    }
+
+    public void setDataExpiracao(LocalDateTime dataExpiracao) {
+        this.dataExpiracao = dataExpiracao;
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.hateoas.RepresentationModel;
 import java.io.Serial;
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -24,24 +25,36 @@ import java.util.UUID;
  */
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @Entity
-@Table(name = "TB_USUARIO")
+@Table(name = "TB_USUARIO", uniqueConstraints = {
+        @UniqueConstraint(name = UsuarioModel.UK_NOME, columnNames = "nome"),
+        @UniqueConstraint(name = UsuarioModel.UK_EMAIL, columnNames = "email")
+}, indexes = {
+        // Listagem por cursor: ordenação e início da varredura por (dataCriacao, usuarioId)
+        @Index(name = "idx_tb_usuario_data_criacao_usuario_id", columnList = "data_criacao, usuario_id")
+})
 public class UsuarioModel extends RepresentationModel<UsuarioModel> implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
 
+    // Nomes das restrições de unicidade, usados para identificar o campo duplicado no cadastro
+    public static final String UK_NOME = "uk_tb_usuario_nome";
+    public static final String UK_EMAIL = "uk_tb_usuario_email";
+    // Índice único em lower(email), criado pela migração V7: e-mails iguais a menos de maiúsculas são duplicados
+    public static final String UK_EMAIL_MINUSCULO = "uk_tb_usuario_email_minusculo";
+
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO) //
     private UUID usuarioId;
 
-    @Column(nullable = false, unique = true, length = 150)
+    @Column(nullable = false, length = 150)
     private String nome;
 
     @JsonIgnore
-    @Column(nullable = false, unique = true, length = 255)
+    @Column(nullable = false, length = 255)
     private String senha;
 
     @JsonIgnore
-    @Column(nullable = false, unique = true, length = 255)
+    @Column(nullable = false, length = 255)
     private String email;
 
     @Column(nullable = false)
@@ -58,6 +71,12 @@ public class UsuarioModel extends RepresentationModel<UsuarioModel> implements S
     @Column(nullable = false)
     private LocalDateTime dataAtualizacao;
 
+    // Máscara das roles (RoleType.bit()), cópia desnormalizada de TB_USUARIO_ROLE lida pela autenticação.
+    // Mantida por adicionarRole/removerRole/setRoles; as roles só podem ser alteradas por esses métodos.
+    @JsonIgnore
+    @Column(nullable = false)
+    private int rolesMascara;
+
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY) // Acesso apenas escrita
     @ManyToMany(fetch = FetchType.LAZY) // Associação de muitos para muitos
     // Será gerado uma tabela auxiliar TB_USUARIO_ROLE que conterar o id de usuario e o id de role
@@ -130,11 +149,34 @@ public class UsuarioModel extends RepresentationModel<UsuarioModel> implements S
         this.dataAtualizacao = dataAtualizacao;
     }
 
+    // Somente leitura: uma alteração direta no conjunto deixaria a máscara de roles desatualizada
     public Set<RoleModel> getRoles() {
-        return roles;
+        return Collections.unmodifiableSet(roles);
     }
 
+    // Copia as roles para o conjunto da entidade (o conjunto recebido não fica associado a ela)
     public void setRoles(Set<RoleModel> roles) {
-        this.roles = roles;
+        Set<RoleModel> novas = new HashSet<>(roles); // O recebido pode ser a visão de getRoles()
+        this.roles.clear();
+        this.rolesMascara = 0;
+        for (RoleModel role : novas) {
+            adicionarRole(role);
+        }
+    }
+
+    // Adiciona a role ao usuário, mantendo a máscara de roles em sincronia com a associação
+    public void adicionarRole(RoleModel role) {
+        this.roles.add(role);
+        this.rolesMascara |= role.getRoleNome().bit();
+    }
+
+    // Remove a role do usuário (pelo tipo, já que RoleModel não define equals) e o seu bit da máscara de roles
+    public void removerRole(RoleModel role) {
+        this.roles.removeIf(atual -> atual.getRoleNome() == role.getRoleNome());
+        this.rolesMascara &= ~role.getRoleNome().bit();
+    }
+
+    public int getRolesMascara() {
+        return rolesMascara;
     }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.ecommer.usuario.repositorys;
+
+import com.ecommer.usuario.models.ChaveJwtModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ChaveJwtRepository extends JpaRepository<ChaveJwtModel, String> {
+
+    // Chaves do algoritmo ainda em uso (a publicar, assinando ou só verificando), da geração mais nova para a mais antiga
+    @Query("SELECT c FROM ChaveJwtModel c WHERE c.algoritmo = :algoritmo " +
+            "AND (c.dataExpiracao IS NULL OR c.dataExpiracao > :agora) ORDER BY c.geracao DESC")
+    List<ChaveJwtModel> findEmUso(@Param("algoritmo") String algoritmo, @Param("agora") LocalDateTime agora);
+
+    @Query("SELECT COALESCE(MAX(c.geracao), 0) FROM ChaveJwtModel c")
+    int findUltimaGeracao();
+
+    // Define a expiração das chaves anteriores à geração informada que ainda não a têm
+    @Transactional
+    @Modifying
+    @Query("UPDATE ChaveJwtModel c SET c.dataExpiracao = :dataExpiracao WHERE c.geracao < :geracao AND c.dataExpiracao IS NULL")
+    int aposentarAnteriores(@Param("geracao") int geracao, @Param("dataExpiracao") LocalDateTime dataExpiracao);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ChaveJwtModel c WHERE c.dataExpiracao < :agora")
+    int deleteExpiradas(@Param("agora") LocalDateTime agora);
+}
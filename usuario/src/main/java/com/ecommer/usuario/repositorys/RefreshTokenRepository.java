@@ -0,0 +1,37 @@
+package com.ecommer.usuario.repositorys;
+
+import com.ecommer.usuario.models.RefreshTokenModel;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshTokenModel, UUID> {
+
+    // Busca o refresh token pelo resumo (índice único), já carregando o usuário dono do token
+    @EntityGraph(attributePaths = "usuario", type = EntityGraph.EntityGraphType.FETCH)
+    Optional<RefreshTokenModel> findByTokenHash(String tokenHash);
+
+    // Remove o refresh token pelo resumo, sem carregá-lo (logout e rotação); retorna 0 se outra requisição já o removeu
+    @Modifying
+    @Query("DELETE FROM RefreshTokenModel r WHERE r.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+
+    // Remove todos os refresh tokens do usuário, sem carregá-los (revogação de todas as sessões)
+    @Modifying
+    @Query("DELETE FROM RefreshTokenModel r WHERE r.usuario.usuarioId = :usuarioId")
+    int deleteByUsuarioId(@Param("usuarioId") UUID usuarioId);
+
+    // Remove um lote de tokens expirados; cada lote roda na sua própria transação curta
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM tb_refresh_token WHERE refresh_token_id IN " +
+            "(SELECT refresh_token_id FROM tb_refresh_token WHERE data_expiracao < :agora LIMIT :lote)", nativeQuery = true)
+    int deleteExpirados(@Param("agora") LocalDateTime agora, @Param("lote") int lote);
+}
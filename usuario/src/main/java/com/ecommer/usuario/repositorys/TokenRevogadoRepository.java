@@ -0,0 +1,28 @@
+package com.ecommer.usuario.repositorys;
+
+import com.ecommer.usuario.models.TokenRevogadoModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface TokenRevogadoRepository extends JpaRepository<TokenRevogadoModel, UUID> {
+
+    // Carga inicial: todas as revogações ainda em vigor
+    List<TokenRevogadoModel> findByDataExpiracaoAfter(LocalDateTime agora);
+
+    // Leitura incremental: revogações registradas desde a última leitura e ainda em vigor
+    List<TokenRevogadoModel> findByDataRevogacaoGreaterThanEqualAndDataExpiracaoAfter(LocalDateTime desde, LocalDateTime agora);
+
+    // Remove um lote de revogações vencidas; cada lote roda na sua própria transação curta
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM tb_token_revogado WHERE token_revogado_id IN " +
+            "(SELECT token_revogado_id FROM tb_token_revogado WHERE data_expiracao < :agora LIMIT :lote)", nativeQuery = true)
+    int deleteExpirados(@Param("agora") LocalDateTime agora, @Param("lote") int lote);
+}
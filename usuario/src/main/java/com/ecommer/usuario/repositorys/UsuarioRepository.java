@@ -1,25 +1,37 @@
 package com.ecommer.usuario.repositorys;
 
+import com.ecommer.usuario.dtos.UsuarioResumoRecordDto;
 import com.ecommer.usuario.models.UsuarioModel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface UsuarioRepository extends JpaRepository<UsuarioModel, UUID> {
-    boolean existsByNome(String nome);
-
-    boolean existsBySenha(String senha);
-
-    // Método para buscar um usuário pelo nome, carregando as roles (funções/roles do usuário) de forma imediata (fetch)
-    @EntityGraph(attributePaths = "roles", type = EntityGraph.EntityGraphType.FETCH)
+public interface UsuarioRepository extends JpaRepository<UsuarioModel, UUID>, UsuarioRepositoryCustom {
+    // Método para buscar um usuário pelo nome. As roles da autenticação vêm da coluna roles_mascara,
+    // então a associação não é carregada (uma única linha, sem junção com TB_USUARIO_ROLE)
     Optional<UsuarioModel> findByNome(String nome);
 
     Page<UsuarioModel> findAll(Specification<UsuarioModel> spec, Pageable pageable);
 
-    boolean existsByEmail(String email);
+    // Detalhe do usuário como projeção de leitura, sem carregar a entidade no contexto de persistência
+    @Query("SELECT new com.ecommer.usuario.dtos.UsuarioResumoRecordDto(u.usuarioId, u.nome, u.statusUsuario, u.perfilUsuario, "
+            + "u.dataCriacao, u.dataAtualizacao) FROM UsuarioModel u WHERE u.usuarioId = :usuarioId")
+    Optional<UsuarioResumoRecordDto> findResumoById(@Param("usuarioId") UUID usuarioId);
+
+    // Nomes já cadastrados entre os informados (uma consulta por janela da importação em lote)
+    @Query("SELECT u.nome FROM UsuarioModel u WHERE u.nome IN :nomes")
+    List<String> findNomesExistentes(@Param("nomes") Collection<String> nomes);
+
+    // E-mails já cadastrados entre os informados, em minúsculas (uma consulta por janela da importação em lote).
+    // Recebe os e-mails já em minúsculas; a comparação lower(email) é atendida pelo índice uk_tb_usuario_email_minusculo
+    @Query("SELECT lower(u.email) FROM UsuarioModel u WHERE lower(u.email) IN :emails")
+    List<String> findEmailsExistentes(@Param("emails") Collection<String> emails);
 }
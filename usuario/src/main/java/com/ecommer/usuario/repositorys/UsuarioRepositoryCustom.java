@@ -0,0 +1,32 @@
+package com.ecommer.usuario.repositorys;
+
+import com.ecommer.usuario.dtos.UsuarioResumoRecordDto;
+import com.ecommer.usuario.models.UsuarioModel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+// Consultas do repositório de usuários que não podem ser expressas por métodos derivados do Spring Data
+public interface UsuarioRepositoryCustom {
+
+    // Percorre todos os usuários do filtro por um cursor no servidor, lendo 'tamanhoFetch' linhas por vez.
+    // Deve ser chamado dentro de uma transação, e o Stream deve ser fechado ao final.
+    Stream<UsuarioModel> streamAll(Specification<UsuarioModel> spec, int tamanhoFetch);
+
+    // Página de usuários do filtro como projeção de leitura (sem entidades gerenciadas).
+    // A contagem só é executada quando não pode ser deduzida do tamanho da página.
+    Page<UsuarioResumoRecordDto> findAllResumo(Specification<UsuarioModel> spec, Pageable pageable);
+
+    // Busca até 'limite' usuários do filtro posicionados após a chave (dataCriacao, usuarioId), em ordem crescente,
+    // como projeção de leitura. Com a chave nula, busca a partir do início. Não executa contagem.
+    List<UsuarioResumoRecordDto> findAllAposCursor(Specification<UsuarioModel> spec, LocalDateTime dataCriacao, UUID usuarioId, int limite);
+
+    // Busca até 'limite' usuários cujo nome contém o termo ou é semelhante a ele, do mais para o menos semelhante.
+    // Usa o índice de trigramas do nome (pg_trgm).
+    List<UsuarioResumoRecordDto> buscarPorNome(String termo, int limite);
+}
@@ -0,0 +1,198 @@
+package com.ecommer.usuario.repositorys;
+
+import com.ecommer.usuario.dtos.UsuarioResumoRecordDto;
+import com.ecommer.usuario.enums.StatusUsuario;
+import com.ecommer.usuario.enums.TipoPerfio;
+import com.ecommer.usuario.models.UsuarioModel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Implementação das consultas personalizadas de {@link UsuarioRepository}.
+ */
+public class UsuarioRepositoryCustomImpl implements UsuarioRepositoryCustom {
+
+    // Busca por nome atendida pelo índice idx_tb_usuario_nome_trgm (conferido no plano pelo teste do repositório)
+    static final String SQL_BUSCA_POR_NOME = """
+            SELECT u.usuario_id, u.nome, u.status_usuario, u.perfil_usuario, u.data_criacao, u.data_atualizacao
+            FROM tb_usuario u
+            WHERE u.nome ILIKE :padrao OR u.nome % :termo
+            ORDER BY similarity(u.nome, :termo) DESC, u.nome
+            LIMIT :limite
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Percorre os usuários do filtro sem materializar o resultado.
+     *
+     * <p>Com o fetch size definido e dentro de uma transação, o driver do PostgreSQL usa um cursor no servidor
+     * e traz apenas {@code tamanhoFetch} linhas por vez. As entidades são lidas como somente leitura (sem cópia
+     * para o dirty checking); quem consome o Stream deve desanexá-las após o uso.</p>
+     */
+    @Override
+    public Stream<UsuarioModel> streamAll(Specification<UsuarioModel> spec, int tamanhoFetch) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UsuarioModel> query = criteriaBuilder.createQuery(UsuarioModel.class);
+        Root<UsuarioModel> root = query.from(UsuarioModel.class);
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, tamanhoFetch)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    /**
+     * Listagem paginada como projeção: seleciona apenas as colunas públicas e monta os records direto do
+     * ResultSet. Nenhuma entidade entra no contexto de persistência, então não há cópia para o dirty checking
+     * nem lista de links por linha.
+     */
+    @Override
+    public Page<UsuarioResumoRecordDto> findAllResumo(Specification<UsuarioModel> spec, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UsuarioResumoRecordDto> query = criteriaBuilder.createQuery(UsuarioResumoRecordDto.class);
+        Root<UsuarioModel> root = query.from(UsuarioModel.class);
+        query.select(selecaoResumo(criteriaBuilder, root));
+        Predicate predicate = predicado(spec, root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+        }
+
+        var typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> contar(spec));
+    }
+
+    /**
+     * Paginação por chave (keyset): em vez de OFFSET, filtra a partir da chave do último usuário da página anterior.
+     *
+     * <p>A condição é escrita como {@code dataCriacao >= :d AND (dataCriacao > :d OR usuarioId > :id)}: a primeira
+     * parte define o início da varredura no índice {@code (data_criacao, usuario_id)} e a segunda descarta os poucos
+     * usuários com a mesma data já exibidos. Com a ordenação igual à do índice e o LIMIT, o custo de cada página é
+     * o mesmo na primeira ou na milésima.</p>
+     */
+    @Override
+    public List<UsuarioResumoRecordDto> findAllAposCursor(Specification<UsuarioModel> spec, LocalDateTime dataCriacao, UUID usuarioId, int limite) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UsuarioResumoRecordDto> query = criteriaBuilder.createQuery(UsuarioResumoRecordDto.class);
+        Root<UsuarioModel> root = query.from(UsuarioModel.class);
+        query.select(selecaoResumo(criteriaBuilder, root));
+
+        List<Predicate> predicates = new ArrayList<>(2);
+        Predicate predicate = predicado(spec, root, query, criteriaBuilder);
+        if (predicate != null) {
+            predicates.add(predicate);
+        }
+        if (dataCriacao != null && usuarioId != null) {
+            predicates.add(criteriaBuilder.and(
+                    criteriaBuilder.greaterThanOrEqualTo(root.get("dataCriacao"), dataCriacao),
+                    criteriaBuilder.or(
+                            criteriaBuilder.greaterThan(root.get("dataCriacao"), dataCriacao),
+                            criteriaBuilder.greaterThan(root.get("usuarioId"), usuarioId))));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(criteriaBuilder.asc(root.get("dataCriacao")), criteriaBuilder.asc(root.get("usuarioId")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+    /**
+     * Busca ranqueada por nome com o índice GIN de trigramas {@code idx_tb_usuario_nome_trgm}.
+     *
+     * <p>As duas condições do WHERE são atendidas pelo mesmo índice (BitmapOr): {@code ILIKE '%termo%'} encontra
+     * o trecho exato e o operador {@code %} encontra nomes semelhantes acima do limiar {@code pg_trgm.similarity_threshold}
+     * (0,3 por padrão), o que tolera erros de digitação. A ordenação por {@code similarity} e o LIMIT atuam apenas
+     * sobre os candidatos do índice, sem varrer a tabela. Os curingas do LIKE no termo são escapados.</p>
+     */
+    @Override
+    public List<UsuarioResumoRecordDto> buscarPorNome(String termo, int limite) {
+        String padrao = "%" + termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+
+        // NativeQuery tipada da sessão do Hibernate: os tipos das colunas são declarados e o resultado é List<Object[]>
+        List<Object[]> linhas = entityManager.unwrap(Session.class)
+                .createNativeQuery(SQL_BUSCA_POR_NOME, Object[].class)
+                .setParameter("padrao", padrao)
+                .setParameter("termo", termo)
+                .setParameter("limite", limite)
+                .addScalar("usuario_id", UUID.class)
+                .addScalar("nome", String.class)
+                .addScalar("status_usuario", String.class)
+                .addScalar("perfil_usuario", String.class)
+                .addScalar("data_criacao", LocalDateTime.class)
+                .addScalar("data_atualizacao", LocalDateTime.class)
+                .getResultList();
+
+        List<UsuarioResumoRecordDto> usuarios = new ArrayList<>(linhas.size());
+        for (Object[] linha : linhas) {
+            usuarios.add(new UsuarioResumoRecordDto(
+                    (UUID) linha[0],
+                    (String) linha[1],
+                    StatusUsuario.valueOf((String) linha[2]),
+                    TipoPerfio.valueOf((String) linha[3]),
+                    (LocalDateTime) linha[4],
+                    (LocalDateTime) linha[5]));
+        }
+        return usuarios;
+    }
+
+    // Colunas do modelo de leitura, na ordem do construtor de UsuarioResumoRecordDto
+    private static CompoundSelection<UsuarioResumoRecordDto> selecaoResumo(CriteriaBuilder criteriaBuilder, Root<UsuarioModel> root) {
+        return criteriaBuilder.construct(UsuarioResumoRecordDto.class,
+                root.get("usuarioId"),
+                root.get("nome"),
+                root.get("statusUsuario"),
+                root.get("perfilUsuario"),
+                root.get("dataCriacao"),
+                root.get("dataAtualizacao"));
+    }
+
+    private static Predicate predicado(Specification<UsuarioModel> spec, Root<UsuarioModel> root, CriteriaQuery<?> query,
+                                       CriteriaBuilder criteriaBuilder) {
+        return spec != null ? spec.toPredicate(root, query, criteriaBuilder) : null;
+    }
+
+    private long contar(Specification<UsuarioModel> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<UsuarioModel> root = query.from(UsuarioModel.class);
+        query.select(criteriaBuilder.count(root));
+        Predicate predicate = predicado(spec, root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
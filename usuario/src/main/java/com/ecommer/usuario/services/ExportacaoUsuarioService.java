@@ -0,0 +1,16 @@
+package com.ecommer.usuario.services;
+
+import com.ecommer.usuario.enums.FormatoArquivo;
+import com.ecommer.usuario.models.UsuarioModel;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportacaoUsuarioService {
+
+    // Método para exportar todos os usuários do filtro em NDJSON ou CSV, escrevendo diretamente em 'saida'.
+    // Os usuários são lidos por um cursor no servidor; a memória usada não depende da quantidade de usuários.
+    // Retorna a quantidade de usuários exportados.
+    long exportar(Specification<UsuarioModel> spec, FormatoArquivo formato, OutputStream saida) throws IOException;
+}
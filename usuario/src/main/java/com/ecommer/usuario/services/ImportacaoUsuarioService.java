@@ -0,0 +1,16 @@
+package com.ecommer.usuario.services;
+
+import com.ecommer.usuario.dtos.ResumoImportacaoRecordDto;
+import com.ecommer.usuario.enums.FormatoArquivo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface ImportacaoUsuarioService {
+
+    // Método para importar usuários em lote a partir de um arquivo NDJSON ou CSV (cabeçalho com nome, email e senha).
+    // Lê o arquivo em janelas de tamanho fixo e escreve em 'saida' uma linha NDJSON com o resultado de cada linha,
+    // seguida do resumo; a memória usada não depende do tamanho do arquivo.
+    ResumoImportacaoRecordDto importar(InputStream entrada, FormatoArquivo formato, OutputStream saida) throws IOException;
+}
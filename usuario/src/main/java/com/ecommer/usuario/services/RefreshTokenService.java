@@ -0,0 +1,22 @@
+package com.ecommer.usuario.services;
+
+import com.ecommer.usuario.models.UsuarioModel;
+
+import java.util.UUID;
+
+public interface RefreshTokenService {
+
+    // Método para criar um novo refresh token opaco para o usuário. Apenas o resumo do token é salvo no banco de dados.
+    // Retorna o token que deve ser entregue ao cliente.
+    String criarRefreshToken(UUID usuarioId);
+
+    // Método para consumir um refresh token: valida, remove (rotação) e retorna o usuário dono do token.
+    // Lança TokenInvalidoException se o token não existir, já tiver sido consumido, estiver expirado ou o usuário estiver inativo.
+    UsuarioModel consumirRefreshToken(String refreshToken);
+
+    // Método para revogar um refresh token no logout. Tokens desconhecidos são ignorados.
+    void revogarRefreshToken(String refreshToken);
+
+    // Método para revogar todos os refresh tokens do usuário (todas as sessões).
+    void revogarRefreshTokensUsuario(UUID usuarioId);
+}
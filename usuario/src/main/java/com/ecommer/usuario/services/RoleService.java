@@ -3,10 +3,17 @@ package com.ecommer.usuario.services;
 import com.ecommer.usuario.enums.RoleType;
 import com.ecommer.usuario.models.RoleModel;
 
+import java.util.Map;
+
 public interface RoleService {
 
     // Método para buscar um modelo de role (papel de usuário) com base no nome do papel (RoleType).
     // O parâmetro 'roleType' é utilizado para identificar o tipo de papel desejado (ex: ADMIN, USER, etc.).
     // Retorna o modelo de role correspondente ou uma exceção, caso não encontrado.
+    // As roles vêm de um registro em memória carregado na inicialização, sem consulta ao banco de dados.
     RoleModel findByRoleNome(RoleType roleType);
+
+    // Método para recarregar o registro de roles do banco de dados, por exemplo após a inclusão de uma role.
+    // Exposto aos administradores em POST /usuario/roles/recarga. Retorna o registro recarregado.
+    Map<RoleType, RoleModel> recarregar();
 }
\ No newline at end of file
@@ -1,11 +1,14 @@
 package com.ecommer.usuario.services;
 
+import com.ecommer.usuario.dtos.PaginaCursorRecordDto;
 import com.ecommer.usuario.dtos.UsuarioRecordDto;
+import com.ecommer.usuario.dtos.UsuarioResumoRecordDto;
 import com.ecommer.usuario.models.UsuarioModel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,12 +16,26 @@ public interface UsuarioService {
     // Método para buscar todos os usuários com suporte a filtros dinâmicos e paginação.
     // O parâmetro 'spec' permite construir consultas dinâmicas para buscar usuários de forma flexível.
     // O 'pageable' permite paginar os resultados, o que é útil quando o número de usuários é grande.
-    Page<UsuarioModel> findAll(Specification<UsuarioModel> spec, Pageable pageable);
+    // Retorna o modelo de leitura (projeção), não as entidades.
+    Page<UsuarioResumoRecordDto> findAllResumo(Specification<UsuarioModel> spec, Pageable pageable);
+
+    // Método para buscar usuários por cursor (keyset), ordenados por data de criação e ID.
+    // O 'cursor' é o valor opaco recebido na página anterior (nulo na primeira página). Não executa contagem,
+    // e o custo de cada página não depende da sua posição na listagem.
+    PaginaCursorRecordDto<UsuarioResumoRecordDto> findAllCursor(Specification<UsuarioModel> spec, String cursor, int size);
+
+    // Método para buscar usuários pelo nome: contém o termo ou é semelhante a ele (tolera erros de digitação),
+    // do mais para o menos semelhante, limitado a 'limite' resultados.
+    List<UsuarioResumoRecordDto> buscarPorNome(String termo, int limite);
 
     // Método para buscar um usuário pelo seu ID único (UUID). Retorna um Optional para evitar NullPointerExceptions
     // caso o usuário não seja encontrado.
     Optional<UsuarioModel> findById(UUID usuarioId);
 
+    // Método para buscar o modelo de leitura de um usuário pelo ID, para consulta (sem entidade gerenciada).
+    // Lança NotFoundException caso o usuário não seja encontrado.
+    UsuarioResumoRecordDto findResumoById(UUID usuarioId);
+
     // Método para deletar um usuário específico. Recebe o modelo do usuário a ser excluído e remove o registro do banco de dados.
     // Retorna o modelo de usuário deletado (pode ser útil para confirmação).
     UsuarioModel deleteUsuarioId(UsuarioModel usuarioModel);
@@ -35,17 +52,12 @@ public interface UsuarioService {
     // Recebe o modelo do usuário e um DTO com os novos dados do status.
     UsuarioModel updateStatusUsuario(UsuarioModel usuarioModel, UsuarioRecordDto usuarioRecordDto);
 
-    // Método para verificar se já existe um usuário com o mesmo nome.
-    // Retorna um booleano indicando se o nome já está cadastrado.
-    boolean existByNome(String nome);
+    // Método para revogar todas as sessões do usuário: os tokens JWT já emitidos e os refresh tokens.
+    // A revogação vale imediatamente nesta instância e, nas demais, a partir da próxima leitura da lista de revogação.
+    void revogarTokens(UsuarioModel usuarioModel);
 
     // Método para salvar um novo usuário. Recebe o DTO com os dados do usuário e o modelo do funcionário associado.
-    // Retorna o modelo do usuário salvo.
+    // Retorna o modelo do usuário salvo. A unicidade de nome e e-mail é garantida pelas restrições do banco de dados:
+    // lança RegistroDuplicadoException, com a mensagem do campo duplicado, em caso de violação.
     UsuarioModel saveUsuario(UsuarioRecordDto usuarioRecordDto);
-
-    // Método para verificar se já existe um usuário com a mesma senha (isso pode ser usado, por exemplo, para verificar se a senha já foi usada anteriormente).
-    // Retorna um booleano indicando se a senha já está cadastrada.
-    boolean existBySenha(String senha);
-
-    boolean existByEmail(String email);
 }
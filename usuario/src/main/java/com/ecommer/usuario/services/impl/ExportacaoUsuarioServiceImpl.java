@@ -0,0 +1,154 @@
+package com.ecommer.usuario.services.impl;
+
+import com.ecommer.usuario.configs.DateConfig;
+import com.ecommer.usuario.dtos.UsuarioExportacaoRecordDto;
+import com.ecommer.usuario.enums.FormatoArquivo;
+import com.ecommer.usuario.models.UsuarioModel;
+import com.ecommer.usuario.repositorys.UsuarioRepository;
+import com.ecommer.usuario.services.ExportacaoUsuarioService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exportação de usuários em NDJSON ou CSV.
+ *
+ * <p>Os usuários são lidos por um cursor no servidor ({@code exportacao.tamanhoFetch} linhas por vez), convertidos
+ * para o DTO de exportação, escritos na saída e desanexados do contexto de persistência. Nenhuma contagem nem
+ * paginação por OFFSET é executada, e a memória usada é a mesma para mil ou para milhões de usuários.</p>
+ */
+@Service
+public class ExportacaoUsuarioServiceImpl implements ExportacaoUsuarioService {
+
+    // Logger para registrar mensagens de log
+    Logger logger = LogManager.getLogger(ExportacaoUsuarioServiceImpl.class);
+
+    private static final String CABECALHO_CSV = "usuarioId,nome,statusUsuario,perfilUsuario,dataCriacao,dataAtualizacao\n";
+
+    // Mesmo formato de data usado na serialização JSON da API
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern(DateConfig.DATETIME_FORMAT);
+
+    final UsuarioRepository usuarioRepository;
+    final EntityManager entityManager;
+    final int tamanhoFetch;
+
+    // Escritor de JSON que não fecha a saída da resposta ao terminar
+    private final ObjectWriter escritorJson;
+
+    // Construtor para injeção de dependência de todos os componentes necessários
+    public ExportacaoUsuarioServiceImpl(UsuarioRepository usuarioRepository, EntityManager entityManager, ObjectMapper objectMapper,
+                                        @Value("${exportacao.tamanhoFetch:1000}") int tamanhoFetch) {
+        this.usuarioRepository = usuarioRepository;
+        this.entityManager = entityManager;
+        this.tamanhoFetch = tamanhoFetch;
+        this.escritorJson = objectMapper.writerFor(UsuarioExportacaoRecordDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+    }
+
+    /**
+     * Método para exportar os usuários do filtro.
+     * A transação somente leitura é necessária para que o driver use o cursor no servidor.
+     *
+     * @param spec Filtro de busca dinâmico.
+     * @param formato Formato da exportação.
+     * @param saida Saída da resposta.
+     * @return long Quantidade de usuários exportados.
+     * @throws IOException Em caso de falha na escrita.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public long exportar(Specification<UsuarioModel> spec, FormatoArquivo formato, OutputStream saida) throws IOException {
+        long quantidade = 0;
+        try (Stream<UsuarioModel> usuarios = usuarioRepository.streamAll(spec, tamanhoFetch)) {
+            Iterator<UsuarioModel> iterator = usuarios.iterator();
+            if (formato == FormatoArquivo.CSV) {
+                Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+                escritor.write(CABECALHO_CSV);
+                while (iterator.hasNext()) {
+                    escreverCsv(escritor, proximo(iterator));
+                    if (++quantidade % tamanhoFetch == 0) {
+                        escritor.flush();
+                    }
+                }
+                escritor.flush();
+            } else {
+                SequenceWriter escritor = escritorJson.writeValues(saida);
+                while (iterator.hasNext()) {
+                    escritor.write(proximo(iterator));
+                    if (++quantidade % tamanhoFetch == 0) {
+                        escritor.flush();
+                    }
+                }
+                escritor.close();  // Não fecha a saída (AUTO_CLOSE_TARGET desativado)
+                if (quantidade > 0) {
+                    saida.write('\n');  // O separador só é escrito entre os registros
+                }
+            }
+        }
+        logger.info("Exportação de usuários concluída: {} usuários", quantidade);
+        return quantidade;
+    }
+
+    // Converte o próximo usuário e o remove do contexto de persistência, mantendo o contexto vazio
+    private UsuarioExportacaoRecordDto proximo(Iterator<UsuarioModel> iterator) {
+        UsuarioModel usuarioModel = iterator.next();
+        UsuarioExportacaoRecordDto dto = UsuarioExportacaoRecordDto.de(usuarioModel);
+        entityManager.detach(usuarioModel);
+        return dto;
+    }
+
+    private static void escreverCsv(Writer escritor, UsuarioExportacaoRecordDto dto) throws IOException {
+        escritor.write(String.valueOf(dto.usuarioId()));
+        escritor.write(',');
+        escreverCampoCsv(escritor, dto.nome());
+        escritor.write(',');
+        escritor.write(String.valueOf(dto.statusUsuario()));
+        escritor.write(',');
+        escritor.write(String.valueOf(dto.perfilUsuario()));
+        escritor.write(',');
+        escreverData(escritor, dto.dataCriacao());
+        escritor.write(',');
+        escreverData(escritor, dto.dataAtualizacao());
+        escritor.write('\n');
+    }
+
+    // Campos com vírgula, aspas ou quebra de linha vão entre aspas, com as aspas duplicadas (RFC 4180)
+    private static void escreverCampoCsv(Writer escritor, String valor) throws IOException {
+        if (valor == null) {
+            return;
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            escritor.write(valor);
+            return;
+        }
+        escritor.write('"');
+        escritor.write(valor.replace("\"", "\"\""));
+        escritor.write('"');
+    }
+
+    private static void escreverData(Writer escritor, LocalDateTime data) throws IOException {
+        if (data != null) {
+            FORMATO_DATA.formatTo(data, escritor);
+        }
+    }
+}
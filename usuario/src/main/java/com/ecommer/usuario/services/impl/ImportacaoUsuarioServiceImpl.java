@@ -0,0 +1,344 @@
+package com.ecommer.usuario.services.impl;
+
+import com.ecommer.usuario.configs.security.PasswordEncoderLimitado;
+import com.ecommer.usuario.dtos.ResultadoImportacaoRecordDto;
+import com.ecommer.usuario.dtos.ResumoImportacaoRecordDto;
+import com.ecommer.usuario.dtos.UsuarioRecordDto;
+import com.ecommer.usuario.enums.FormatoArquivo;
+import com.ecommer.usuario.enums.RoleType;
+import com.ecommer.usuario.enums.StatusImportacao;
+import com.ecommer.usuario.enums.StatusUsuario;
+import com.ecommer.usuario.enums.TipoPerfio;
+import com.ecommer.usuario.models.RoleModel;
+import com.ecommer.usuario.models.UsuarioModel;
+import com.ecommer.usuario.repositorys.UsuarioRepository;
+import com.ecommer.usuario.services.ImportacaoUsuarioService;
+import com.ecommer.usuario.services.RoleService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Importação de usuários em lote.
+ *
+ * <p>O arquivo é lido linha a linha e processado em janelas de {@code importacao.tamanhoLote} linhas. Em cada janela:
+ * as linhas são validadas com os mesmos grupos do cadastro ({@code RegistroUsuarioPost}, inclusive a política de senha),
+ * os nomes e e-mails já existentes são descobertos em duas consultas, as senhas são criptografadas em paralelo no pool
+ * de criptografia e os usuários são gravados em uma única transação com inserções em lote do JDBC
+ * ({@code hibernate.jdbc.batch_size}). O resultado de cada linha é escrito na saída ao fim da janela, de modo que
+ * a memória usada não depende do tamanho do arquivo.</p>
+ */
+@Service
+public class ImportacaoUsuarioServiceImpl implements ImportacaoUsuarioService {
+
+    // Logger para registrar mensagens de log
+    Logger logger = LogManager.getLogger(ImportacaoUsuarioServiceImpl.class);
+
+    private static final byte[] QUEBRA_LINHA = {'\n'};
+
+    final UsuarioRepository usuarioRepository;
+    final RoleService roleService;
+    final PasswordEncoderLimitado passwordEncoder;
+    final Validator validator;
+    final ObjectMapper objectMapper;
+    final TransactionTemplate transactionTemplate;
+    final int tamanhoLote;
+
+    // Leitor de JSON com a mesma visão do endpoint de cadastro: apenas nome, e-mail e senha
+    private final ObjectReader leitorRegistro;
+
+    // Construtor para injeção de dependência de todos os componentes necessários
+    public ImportacaoUsuarioServiceImpl(UsuarioRepository usuarioRepository, RoleService roleService, PasswordEncoderLimitado passwordEncoder,
+                                        Validator validator, ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                                        @Value("${importacao.tamanhoLote:500}") int tamanhoLote) {
+        this.usuarioRepository = usuarioRepository;
+        this.roleService = roleService;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanhoLote = tamanhoLote;
+        this.leitorRegistro = objectMapper.readerWithView(UsuarioRecordDto.UsuarioView.RegistroUsuarioPost.class)
+                .forType(UsuarioRecordDto.class);
+    }
+
+    /**
+     * Método para importar usuários em lote.
+     *
+     * @param entrada Conteúdo do arquivo (NDJSON, ou CSV com cabeçalho contendo nome, email e senha).
+     * @param formato Formato do arquivo.
+     * @param saida Saída onde é escrita uma linha NDJSON por linha importada, seguida do resumo.
+     * @return ResumoImportacaoRecordDto Totais da importação.
+     * @throws IOException Em caso de falha na leitura ou na escrita.
+     */
+    @Override
+    public ResumoImportacaoRecordDto importar(InputStream entrada, FormatoArquivo formato, OutputStream saida) throws IOException {
+        BufferedReader leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        RoleModel roleUsuario = roleService.findByRoleNome(RoleType.ROLE_USUARIO);  // Do registro de roles, sem consulta
+        Contadores contadores = new Contadores();
+
+        int[] colunas = null;  // Posições de nome, email e senha no CSV
+        List<Linha> lote = new ArrayList<>(tamanhoLote);
+        long numero = 0;
+        String conteudo;
+        while ((conteudo = leitor.readLine()) != null) {
+            numero++;
+            if (conteudo.isBlank()) {
+                continue;
+            }
+            if (formato == FormatoArquivo.CSV && colunas == null) {
+                colunas = lerCabecalho(conteudo);
+                if (colunas == null) {
+                    escrever(saida, new ResultadoImportacaoRecordDto(numero, null, StatusImportacao.INVALIDO,
+                            "O cabeçalho do CSV deve conter as colunas nome, email e senha", null));
+                    break;
+                }
+                continue;
+            }
+
+            lote.add(formato == FormatoArquivo.CSV ? lerCsv(numero, conteudo, colunas) : lerNdjson(numero, conteudo));
+            if (lote.size() == tamanhoLote) {
+                processarLote(lote, roleUsuario, saida, contadores);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            processarLote(lote, roleUsuario, saida, contadores);
+        }
+
+        var resumo = new ResumoImportacaoRecordDto(contadores.total, contadores.criados, contadores.total - contadores.criados);
+        escrever(saida, resumo);
+        logger.info("Importação de usuários concluída: {}", resumo);
+        return resumo;
+    }
+
+    // Valida, verifica duplicidades, criptografa em paralelo e grava uma janela de linhas
+    private void processarLote(List<Linha> lote, RoleModel roleUsuario, OutputStream saida, Contadores contadores) throws IOException {
+        // Validação com os mesmos grupos do cadastro e duplicidades dentro da própria janela
+        Set<String> nomes = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (Linha linha : lote) {
+            if (linha.status != null) {
+                continue;
+            }
+            Set<ConstraintViolation<UsuarioRecordDto>> violacoes =
+                    validator.validate(linha.dto, UsuarioRecordDto.UsuarioView.RegistroUsuarioPost.class);
+            if (!violacoes.isEmpty()) {
+                linha.rejeitar(StatusImportacao.INVALIDO, violacoes.stream()
+                        .map(violacao -> violacao.getPropertyPath() + ": " + violacao.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+            } else if (!nomes.add(linha.dto.nome())) {
+                linha.rejeitar(StatusImportacao.DUPLICADO, "ERRO, USUARIO JÁ EXISTENTE!");
+            } else if (!emails.add(emailMinusculo(linha.dto.email()))) {
+                linha.rejeitar(StatusImportacao.DUPLICADO, "ERRO, ESTE E-MAIL JÁ ESTÁ EM USO!");
+            }
+        }
+
+        // Duplicidades com os usuários já cadastrados: duas consultas por janela
+        Set<String> nomesExistentes = nomes.isEmpty() ? Set.of() : new HashSet<>(usuarioRepository.findNomesExistentes(nomes));
+        Set<String> emailsExistentes = emails.isEmpty() ? Set.of() : new HashSet<>(usuarioRepository.findEmailsExistentes(emails));
+        List<Linha> aceitas = new ArrayList<>(lote.size());
+        for (Linha linha : lote) {
+            if (linha.status != null) {
+                continue;
+            }
+            if (nomesExistentes.contains(linha.dto.nome())) {
+                linha.rejeitar(StatusImportacao.DUPLICADO, "ERRO, USUARIO JÁ EXISTENTE!");
+            } else if (emailsExistentes.contains(emailMinusculo(linha.dto.email()))) {
+                linha.rejeitar(StatusImportacao.DUPLICADO, "ERRO, ESTE E-MAIL JÁ ESTÁ EM USO!");
+            } else {
+                aceitas.add(linha);
+            }
+        }
+
+        if (!aceitas.isEmpty()) {
+            // Criptografia em paralelo, usando todas as threads do pool de senhas
+            List<String> hashes = passwordEncoder.encodeTodos(aceitas.stream().map(linha -> linha.dto.senha()).toList());
+            LocalDateTime agora = LocalDateTime.now(ZoneId.of("America/Recife"));
+            for (int i = 0; i < aceitas.size(); i++) {
+                aceitas.get(i).usuario = novoUsuario(aceitas.get(i).dto, hashes.get(i), roleUsuario, agora);
+            }
+            gravar(aceitas);
+        }
+
+        for (Linha linha : lote) {
+            contadores.total++;
+            if (linha.status == StatusImportacao.CRIADO) {
+                contadores.criados++;
+            }
+            escrever(saida, new ResultadoImportacaoRecordDto(linha.numero, linha.dto != null ? linha.dto.nome() : null,
+                    linha.status, linha.mensagem, linha.usuario != null ? linha.usuario.getUsuarioId() : null));
+        }
+        saida.flush();  // O cliente acompanha o progresso a cada janela
+    }
+
+    // Grava a janela em uma transação com inserções em lote; se alguém cadastrar o mesmo nome ou e-mail
+    // nesse intervalo, a janela é desfeita e as linhas são gravadas uma a uma para isolar a duplicidade
+    private void gravar(List<Linha> aceitas) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                usuarioRepository.saveAll(aceitas.stream().map(linha -> linha.usuario).toList());
+                usuarioRepository.flush();
+            });
+            aceitas.forEach(linha -> linha.status = StatusImportacao.CRIADO);
+            return;
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Janela da importação desfeita por violação de unicidade; gravando linha a linha");
+        }
+
+        for (Linha linha : aceitas) {
+            linha.usuario.setUsuarioId(null);  // O ID gerado na tentativa desfeita não foi gravado
+            try {
+                transactionTemplate.executeWithoutResult(status -> usuarioRepository.saveAndFlush(linha.usuario));
+                linha.status = StatusImportacao.CRIADO;
+            } catch (DataIntegrityViolationException e) {
+                linha.usuario = null;
+                try {
+                    linha.rejeitar(StatusImportacao.DUPLICADO, UsuarioServiceImpl.mensagemDuplicidade(e));
+                } catch (DataIntegrityViolationException outra) {
+                    linha.rejeitar(StatusImportacao.ERRO, "ERRO AO GRAVAR O USUÁRIO");
+                }
+            }
+        }
+    }
+
+    // E-mails iguais a menos de maiúsculas são duplicados, como no índice único em lower(email)
+    private static String emailMinusculo(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private static UsuarioModel novoUsuario(UsuarioRecordDto dto, String hashSenha, RoleModel roleUsuario, LocalDateTime agora) {
+        var usuarioModel = new UsuarioModel();
+        usuarioModel.setNome(dto.nome());
+        usuarioModel.setEmail(dto.email());
+        usuarioModel.setSenha(hashSenha);
+        usuarioModel.setPerfilUsuario(TipoPerfio.USUARIO);  // Define o tipo de usuário
+        usuarioModel.setStatusUsuario(StatusUsuario.ATIVO);  // Define o status do usuário como ativo
+        usuarioModel.setDataCriacao(agora);
+        usuarioModel.setDataAtualizacao(agora);
+        usuarioModel.adicionarRole(roleUsuario);
+        return usuarioModel;
+    }
+
+    private Linha lerNdjson(long numero, String conteudo) {
+        try {
+            UsuarioRecordDto dto = leitorRegistro.readValue(conteudo);
+            return dto != null ? new Linha(numero, dto) : Linha.invalida(numero, "JSON inválido: linha sem objeto");
+        } catch (JsonProcessingException e) {
+            return Linha.invalida(numero, "JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    private static Linha lerCsv(long numero, String conteudo, int[] colunas) {
+        List<String> campos = camposCsv(conteudo);
+        String nome = campo(campos, colunas[0]);
+        String email = campo(campos, colunas[1]);
+        String senha = campo(campos, colunas[2]);
+        return new Linha(numero, new UsuarioRecordDto(email, nome, senha, null, null, null));
+    }
+
+    // Posições das colunas nome, email e senha, ou null se alguma estiver ausente
+    static int[] lerCabecalho(String conteudo) {
+        List<String> cabecalho = camposCsv(conteudo).stream().map(campo -> campo.trim().toLowerCase(Locale.ROOT)).toList();
+        int[] colunas = {cabecalho.indexOf("nome"), cabecalho.indexOf("email"), cabecalho.indexOf("senha")};
+        for (int coluna : colunas) {
+            if (coluna < 0) {
+                return null;
+            }
+        }
+        return colunas;
+    }
+
+    private static String campo(List<String> campos, int coluna) {
+        return coluna < campos.size() ? campos.get(coluna) : null;
+    }
+
+    // Separa uma linha CSV (RFC 4180): campos entre aspas podem conter vírgulas, e "" representa uma aspa
+    static List<String> camposCsv(String conteudo) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < conteudo.length(); i++) {
+            char c = conteudo.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < conteudo.length() && conteudo.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    private void escrever(OutputStream saida, Object valor) throws IOException {
+        saida.write(objectMapper.writeValueAsBytes(valor));
+        saida.write(QUEBRA_LINHA);
+    }
+
+    // Estado de uma linha do arquivo durante o processamento da janela
+    private static final class Linha {
+        final long numero;
+        final UsuarioRecordDto dto;
+        StatusImportacao status;
+        String mensagem;
+        UsuarioModel usuario;
+
+        Linha(long numero, UsuarioRecordDto dto) {
+            this.numero = numero;
+            this.dto = dto;
+        }
+
+        static Linha invalida(long numero, String mensagem) {
+            Linha linha = new Linha(numero, null);
+            linha.rejeitar(StatusImportacao.INVALIDO, mensagem);
+            return linha;
+        }
+
+        void rejeitar(StatusImportacao status, String mensagem) {
+            this.status = status;
+            this.mensagem = mensagem;
+        }
+    }
+
+    private static final class Contadores {
+        long total;
+        long criados;
+    }
+}
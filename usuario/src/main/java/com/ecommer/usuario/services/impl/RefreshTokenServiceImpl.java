@@ -0,0 +1,164 @@
+package com.ecommer.usuario.services.impl;
+
+import com.ecommer.usuario.enums.StatusUsuario;
+import com.ecommer.usuario.exceptios.TokenInvalidoException;
+import com.ecommer.usuario.models.RefreshTokenModel;
+import com.ecommer.usuario.models.UsuarioModel;
+import com.ecommer.usuario.repositorys.RefreshTokenRepository;
+import com.ecommer.usuario.repositorys.UsuarioRepository;
+import com.ecommer.usuario.services.RefreshTokenService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    // Logger para registrar mensagens de log
+    Logger logger = LogManager.getLogger(RefreshTokenServiceImpl.class);
+
+    // Quantidade de bytes aleatórios do token opaco (256 bits)
+    private static final int TAMANHO_TOKEN_BYTES = 32;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    final RefreshTokenRepository refreshTokenRepository;
+    final UsuarioRepository usuarioRepository;
+    final long refreshExpirationMs;
+    final int expurgoLote;
+
+    // Construtor para injeção de dependência de todos os componentes necessários
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository, UsuarioRepository usuarioRepository,
+                                   @Value("${autorizacao.refreshExpirationMs}") long refreshExpirationMs,
+                                   @Value("${autorizacao.refreshExpurgoLote:1000}") int expurgoLote) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.refreshExpirationMs = refreshExpirationMs;
+        this.expurgoLote = expurgoLote;
+    }
+
+    /**
+     * Método para criar um novo refresh token para o usuário.
+     *
+     * @param usuarioId ID do usuário autenticado.
+     * @return String Token opaco a ser entregue ao cliente.
+     */
+    @Transactional
+    @Override
+    public String criarRefreshToken(UUID usuarioId) {
+        byte[] bytes = new byte[TAMANHO_TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime agora = LocalDateTime.now(ZoneId.of("America/Recife"));
+        var refreshTokenModel = new RefreshTokenModel();
+        refreshTokenModel.setTokenHash(resumo(refreshToken));  // Apenas o resumo é armazenado
+        refreshTokenModel.setUsuario(usuarioRepository.getReferenceById(usuarioId));  // Referência, sem consultar o usuário
+        refreshTokenModel.setDataCriacao(agora);
+        refreshTokenModel.setDataExpiracao(agora.plusNanos(refreshExpirationMs * 1_000_000));
+
+        refreshTokenRepository.save(refreshTokenModel);
+        return refreshToken;
+    }
+
+    /**
+     * Método para consumir um refresh token. O token é removido (rotação), de modo que cada refresh token
+     * só pode ser usado uma vez, mesmo em requisições simultâneas.
+     *
+     * @param refreshToken Token opaco recebido do cliente.
+     * @return UsuarioModel Retorna o usuário dono do token.
+     * @throws TokenInvalidoException Caso o token não exista, já tenha sido consumido, esteja expirado ou o usuário esteja inativo.
+     */
+    @Transactional(noRollbackFor = TokenInvalidoException.class)  // O token rejeitado também é removido
+    @Override
+    public UsuarioModel consumirRefreshToken(String refreshToken) {
+        Optional<RefreshTokenModel> refreshTokenOptional = refreshTokenRepository.findByTokenHash(resumo(refreshToken));
+        if (refreshTokenOptional.isEmpty()) {
+            logger.warn("Refresh token não encontrado");
+            throw new TokenInvalidoException("ERRO, REFRESH TOKEN INVÁLIDO!");
+        }
+
+        RefreshTokenModel refreshTokenModel = refreshTokenOptional.get();
+        // Rotação: o token não pode ser reutilizado. A remoção pelo resumo é atômica no banco; em requisições
+        // simultâneas com o mesmo token, apenas uma remove a linha e as demais recebem 0 linhas afetadas.
+        if (refreshTokenRepository.deleteByTokenHash(refreshTokenModel.getTokenHash()) == 0) {
+            logger.warn("Refresh token já consumido por outra requisição");
+            throw new TokenInvalidoException("ERRO, REFRESH TOKEN INVÁLIDO!");
+        }
+
+        if (refreshTokenModel.getDataExpiracao().isBefore(LocalDateTime.now(ZoneId.of("America/Recife")))) {
+            throw new TokenInvalidoException("ERRO, REFRESH TOKEN EXPIRADO!");
+        }
+        UsuarioModel usuarioModel = refreshTokenModel.getUsuario();
+        if (usuarioModel.getStatusUsuario() != StatusUsuario.ATIVO) {
+            throw new TokenInvalidoException("ERRO, USUÁRIO INATIVO!");
+        }
+        return usuarioModel;
+    }
+
+    /**
+     * Método para revogar um refresh token no logout. Tokens desconhecidos são ignorados.
+     *
+     * @param refreshToken Token opaco recebido do cliente.
+     */
+    @Transactional
+    @Override
+    public void revogarRefreshToken(String refreshToken) {
+        refreshTokenRepository.deleteByTokenHash(resumo(refreshToken));
+    }
+
+    /**
+     * Método para revogar todos os refresh tokens do usuário.
+     *
+     * @param usuarioId ID do usuário.
+     */
+    @Transactional
+    @Override
+    public void revogarRefreshTokensUsuario(UUID usuarioId) {
+        int removidos = refreshTokenRepository.deleteByUsuarioId(usuarioId);
+        logger.debug("Refresh tokens revogados do usuário {}: {}", usuarioId, removidos);
+    }
+
+    /**
+     * Remove periodicamente os refresh tokens expirados, em lotes, para não manter
+     * transações longas nem bloquear a tabela.
+     */
+    @Scheduled(fixedDelayString = "${autorizacao.refreshExpurgoMs:3600000}")
+    public void expurgarExpirados() {
+        LocalDateTime agora = LocalDateTime.now(ZoneId.of("America/Recife"));
+        long total = 0;
+        int removidos;
+        do {
+            removidos = refreshTokenRepository.deleteExpirados(agora, expurgoLote);
+            total += removidos;
+        } while (removidos == expurgoLote);
+
+        if (total > 0) {
+            logger.info("Refresh tokens expirados removidos: {}", total);
+        }
+    }
+
+    // Resumo SHA-256 do token em hexadecimal
+    private static String resumo(String refreshToken) {
+        try {
+            byte[] resumo = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(resumo);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível na JVM", e);
+        }
+    }
+}
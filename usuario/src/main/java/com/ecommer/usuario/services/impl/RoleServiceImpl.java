@@ -4,21 +4,57 @@ import com.ecommer.usuario.enums.RoleType;
 import com.ecommer.usuario.models.RoleModel;
 import com.ecommer.usuario.repositorys.RoleRepository;
 import com.ecommer.usuario.services.RoleService;
+import jakarta.annotation.PostConstruct;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
 @Service
 public class RoleServiceImpl implements RoleService {
 
+    private static final Logger logger = LogManager.getLogger(RoleServiceImpl.class);
+
     // Repositório responsável por manipular os dados das roles (funções/permissões)
     final RoleRepository roleRepository;
 
+    // Intervalo mínimo entre duas recargas disparadas por uma role ausente do registro
+    final long intervaloRecargaMs;
+
+    // Registro das roles por tipo. As roles são fixas (RoleType) e inseridas pelo Flyway, então são lidas uma vez
+    // e usadas como referência nas associações de TB_USUARIO_ROLE, sem consulta a cada cadastro.
+    // O mapa é substituído por inteiro a cada recarga, nunca alterado.
+    private volatile Map<RoleType, RoleModel> roles = Collections.emptyMap();
+
+    // Uma recarga por vez: quem chega durante uma recarga espera por ela e usa o resultado, sem nova consulta.
+    // ReentrantLock em vez de synchronized para não fixar a thread virtual na consulta ao banco.
+    private final ReentrantLock recarga = new ReentrantLock();
+    private volatile long geracao;
+    private volatile long proximaRecargaMs;
+
     // Construtor para injeção de dependência do repositório
-    public RoleServiceImpl(RoleRepository roleRepository) {
+    public RoleServiceImpl(RoleRepository roleRepository,
+                           @Value("${autorizacao.roles.intervaloRecargaMs:60000}") long intervaloRecargaMs) {
         this.roleRepository = roleRepository;
+        this.intervaloRecargaMs = intervaloRecargaMs;
+    }
+
+    // Carrega o registro na inicialização, depois das migrações do Flyway
+    @PostConstruct
+    public void carregar() {
+        recarregar();
     }
 
     /**
      * Método para encontrar uma role pelo nome da role.
+     * Usa o registro em memória. Se a role não estiver nele (inserida depois da carga), o registro é recarregado,
+     * no máximo uma vez a cada {@code autorizacao.roles.intervaloRecargaMs}; entre as recargas a falta é respondida
+     * sem consulta. Para publicar uma role nova imediatamente, use a recarga administrativa.
      *
      * @param roleType Tipo de role que estamos procurando, representado pelo enum RoleType.
      * @return RoleModel Retorna o modelo de role encontrado.
@@ -26,9 +62,47 @@ public class RoleServiceImpl implements RoleService {
      */
     @Override
     public RoleModel findByRoleNome(RoleType roleType) {
-        // Tenta encontrar a role no banco de dados através do nome (RoleType)
-        return roleRepository.findByRoleNome(roleType)
-                // Se não encontrar, lança uma exceção personalizada com a mensagem de erro
-                .orElseThrow(() -> new RuntimeException("ERROR: ROLE NÃO EXISTENTE."));
+        RoleModel roleModel = roles.get(roleType);
+        if (roleModel == null && System.currentTimeMillis() >= proximaRecargaMs) {
+            roleModel = recarregar(geracao, true).get(roleType);
+        }
+        if (roleModel == null) {
+            // Se não encontrar, lança uma exceção personalizada com a mensagem de erro
+            throw new RuntimeException("ERROR: ROLE NÃO EXISTENTE.");
+        }
+        return roleModel;
+    }
+
+    /**
+     * Método para recarregar o registro de roles a partir do banco de dados.
+     * Chamadas simultâneas compartilham a mesma consulta.
+     *
+     * @return Map<RoleType, RoleModel> Retorna o registro recarregado.
+     */
+    @Override
+    public Map<RoleType, RoleModel> recarregar() {
+        return recarregar(geracao, false);
+    }
+
+    // Consulta o banco, a menos que outra recarga tenha terminado desde a geração lida pelo chamador
+    // ou, na recarga por falta, que o intervalo mínimo ainda não tenha passado
+    private Map<RoleType, RoleModel> recarregar(long geracaoLida, boolean porFalta) {
+        recarga.lock();
+        try {
+            if (geracao != geracaoLida || (porFalta && System.currentTimeMillis() < proximaRecargaMs)) {
+                return roles;
+            }
+            Map<RoleType, RoleModel> carregadas = new EnumMap<>(RoleType.class);
+            for (RoleModel roleModel : roleRepository.findAll()) {
+                carregadas.put(roleModel.getRoleNome(), roleModel);
+            }
+            roles = Collections.unmodifiableMap(carregadas);
+            geracao++;
+            proximaRecargaMs = System.currentTimeMillis() + intervaloRecargaMs;
+            logger.info("Registro de roles carregado: {}", carregadas.keySet());
+            return roles;
+        } finally {
+            recarga.unlock();
+        }
     }
-}
\ No newline at end of file
+}
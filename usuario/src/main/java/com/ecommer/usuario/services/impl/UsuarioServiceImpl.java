@@ -1,17 +1,25 @@
 package com.ecommer.usuario.services.impl;
 
+import com.ecommer.usuario.configs.security.RevogacaoTokenJwt;
+import com.ecommer.usuario.configs.security.UsuarioDetailsServiceImpl;
+import com.ecommer.usuario.dtos.CursorUsuarioRecordDto;
+import com.ecommer.usuario.dtos.PaginaCursorRecordDto;
 import com.ecommer.usuario.dtos.UsuarioRecordDto;
+import com.ecommer.usuario.dtos.UsuarioResumoRecordDto;
 import com.ecommer.usuario.enums.RoleType;
 import com.ecommer.usuario.enums.StatusUsuario;
 import com.ecommer.usuario.enums.TipoPerfio;
 import com.ecommer.usuario.exceptios.NotFoundException;
+import com.ecommer.usuario.exceptios.RegistroDuplicadoException;
 import com.ecommer.usuario.models.UsuarioModel;
 import com.ecommer.usuario.repositorys.UsuarioRepository;
+import com.ecommer.usuario.services.RefreshTokenService;
 import com.ecommer.usuario.services.RoleService;
 import com.ecommer.usuario.services.UsuarioService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.BeanUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -21,6 +29,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -34,12 +43,20 @@ public class UsuarioServiceImpl implements UsuarioService {
     final UsuarioRepository usuarioRepository;
     final RoleService roleService;
     final PasswordEncoder passwordEncoder;
+    final UsuarioDetailsServiceImpl usuarioDetailsService;
+    final RevogacaoTokenJwt revogacaoTokenJwt;
+    final RefreshTokenService refreshTokenService;
 
     // Construtor para injeção de dependência de todos os componentes necessários
-    public UsuarioServiceImpl(UsuarioRepository usuarioRepository, RoleService roleService, PasswordEncoder passwordEncoder) {
+    public UsuarioServiceImpl(UsuarioRepository usuarioRepository, RoleService roleService, PasswordEncoder passwordEncoder,
+                              UsuarioDetailsServiceImpl usuarioDetailsService, RevogacaoTokenJwt revogacaoTokenJwt,
+                              RefreshTokenService refreshTokenService) {
         this.usuarioRepository = usuarioRepository;
         this.roleService = roleService;
         this.passwordEncoder = passwordEncoder;
+        this.usuarioDetailsService = usuarioDetailsService;
+        this.revogacaoTokenJwt = revogacaoTokenJwt;
+        this.refreshTokenService = refreshTokenService;
     }
 
     /**
@@ -47,11 +64,49 @@ public class UsuarioServiceImpl implements UsuarioService {
      *
      * @param spec Especificação para filtro dinâmico.
      * @param pageable Paginação para divisão de resultados.
-     * @return Page<UsuarioModel> Retorna uma página de usuários.
+     * @return Page<UsuarioResumoRecordDto> Retorna uma página do modelo de leitura dos usuários.
      */
     @Override
-    public Page<UsuarioModel> findAll(Specification<UsuarioModel> spec, Pageable pageable) {
-        return usuarioRepository.findAll(spec, pageable);
+    public Page<UsuarioResumoRecordDto> findAllResumo(Specification<UsuarioModel> spec, Pageable pageable) {
+        return usuarioRepository.findAllResumo(spec, pageable);
+    }
+
+    /**
+     * Método para buscar usuários por cursor (keyset).
+     * Busca um usuário a mais que o tamanho da página apenas para saber se existe uma próxima página.
+     *
+     * @param spec Especificação para filtro dinâmico.
+     * @param cursor Cursor recebido na página anterior, ou nulo na primeira página.
+     * @param size Tamanho da página.
+     * @return PaginaCursorRecordDto<UsuarioResumoRecordDto> Retorna a página e o cursor da próxima página.
+     */
+    @Override
+    public PaginaCursorRecordDto<UsuarioResumoRecordDto> findAllCursor(Specification<UsuarioModel> spec, String cursor, int size) {
+        CursorUsuarioRecordDto posicao = cursor != null && !cursor.isBlank() ? CursorUsuarioRecordDto.decodificar(cursor) : null;
+        List<UsuarioResumoRecordDto> usuarios = usuarioRepository.findAllAposCursor(spec,
+                posicao != null ? posicao.dataCriacao() : null,
+                posicao != null ? posicao.usuarioId() : null,
+                size + 1);
+
+        String proximoCursor = null;
+        if (usuarios.size() > size) {
+            usuarios = usuarios.subList(0, size);
+            UsuarioResumoRecordDto ultimo = usuarios.get(size - 1);
+            proximoCursor = new CursorUsuarioRecordDto(ultimo.dataCriacao(), ultimo.usuarioId()).codificar();
+        }
+        return new PaginaCursorRecordDto<>(usuarios, usuarios.size(), proximoCursor);
+    }
+
+    /**
+     * Método para buscar usuários pelo nome, ordenados por semelhança com o termo.
+     *
+     * @param termo Trecho ou aproximação do nome.
+     * @param limite Quantidade máxima de resultados.
+     * @return List<UsuarioResumoRecordDto> Retorna os usuários encontrados, do mais para o menos semelhante.
+     */
+    @Override
+    public List<UsuarioResumoRecordDto> buscarPorNome(String termo, int limite) {
+        return usuarioRepository.buscarPorNome(termo.trim(), limite);
     }
 
     /**
@@ -72,6 +127,21 @@ public class UsuarioServiceImpl implements UsuarioService {
         return usuarioModelOptional;
     }
 
+    /**
+     * Método para buscar o modelo de leitura de um usuário pelo ID.
+     *
+     * @param usuarioId ID do usuário a ser buscado.
+     * @return UsuarioResumoRecordDto Retorna a projeção do usuário encontrado.
+     * @throws NotFoundException Caso o usuário não seja encontrado.
+     */
+    @Override
+    public UsuarioResumoRecordDto findResumoById(UUID usuarioId) {
+        return usuarioRepository.findResumoById(usuarioId).orElseThrow(() -> {
+            logger.error("ERRO, USUARIO NÃO ENCONTRADO!");  // Registra o erro no log
+            return new NotFoundException("ERRO, USUARIO NÃO ENCONTRADO!");
+        });
+    }
+
     /**
      * Método para excluir um usuário pelo modelo.
      *
@@ -81,6 +151,8 @@ public class UsuarioServiceImpl implements UsuarioService {
     @Override
     public UsuarioModel deleteUsuarioId(UsuarioModel usuarioModel) {
         usuarioRepository.delete(usuarioModel);
+        usuarioDetailsService.invalidarUsuario(usuarioModel.getNome());  // Remove o usuário dos caches de autenticação
+        revogacaoTokenJwt.revogarUsuario(usuarioModel.getUsuarioId());  // Recusa também os tokens no modo sem estado
         return usuarioModel;
     }
 
@@ -93,12 +165,18 @@ public class UsuarioServiceImpl implements UsuarioService {
      */
     @Override
     public UsuarioModel updateUsuario(UsuarioModel usuarioModel, UsuarioRecordDto usuarioRecordDto) {
+        String nomeAnterior = usuarioModel.getNome();
+
         // Atualiza os dados do usuário
         usuarioModel.setNome(usuarioRecordDto.nome());
         usuarioModel.setStatusUsuario(StatusUsuario.ATIVO);  // Define o status como ativo
         usuarioModel.setDataAtualizacao(LocalDateTime.now(ZoneId.of("America/Recife")));  // Atualiza a data de modificação
 
-        return usuarioRepository.save(usuarioModel);  // Salva o usuário atualizado
+        UsuarioModel usuarioAtualizado = usuarioRepository.save(usuarioModel);  // Salva o usuário atualizado
+        // Invalida o nome antigo e o novo, já que o cache é indexado pelo nome
+        usuarioDetailsService.invalidarUsuario(nomeAnterior);
+        usuarioDetailsService.invalidarUsuario(usuarioAtualizado.getNome());
+        return usuarioAtualizado;
     }
 
     /**
@@ -113,7 +191,10 @@ public class UsuarioServiceImpl implements UsuarioService {
         usuarioModel.setSenha(passwordEncoder.encode(usuarioRecordDto.senha())); // Criptografa a senha na base de dados, após a atualização
         usuarioModel.setDataAtualizacao(LocalDateTime.now(ZoneId.of("America/Recife")));  // Atualiza a data de modificação
 
-        return usuarioRepository.save(usuarioModel);  // Salva o usuário com a nova senha
+        UsuarioModel usuarioAtualizado = usuarioRepository.save(usuarioModel);  // Salva o usuário com a nova senha
+        usuarioDetailsService.invalidarUsuario(usuarioAtualizado.getNome());  // A nova senha vale já na próxima autenticação
+        revogarTokens(usuarioAtualizado);  // Encerra as sessões abertas com a senha antiga
+        return usuarioAtualizado;
     }
 
     /**
@@ -126,49 +207,36 @@ public class UsuarioServiceImpl implements UsuarioService {
     @Override
     public UsuarioModel updateStatusUsuario(UsuarioModel usuarioModel, UsuarioRecordDto usuarioRecordDto) {
         usuarioModel.setStatusUsuario(usuarioRecordDto.statusUsuario());  // Atualiza o status do usuário
-        return usuarioRepository.save(usuarioModel);  // Salva o usuário com o novo status
-    }
-
-    /**
-     * Método para verificar se já existe um usuário com o mesmo nome.
-     *
-     * @param nome Nome do usuário a ser verificado.
-     * @return boolean Retorna true se o nome já existir, caso contrário, false.
-     */
-    @Override
-    public boolean existByNome(String nome) {
-        return usuarioRepository.existsByNome(nome);
-    }
-
-
-    /**
-     * Método para verificar se já existe um usuário com a mesma senha.
-     *
-     * @param senha Senha do usuário a ser verificada.
-     * @return boolean Retorna true se a senha já existir, caso contrário, false.
-     */
-    @Override
-    public boolean existBySenha(String senha) {
-        return usuarioRepository.existsBySenha(senha);
+        usuarioModel.setDataAtualizacao(LocalDateTime.now(ZoneId.of("America/Recife")));  // Atualiza a data de modificação
+        UsuarioModel usuarioAtualizado = usuarioRepository.save(usuarioModel);  // Salva o usuário com o novo status
+        usuarioDetailsService.invalidarUsuario(usuarioAtualizado.getNome());  // O novo status vale já na próxima requisição
+        if (usuarioAtualizado.getStatusUsuario() != StatusUsuario.ATIVO) {
+            revogarTokens(usuarioAtualizado);  // Usuário bloqueado perde as sessões abertas
+        }
+        return usuarioAtualizado;
     }
 
     /**
-     * Método para verificar se já existe um usuário com o mesmo email.
+     * Método para revogar todas as sessões do usuário.
+     * Os tokens JWT já emitidos entram na lista de revogação e os refresh tokens são removidos.
      *
-     * @param email E-mail do usuário a ser verificado.
-     * @return boolean Retorna true se o nome já existir, caso contrário, false.
+     * @param usuarioModel Modelo do usuário.
      */
     @Override
-    public boolean existByEmail(String email) {
-        return usuarioRepository.existsByEmail(email);
+    public void revogarTokens(UsuarioModel usuarioModel) {
+        revogacaoTokenJwt.revogarUsuario(usuarioModel.getUsuarioId());
+        refreshTokenService.revogarRefreshTokensUsuario(usuarioModel.getUsuarioId());
+        logger.info("Sessões revogadas para o usuário: {}", usuarioModel.getUsuarioId());
     }
 
-
     /**
      * Método para salvar um novo usuário no sistema.
+     * Não há consultas prévias de existência: o INSERT é executado diretamente e as restrições
+     * de unicidade de nome e e-mail (este sem diferenciar maiúsculas) decidem, de forma atômica, se o cadastro é aceito.
      *
      * @param usuarioRecordDto Dados do novo usuário.
      * @return UsuarioModel Retorna o usuário recém-criado.
+     * @throws RegistroDuplicadoException Caso o nome ou o e-mail já estejam cadastrados.
      */
     @Transactional
     @Override
@@ -189,9 +257,33 @@ public class UsuarioServiceImpl implements UsuarioService {
         usuarioModel.setSenha(passwordEncoder.encode(usuarioModel.getSenha()));
 
         // Adiciona a role de usuário ao conjunto de roles do usuário
-        usuarioModel.getRoles().add(roleService.findByRoleNome(RoleType.ROLE_USUARIO));
+        usuarioModel.adicionarRole(roleService.findByRoleNome(RoleType.ROLE_USUARIO));
+
+        // Salvando o usuário no banco de dados; o flush antecipa a violação de unicidade para dentro deste método
+        try {
+            return usuarioRepository.saveAndFlush(usuarioModel);
+        } catch (DataIntegrityViolationException e) {
+            throw new RegistroDuplicadoException(mensagemDuplicidade(e), e);
+        }
+    }
 
-        // Salvando o usuário no banco de dados
-        return usuarioRepository.save(usuarioModel);
+    /**
+     * Identifica o campo duplicado pelo nome da restrição violada.
+     *
+     * @param e Exceção lançada pelo banco de dados.
+     * @return String Mensagem de erro do campo duplicado.
+     */
+    static String mensagemDuplicidade(DataIntegrityViolationException e) {
+        String detalhe = e.getCause() instanceof org.hibernate.exception.ConstraintViolationException violacao
+                && violacao.getConstraintName() != null
+                ? violacao.getConstraintName()
+                : String.valueOf(e.getMostSpecificCause().getMessage());
+        if (detalhe.contains(UsuarioModel.UK_NOME)) {
+            return "ERRO, USUARIO JÁ EXISTENTE!";
+        }
+        if (detalhe.contains(UsuarioModel.UK_EMAIL_MINUSCULO) || detalhe.contains(UsuarioModel.UK_EMAIL)) {
+            return "ERRO, ESTE E-MAIL JÁ ESTÁ EM USO!";
+        }
+        throw e;  // Outra violação de integridade: não é um cadastro duplicado
     }
 }
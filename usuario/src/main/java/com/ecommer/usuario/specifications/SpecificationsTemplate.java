@@ -12,8 +12,9 @@ public class SpecificationsTemplate {
     @And({
             @Spec(path = "usuarioId", spec = Equal.class), // Filtro de igualdade para o atributo usuarioId
             @Spec(path = "email", spec = Equal.class), // Filtro de igualdade para o atributo email
-            @Spec(path = "senha", spec = Equal.class), // Filtro de igualdade para o atributo email
-            @Spec(path = "nome", spec = Like.class), // Filtro de busca parcial para o atributo nome (LIKE)
+            @Spec(path = "statusUsuario", spec = Equal.class), // Filtro de igualdade para o atributo statusUsuario
+            // Filtro de busca parcial para o atributo nome (LIKE), atendido pelo índice de trigramas (mínimo de 3 caracteres)
+            @Spec(path = "nome", spec = Like.class),
     })
     public interface UsuarioSpec extends Specification<UsuarioModel> {}
 }
@@ -0,0 +1,168 @@
+package com.ecommer.usuario.validates;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Política de senha: tamanho, classes de caracteres exigidas e lista de senhas proibidas.
+ *
+ * <p>A avaliação ({@link #aceita(CharSequence)}) percorre os caracteres uma única vez e não aloca: as classes
+ * encontradas são acumuladas em uma máscara, os caracteres especiais são consultados em uma tabela, e o resumo
+ * da senha (FNV-1a sem diferenciar maiúsculas) é calculado no mesmo laço para consultar a lista de proibidas em
+ * uma tabela de espalhamento. Só há comparação de caracteres quando o resumo coincide.</p>
+ *
+ * <p>Espaços em branco e caracteres de controle nunca são aceitos. Instâncias são imutáveis e seguras para uso
+ * concorrente.</p>
+ */
+public final class PoliticaSenha {
+
+    public static final int MINUSCULA = 1;
+    public static final int MAIUSCULA = 1 << 1;
+    public static final int DIGITO = 1 << 2;
+    public static final int ESPECIAL = 1 << 3;
+
+    // Caracteres especiais aceitos pela expressão regular anterior: !@#&()–[{}]:;',?/*~$^+=<>
+    public static final String ESPECIAIS_PADRAO = "!@#&()–{}:;',?/*~$^+=<>";
+
+    // Regras anteriores: de 5 a 20 caracteres, com minúscula, maiúscula, dígito e caractere especial
+    public static final PoliticaSenha PADRAO = new PoliticaSenha(5, 20, MINUSCULA | MAIUSCULA | DIGITO | ESPECIAL,
+            ESPECIAIS_PADRAO, List.of());
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIMO = 0x100000001b3L;
+
+    private final int tamanhoMinimo;
+    private final int tamanhoMaximo;
+    private final int classesExigidas;
+    private final boolean[] especiaisAscii = new boolean[128];
+    private final char[] especiaisOutros;  // Especiais fora da faixa ASCII (poucos, busca linear)
+    private final long[] resumosProibidas;
+    private final String[] proibidas;  // Tabela de espalhamento aberta; posições vazias são nulas
+
+    /**
+     * Construtor da política de senha.
+     *
+     * @param tamanhoMinimo Quantidade mínima de caracteres.
+     * @param tamanhoMaximo Quantidade máxima de caracteres.
+     * @param classesExigidas Classes exigidas: combinação de {@link #MINUSCULA}, {@link #MAIUSCULA}, {@link #DIGITO} e {@link #ESPECIAL}.
+     * @param especiais Caracteres que contam como especiais.
+     * @param proibidas Senhas recusadas mesmo atendendo às demais regras (sem diferenciar maiúsculas).
+     */
+    public PoliticaSenha(int tamanhoMinimo, int tamanhoMaximo, int classesExigidas, String especiais, Collection<String> proibidas) {
+        if (tamanhoMinimo < 1 || tamanhoMaximo < tamanhoMinimo) {
+            throw new IllegalArgumentException("Tamanhos de senha inválidos: " + tamanhoMinimo + " a " + tamanhoMaximo);
+        }
+        this.tamanhoMinimo = tamanhoMinimo;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.classesExigidas = classesExigidas;
+
+        StringBuilder outros = new StringBuilder();
+        for (int i = 0; i < especiais.length(); i++) {
+            char c = especiais.charAt(i);
+            if (c < 128) {
+                especiaisAscii[c] = true;
+            } else {
+                outros.append(c);
+            }
+        }
+        this.especiaisOutros = outros.toString().toCharArray();
+
+        int capacidade = Integer.highestOneBit(Math.max(1, proibidas.size()) * 2 - 1) << 1;
+        this.resumosProibidas = new long[capacidade];
+        this.proibidas = new String[capacidade];
+        for (String proibida : proibidas) {
+            if (proibida == null || proibida.isBlank()) {
+                continue;
+            }
+            long resumo = resumo(proibida.trim());
+            int posicao = posicao(resumo);
+            while (this.proibidas[posicao] != null) {
+                posicao = (posicao + 1) & (capacidade - 1);
+            }
+            this.resumosProibidas[posicao] = resumo;
+            this.proibidas[posicao] = proibida.trim();
+        }
+    }
+
+    /**
+     * Avalia a senha em uma única passagem, sem alocação.
+     *
+     * @param senha Senha a ser avaliada.
+     * @return {@code true} se a senha atende à política, {@code false} caso contrário (inclusive se for nula).
+     */
+    public boolean aceita(CharSequence senha) {
+        if (senha == null) {
+            return false;
+        }
+        int tamanho = senha.length();
+        if (tamanho < tamanhoMinimo || tamanho > tamanhoMaximo) {
+            return false;
+        }
+
+        int classes = 0;
+        long resumo = FNV_OFFSET;
+        for (int i = 0; i < tamanho; i++) {
+            char c = senha.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                classes |= MINUSCULA;
+            } else if (c >= 'A' && c <= 'Z') {
+                classes |= MAIUSCULA;
+            } else if (c >= '0' && c <= '9') {
+                classes |= DIGITO;
+            } else if (Character.isWhitespace(c) || Character.isISOControl(c) || Character.isSpaceChar(c)) {
+                return false;
+            } else if (especial(c)) {
+                classes |= ESPECIAL;
+            }
+            resumo = (resumo ^ Character.toLowerCase(c)) * FNV_PRIMO;
+        }
+        return (classes & classesExigidas) == classesExigidas && !proibida(senha, resumo);
+    }
+
+    private boolean especial(char c) {
+        if (c < 128) {
+            return especiaisAscii[c];
+        }
+        for (char outro : especiaisOutros) {
+            if (outro == c) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean proibida(CharSequence senha, long resumo) {
+        int posicao = posicao(resumo);
+        while (proibidas[posicao] != null) {
+            if (resumosProibidas[posicao] == resumo && iguaisSemCaixa(proibidas[posicao], senha)) {
+                return true;
+            }
+            posicao = (posicao + 1) & (proibidas.length - 1);
+        }
+        return false;
+    }
+
+    private int posicao(long resumo) {
+        return (int) (resumo ^ (resumo >>> 32)) & (proibidas.length - 1);
+    }
+
+    private static boolean iguaisSemCaixa(String proibida, CharSequence senha) {
+        if (proibida.length() != senha.length()) {
+            return false;
+        }
+        for (int i = 0; i < proibida.length(); i++) {
+            if (Character.toLowerCase(proibida.charAt(i)) != Character.toLowerCase(senha.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long resumo(CharSequence texto) {
+        long resumo = FNV_OFFSET;
+        for (int i = 0; i < texto.length(); i++) {
+            resumo = (resumo ^ Character.toLowerCase(texto.charAt(i))) * FNV_PRIMO;
+        }
+        return resumo;
+    }
+}
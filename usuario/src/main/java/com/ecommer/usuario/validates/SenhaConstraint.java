@@ -26,7 +26,8 @@ public @interface SenhaConstraint {
             a senha deve incluir pelo menos uma letra maiúscula (A-Z),
             a senha deve incluir pelo menos uma letra minúscula (a-z),
             a senha deve conter pelo menos um número (0-9),
-            a senha deve incluir pelo menos um caractere especial dentre os seguintes: @, $, !, %, *, ?, &.
+            a senha deve incluir pelo menos um caractere especial dentre os seguintes: ! @ # & ( ) – \\{ \\} : ; ' , ? / * ~ $ ^ + = < >,
+            a senha não pode conter espaços nem ser uma senha comum.
             """;
 
     /**
@@ -2,23 +2,26 @@ package com.ecommer.usuario.validates;
 
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
-
-import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * Implementação da validação de senha baseada na anotação {@link SenhaConstraint}.
- * Esta classe verifica se a senha atende aos critérios definidos pelo padrão de regex.
+ * Esta classe verifica se a senha atende à {@link PoliticaSenha} configurada.
  */
 public class SenhaConstraintImpl implements ConstraintValidator<SenhaConstraint, String> {
 
-    // Expressão regular para validar a senha.
-    // Requisitos:
-    // - Pelo menos um número (0-9)
-    // - Pelo menos uma letra minúscula (a-z)
-    // - Pelo menos uma letra maiúscula (A-Z)
-    // - Pelo menos um caractere especial (!@#&()–[{}]:;',?/*~$^+=<>)
-    // - Entre 5 e 20 caracteres de comprimento
-    private static final String SENHA_PATTERN = "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[!@#&()–[{}]:;',?/*~$^+=<>]).{5,20}$";
+    // Política aplicada: a configurada na aplicação (autorizacao.senha.politica) quando o validador é criado
+    // pelo Spring, ou a política padrão quando é criado diretamente pelo Hibernate Validator.
+    private final PoliticaSenha politicaSenha;
+
+    public SenhaConstraintImpl() {
+        this(PoliticaSenha.PADRAO);
+    }
+
+    @Autowired
+    public SenhaConstraintImpl(PoliticaSenha politicaSenha) {
+        this.politicaSenha = politicaSenha;
+    }
 
     /**
      * Método de inicialização da validação.
@@ -30,7 +33,8 @@ public class SenhaConstraintImpl implements ConstraintValidator<SenhaConstraint,
     }
 
     /**
-     * Método responsável por validar a senha conforme os critérios estabelecidos.
+     * Método responsável por validar a senha conforme a política de senha.
+     * A avaliação é feita em uma única passagem pelos caracteres, sem alocação.
      *
      * @param senha   A senha fornecida para validação.
      * @param context Contexto da validação.
@@ -38,14 +42,6 @@ public class SenhaConstraintImpl implements ConstraintValidator<SenhaConstraint,
      */
     @Override
     public boolean isValid(String senha, ConstraintValidatorContext context) {
-        Pattern pattern = Pattern.compile(SENHA_PATTERN); // Compila a expressão regular para validação
-
-        // Verifica se a senha é nula, vazia ou contém espaços em branco
-        if (senha == null || senha.trim().isEmpty() || senha.contains(" ")) {
-            return false;
-        }
-
-        // Verifica se a senha corresponde ao padrão definido
-        return pattern.matcher(senha).matches();
+        return politicaSenha.aceita(senha);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+-- Esquema base das tabelas mapeadas pelas entidades, antes gerado pelo Hibernate (ddl-auto: update).
+-- Versão 0.1 para rodar antes de V1 em um banco novo. Em um banco existente (criado pelo Hibernate), o
+-- baseline-on-migrate registra a versão 1 e esta migração, anterior a ela, não é aplicada.
+
+CREATE TABLE IF NOT EXISTS tb_role (
+    role_id UUID NOT NULL PRIMARY KEY,
+    role_nome VARCHAR(30) NOT NULL CHECK (role_nome IN ('ROLE_USUARIO', 'ROLE_ADMINISTRADOR')),
+    CONSTRAINT uk_tb_role_role_nome UNIQUE (role_nome)
+);
+
+CREATE TABLE IF NOT EXISTS tb_usuario (
+    usuario_id UUID NOT NULL PRIMARY KEY,
+    nome VARCHAR(150) NOT NULL,
+    senha VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    status_usuario VARCHAR(255) NOT NULL CHECK (status_usuario IN ('ATIVO', 'INATIVO')),
+    perfil_usuario VARCHAR(255) NOT NULL CHECK (perfil_usuario IN ('USUARIO', 'ADMINISTRADOR')),
+    data_criacao TIMESTAMP(6) NOT NULL,
+    data_atualizacao TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_tb_usuario_nome UNIQUE (nome),
+    CONSTRAINT uk_tb_usuario_email UNIQUE (email)
+);
+
+-- A chave primária (usuario_id, role_id) atende a busca das roles de um usuário
+CREATE TABLE IF NOT EXISTS tb_usuario_role (
+    usuario_id UUID NOT NULL REFERENCES tb_usuario (usuario_id),
+    role_id UUID NOT NULL REFERENCES tb_role (role_id),
+    PRIMARY KEY (usuario_id, role_id)
+);
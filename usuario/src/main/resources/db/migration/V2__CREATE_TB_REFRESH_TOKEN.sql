@@ -0,0 +1,17 @@
+-- Tabela de refresh tokens: apenas o resumo SHA-256 do token opaco é armazenado
+CREATE TABLE IF NOT EXISTS tb_refresh_token (
+    refresh_token_id UUID NOT NULL PRIMARY KEY,
+    token_hash VARCHAR(64) NOT NULL,
+    usuario_id UUID NOT NULL REFERENCES tb_usuario (usuario_id) ON DELETE CASCADE,
+    data_criacao TIMESTAMP(6) NOT NULL,
+    data_expiracao TIMESTAMP(6) NOT NULL
+);
+
+-- Busca do token no refresh (igualdade pelo resumo)
+CREATE UNIQUE INDEX IF NOT EXISTS uk_tb_refresh_token_token_hash ON tb_refresh_token (token_hash);
+
+-- Expurgo em lotes dos tokens expirados
+CREATE INDEX IF NOT EXISTS idx_tb_refresh_token_data_expiracao ON tb_refresh_token (data_expiracao);
+
+-- Remoção em cascata ao excluir o usuário
+CREATE INDEX IF NOT EXISTS idx_tb_refresh_token_usuario_id ON tb_refresh_token (usuario_id);
@@ -0,0 +1,16 @@
+-- Lista de revogação de tokens JWT. Com jti preenchido revoga um único token;
+-- com jti nulo revoga todos os tokens do usuário emitidos até data_revogacao.
+-- Não há chave estrangeira para tb_usuario: a revogação continua valendo após a exclusão do usuário.
+CREATE TABLE IF NOT EXISTS tb_token_revogado (
+    token_revogado_id UUID NOT NULL PRIMARY KEY,
+    jti VARCHAR(36),
+    usuario_id UUID NOT NULL,
+    data_revogacao TIMESTAMP(6) NOT NULL,
+    data_expiracao TIMESTAMP(6) NOT NULL
+);
+
+-- Leitura incremental da lista em cada instância
+CREATE INDEX IF NOT EXISTS idx_tb_token_revogado_data_revogacao ON tb_token_revogado (data_revogacao);
+
+-- Carga inicial e expurgo em lotes das revogações vencidas
+CREATE INDEX IF NOT EXISTS idx_tb_token_revogado_data_expiracao ON tb_token_revogado (data_expiracao);
@@ -0,0 +1,29 @@
+-- Restrições de unicidade nomeadas em nome e e-mail, usadas pelo cadastro para identificar o campo duplicado,
+-- e remoção da unicidade da senha (hashes bcrypt têm salt aleatório, a restrição nunca teve efeito e só custava um índice).
+-- Em um banco novo V0_1 já cria as restrições nomeadas; em um banco criado pelo Hibernate elas têm nomes automáticos.
+DO $$
+DECLARE
+    restricao RECORD;
+BEGIN
+    -- Remove as restrições de unicidade de coluna única geradas com nomes automáticos
+    FOR restricao IN
+        SELECT con.conname
+        FROM pg_constraint con
+        JOIN pg_attribute att ON att.attrelid = con.conrelid AND att.attnum = con.conkey[1]
+        WHERE con.conrelid = 'tb_usuario'::regclass
+          AND con.contype = 'u'
+          AND array_length(con.conkey, 1) = 1
+          AND att.attname IN ('nome', 'email', 'senha')
+          AND con.conname NOT IN ('uk_tb_usuario_nome', 'uk_tb_usuario_email')
+    LOOP
+        EXECUTE format('ALTER TABLE tb_usuario DROP CONSTRAINT %I', restricao.conname);
+    END LOOP;
+
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_tb_usuario_nome') THEN
+        ALTER TABLE tb_usuario ADD CONSTRAINT uk_tb_usuario_nome UNIQUE (nome);
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_tb_usuario_email') THEN
+        ALTER TABLE tb_usuario ADD CONSTRAINT uk_tb_usuario_email UNIQUE (email);
+    END IF;
+END $$;
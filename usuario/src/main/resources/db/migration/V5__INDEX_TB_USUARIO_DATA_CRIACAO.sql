@@ -0,0 +1,2 @@
+-- Índice da listagem por cursor (keyset): ordenação e início da varredura por (data_criacao, usuario_id).
+CREATE INDEX IF NOT EXISTS idx_tb_usuario_data_criacao_usuario_id ON tb_usuario (data_criacao, usuario_id);
@@ -0,0 +1,9 @@
+-- Busca por trecho do nome: índice GIN de trigramas (pg_trgm), usado por ILIKE '%x%' e pelo operador de similaridade (%)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+DO $$
+BEGIN
+    IF to_regclass('tb_usuario') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_tb_usuario_nome_trgm ON tb_usuario USING GIN (nome gin_trgm_ops);
+    END IF;
+END $$;
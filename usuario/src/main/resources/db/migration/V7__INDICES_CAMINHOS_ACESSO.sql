@@ -0,0 +1,26 @@
+-- Índices dos caminhos de acesso das consultas de usuário. A busca por nome (findByNome) já é atendida
+-- pela restrição uk_tb_usuario_nome, e a listagem por data de criação pelo índice de V5.
+
+-- Unicidade do e-mail sem diferenciar maiúsculas: "Maria@Email.com" e "maria@email.com" são o mesmo e-mail.
+-- O cadastro e a importação identificam a violação pelo nome do índice (UsuarioModel.UK_EMAIL_MINUSCULO), e a
+-- verificação de e-mails existentes da importação compara lower(email). A restrição uk_tb_usuario_email continua
+-- atendendo o filtro de igualdade da listagem (email = ?).
+DO $$
+DECLARE
+    duplicados BIGINT;
+BEGIN
+    SELECT count(*) INTO duplicados
+    FROM (SELECT lower(email) FROM tb_usuario GROUP BY lower(email) HAVING count(*) > 1) d;
+
+    IF duplicados > 0 THEN
+        RAISE EXCEPTION 'Existem % e-mails cadastrados mais de uma vez com maiúsculas diferentes; corrija-os antes desta migração', duplicados;
+    END IF;
+END $$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_tb_usuario_email_minusculo ON tb_usuario (lower(email));
+
+-- Listagem filtrada por status, ordenada por data de criação (o usuario_id completa a chave do cursor)
+CREATE INDEX IF NOT EXISTS idx_tb_usuario_status_data_criacao ON tb_usuario (status_usuario, data_criacao, usuario_id);
+
+-- Junção TB_USUARIO_ROLE no sentido role -> usuários (o sentido usuário -> roles usa a chave primária)
+CREATE INDEX IF NOT EXISTS idx_tb_usuario_role_role_id_usuario_id ON tb_usuario_role (role_id, usuario_id);
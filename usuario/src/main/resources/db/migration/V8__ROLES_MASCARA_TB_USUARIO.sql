@@ -0,0 +1,19 @@
+-- Máscara das roles do usuário (bit 1 << posição em RoleType), mantida pela aplicação junto com TB_USUARIO_ROLE.
+-- A autenticação lê as roles desta coluna, sem a junção.
+ALTER TABLE tb_usuario ADD COLUMN IF NOT EXISTS roles_mascara INTEGER NOT NULL DEFAULT 0;
+
+-- Preenche a máscara dos usuários existentes a partir da junção
+UPDATE tb_usuario u
+SET roles_mascara = m.mascara
+FROM (
+    SELECT ur.usuario_id,
+           bit_or(CASE r.role_nome
+                      WHEN 'ROLE_USUARIO' THEN 1
+                      WHEN 'ROLE_ADMINISTRADOR' THEN 2
+                      ELSE 0
+                  END) AS mascara
+    FROM tb_usuario_role ur
+    JOIN tb_role r ON r.role_id = ur.role_id
+    GROUP BY ur.usuario_id
+) m
+WHERE m.usuario_id = u.usuario_id;
@@ -0,0 +1,15 @@
+-- Chaves de assinatura ES256/EdDSA compartilhadas por todas as instâncias.
+-- Cada chave é publicada no JWKS a partir da criação, assina a partir de data_ativacao e continua valendo
+-- para verificação até data_expiracao (ativação da chave seguinte + expiração do token); nula na chave mais nova.
+-- A chave privada é gravada cifrada (AES-GCM) com o segredo autorizacao.jwtChaves.segredo.
+CREATE TABLE IF NOT EXISTS tb_chave_jwt (
+    kid VARCHAR(36) NOT NULL PRIMARY KEY,
+    geracao INTEGER NOT NULL,
+    algoritmo VARCHAR(10) NOT NULL,
+    chave_publica VARCHAR(512) NOT NULL,
+    chave_privada VARCHAR(512) NOT NULL,
+    data_ativacao TIMESTAMP(6) NOT NULL,
+    data_expiracao TIMESTAMP(6),
+    -- Uma única chave por geração: duas instâncias rotacionando ao mesmo tempo não criam duas chaves
+    CONSTRAINT uk_tb_chave_jwt_geracao UNIQUE (geracao)
+);
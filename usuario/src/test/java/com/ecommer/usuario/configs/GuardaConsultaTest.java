@@ -0,0 +1,111 @@
+package com.ecommer.usuario.configs;
+
+import com.ecommer.usuario.exceptios.ConsultaNaoPermitidaException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GuardaConsultaTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GuardaConsulta guardaConsulta;
+
+    @BeforeEach
+    void preparar() {
+        meterRegistry = new SimpleMeterRegistry();
+        guardaConsulta = new GuardaConsulta(100, 10_000, 3, meterRegistry);
+    }
+
+    private static ServletWebRequest requisicao(String... parametros) {
+        var request = new MockHttpServletRequest();
+        for (int i = 0; i < parametros.length; i += 2) {
+            request.addParameter(parametros[i], parametros[i + 1]);
+        }
+        return new ServletWebRequest(request);
+    }
+
+    private Sort ajustar(Sort sort, String... parametros) {
+        return guardaConsulta.ajustar(PageRequest.of(0, 10, sort), requisicao(parametros)).getSort();
+    }
+
+    private double reescritas() {
+        return meterRegistry.get("consulta.guarda.rejeicoes").tag("motivo", "ordenacao").counter().count();
+    }
+
+    @Test
+    void semFiltroAceitaQualquerOrdenacaoIndexada() {
+        assertThat(ajustar(Sort.by(Sort.Direction.DESC, "nome"))).isEqualTo(Sort.by(Sort.Direction.DESC, "nome"));
+        assertThat(ajustar(Sort.by("email"))).isEqualTo(Sort.by("email"));
+        assertThat(ajustar(Sort.by("dataCriacao", "usuarioId"))).isEqualTo(Sort.by("dataCriacao", "usuarioId"));
+        assertThat(reescritas()).isZero();
+    }
+
+    @Test
+    void semFiltroDescartaOrdenacaoSemIndice() {
+        assertThat(ajustar(Sort.by("perfilUsuario"))).isEqualTo(Sort.unsorted());
+        assertThat(reescritas()).isEqualTo(1);
+    }
+
+    @Test
+    void filtroDeStatusSoOrdenaPelaDataDeCriacao() {
+        assertThat(ajustar(Sort.by(Sort.Direction.DESC, "dataCriacao"), "statusUsuario", "ATIVO"))
+                .isEqualTo(Sort.by(Sort.Direction.DESC, "dataCriacao", "usuarioId"));
+        assertThat(reescritas()).isZero();
+
+        // Ordenar por nome exigiria ordenar todos os usuários do status: vai para a ordem do índice, na direção pedida
+        assertThat(ajustar(Sort.by(Sort.Direction.DESC, "nome"), "statusUsuario", "ATIVO"))
+                .isEqualTo(Sort.by(Sort.Direction.DESC, "dataCriacao", "usuarioId"));
+        assertThat(reescritas()).isEqualTo(1);
+    }
+
+    @Test
+    void filtroDeNomeSoOrdenaPeloNome() {
+        assertThat(ajustar(Sort.by("nome"), "nome", "silva")).isEqualTo(Sort.by("nome"));
+        assertThat(ajustar(Sort.by("dataCriacao"), "nome", "silva", "statusUsuario", "ATIVO")).isEqualTo(Sort.by("nome"));
+        assertThat(reescritas()).isEqualTo(1);
+    }
+
+    @Test
+    void filtroDeChaveUnicaAceitaQualquerOrdenacaoIndexada() {
+        assertThat(ajustar(Sort.by("nome"), "email", "maria@email.com", "statusUsuario", "ATIVO")).isEqualTo(Sort.by("nome"));
+        assertThat(ajustar(Sort.by("perfilUsuario"), "usuarioId", "6f1c2a4e-0000-0000-0000-000000000000")).isEqualTo(Sort.unsorted());
+        assertThat(reescritas()).isEqualTo(1);
+    }
+
+    @Test
+    void filtroEmBrancoNaoMudaOCaminhoDeAcesso() {
+        assertThat(ajustar(Sort.by("email"), "nome", " ", "statusUsuario", "")).isEqualTo(Sort.by("email"));
+        assertThat(reescritas()).isZero();
+    }
+
+    @Test
+    void ordenacaoPorMaisDeUmaPropriedadeEhReescrita() {
+        assertThat(ajustar(Sort.by("nome", "email"))).isEqualTo(Sort.by("nome"));
+        assertThat(ajustar(Sort.by(Sort.Order.asc("dataCriacao"), Sort.Order.desc("usuarioId"))))
+                .isEqualTo(Sort.by("dataCriacao", "usuarioId"));
+        assertThat(reescritas()).isEqualTo(2);
+    }
+
+    @Test
+    void deslocamentoAlemDoMaximoEhRecusado() {
+        Pageable distante = PageRequest.of(1001, 10);
+
+        assertThatThrownBy(() -> guardaConsulta.ajustar(distante, requisicao()))
+                .isInstanceOf(ConsultaNaoPermitidaException.class);
+    }
+
+    @Test
+    void filtroDeNomeCurtoEhRecusado() {
+        assertThatThrownBy(() -> guardaConsulta.verificarFiltros(requisicao("nome", "ab")))
+                .isInstanceOf(ConsultaNaoPermitidaException.class);
+        guardaConsulta.verificarFiltros(requisicao("nome", "abc"));
+    }
+}
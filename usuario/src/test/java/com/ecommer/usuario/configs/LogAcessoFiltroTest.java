@@ -0,0 +1,61 @@
+package com.ecommer.usuario.configs;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogAcessoFiltroTest {
+
+    private final LogAcessoFiltro filtro = new LogAcessoFiltro(1.0, 1000,
+            new String[]{"senha", "senhaAntiga", "token", "refreshToken"});
+
+    @Test
+    void semQueryRegistraHifen() {
+        assertThat(filtro.ocultarQuery(null)).isEqualTo("-");
+    }
+
+    @Test
+    void semCampoOcultoDevolveAMesmaQuery() {
+        String query = "page=0&size=20&sort=nome,asc";
+
+        assertThat(filtro.ocultarQuery(query)).isSameAs(query);
+        assertThat(filtro.ocultarQuery("")).isEmpty();
+    }
+
+    @Test
+    void ocultaOValorDosCamposListados() {
+        assertThat(filtro.ocultarQuery("senha=Abc@123")).isEqualTo("senha=***");
+        assertThat(filtro.ocultarQuery("nome=ana&token=eyJ.x.y&page=1")).isEqualTo("nome=ana&token=***&page=1");
+        assertThat(filtro.ocultarQuery("senha=a&senhaAntiga=b")).isEqualTo("senha=***&senhaAntiga=***");
+        // Valor vazio e valor com '=' também são ocultados por inteiro
+        assertThat(filtro.ocultarQuery("senha=&nome=ana")).isEqualTo("senha=***&nome=ana");
+        assertThat(filtro.ocultarQuery("token=a=b=c")).isEqualTo("token=***");
+    }
+
+    @Test
+    void nomeDoCampoSemDiferenciarMaiusculas() {
+        assertThat(filtro.ocultarQuery("SENHA=x&RefreshToken=y")).isEqualTo("SENHA=***&RefreshToken=***");
+    }
+
+    @Test
+    void nomeCodificadoTambemEhOcultado() {
+        assertThat(filtro.ocultarQuery("sen%68a=Abc@123&nome=ana")).isEqualTo("sen%68a=***&nome=ana");
+        // Codificação inválida não interrompe o log
+        assertThat(filtro.ocultarQuery("sen%zz=1")).isEqualTo("sen%zz=1");
+    }
+
+    @Test
+    void somenteNomeExatoEhOcultado() {
+        // Prefixos, extensões e valores iguais ao nome de um campo oculto não são ocultados
+        assertThat(filtro.ocultarQuery("sen=1&senhas=2&tokens=3&nome=senha=4")).isEqualTo("sen=1&senhas=2&tokens=3&nome=senha=4");
+        // Parâmetro sem '=' não tem valor a ocultar
+        assertThat(filtro.ocultarQuery("senha&nome=ana")).isEqualTo("senha&nome=ana");
+    }
+
+    @Test
+    void separadoresVaziosSaoPreservados() {
+        assertThat(filtro.ocultarQuery("senha=1&")).isEqualTo("senha=***&");
+        assertThat(filtro.ocultarQuery("&&senha=1&&nome=ana")).isEqualTo("&&senha=***&&nome=ana");
+        assertThat(filtro.ocultarQuery("=1&senha=2")).isEqualTo("=1&senha=***");
+    }
+}
@@ -0,0 +1,52 @@
+package com.ecommer.usuario.configs;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.repository.CrudRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TempoRepositorioInterceptorTest {
+
+    interface RepositorioTeste extends CrudRepository<Object, Long> {
+        long contarAtivos();
+    }
+
+    private SimpleMeterRegistry meterRegistry;
+    private TempoRepositorioInterceptor interceptor;
+
+    @BeforeEach
+    void preparar() {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new TempoRepositorioInterceptor(meterRegistry, RepositorioTeste.class);
+    }
+
+    private void invocar(String metodo) throws Throwable {
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(RepositorioTeste.class.getMethod(metodo));
+        interceptor.invoke(invocation);
+    }
+
+    @Test
+    void soOsMetodosDaAplicacaoSaoRegistradosNaCriacao() {
+        assertThat(meterRegistry.find("repositorio.tempo").timers())
+                .allSatisfy(timer -> assertThat(timer.getId().getTag("metodo")).isEqualTo("contarAtivos"))
+                .hasSize(2);
+    }
+
+    @Test
+    void metodoHerdadoEhRegistradoNaPrimeiraChamada() throws Throwable {
+        assertThat(meterRegistry.find("repositorio.tempo").tag("metodo", "count").timers()).isEmpty();
+
+        invocar("count");
+        invocar("count");
+
+        assertThat(meterRegistry.get("repositorio.tempo").tag("metodo", "count").tag("resultado", "sucesso")
+                .timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.find("repositorio.tempo").tag("metodo", "count").timers()).hasSize(2);
+    }
+}
@@ -0,0 +1,172 @@
+package com.ecommer.usuario.configs.security;
+
+import com.ecommer.usuario.models.ChaveJwtModel;
+import com.ecommer.usuario.repositorys.ChaveJwtRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ArmazenamentoChavesJwtTest {
+
+    private static final ZoneId ZONA = ZoneId.of("America/Recife");
+    private static final String SEGREDO = "segredo-de-teste-com-pelo-menos-256-bits-0123456789";
+    private static final long EXPIRACAO_MS = 900_000;
+    private static final long ROTACAO_MS = 86_400_000;
+    private static final long ANTECEDENCIA_MS = 900_000;
+
+    // Conteúdo da TB_CHAVE_JWT compartilhado pelas "instâncias" do teste
+    private final List<ChaveJwtModel> tabela = new ArrayList<>();
+    private ChaveJwtRepository repository;
+
+    @BeforeEach
+    void preparar() {
+        repository = mock(ChaveJwtRepository.class);
+        when(repository.findEmUso(anyString(), any())).thenAnswer(invocacao ->
+                emUso(invocacao.getArgument(0), invocacao.getArgument(1)));
+        when(repository.findUltimaGeracao()).thenAnswer(invocacao -> ultimaGeracao());
+        when(repository.saveAndFlush(any())).thenAnswer(invocacao -> {
+            ChaveJwtModel chave = invocacao.getArgument(0);
+            if (tabela.stream().anyMatch(c -> c.getGeracao() == chave.getGeracao())) {
+                throw new DataIntegrityViolationException(ChaveJwtModel.UK_GERACAO);
+            }
+            tabela.add(chave);
+            return chave;
+        });
+        when(repository.aposentarAnteriores(anyInt(), any())).thenAnswer(invocacao -> {
+            int geracao = invocacao.getArgument(0);
+            LocalDateTime dataExpiracao = invocacao.getArgument(1);
+            tabela.stream().filter(c -> c.getGeracao() < geracao && c.getDataExpiracao() == null)
+                    .forEach(c -> c.setDataExpiracao(dataExpiracao));
+            return 0;
+        });
+    }
+
+    private List<ChaveJwtModel> emUso(String algoritmo, LocalDateTime agora) {
+        return tabela.stream()
+                .filter(c -> c.getAlgoritmo().equals(algoritmo))
+                .filter(c -> c.getDataExpiracao() == null || c.getDataExpiracao().isAfter(agora))
+                .sorted(Comparator.comparingInt(ChaveJwtModel::getGeracao).reversed())
+                .toList();
+    }
+
+    private int ultimaGeracao() {
+        return tabela.stream().mapToInt(ChaveJwtModel::getGeracao).max().orElse(0);
+    }
+
+    private ChavesJwt instancia(String algoritmo) {
+        ChavesJwt chavesJwt = new ChavesJwt(algoritmo);
+        new ArmazenamentoChavesJwt(repository, chavesJwt, EXPIRACAO_MS, ROTACAO_MS, ANTECEDENCIA_MS, 60_000, SEGREDO).carregar();
+        return chavesJwt;
+    }
+
+    private static TokenJwt tokenJwt(ChavesJwt chavesJwt) {
+        return new TokenJwt(SEGREDO, (int) EXPIRACAO_MS, false, chavesJwt, new SimpleMeterRegistry());
+    }
+
+    private static String gerarToken(TokenJwt tokenJwt) {
+        UsuarioDetailsImpl usuario = new UsuarioDetailsImpl(UUID.randomUUID(), "usuario.teste", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USUARIO")));
+        return tokenJwt.gerarJwt(new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities()));
+    }
+
+    @Test
+    void tokenAssinadoEmUmaInstanciaEhAceitoEmOutra() {
+        for (String algoritmo : List.of(ChavesJwt.ES256, ChavesJwt.EDDSA)) {
+            tabela.clear();
+            ChavesJwt instanciaA = instancia(algoritmo);
+            ChavesJwt instanciaB = instancia(algoritmo);
+
+            assertThat(tabela).hasSize(1);
+            String token = gerarToken(tokenJwt(instanciaA));
+            assertThat(tokenJwt(instanciaB).validacaoJwt(token)).isTrue();
+            assertThat(instanciaB.getJwks()).isEqualTo(instanciaA.getJwks());
+        }
+    }
+
+    @Test
+    void reinicializacaoMantemAsChavesGravadas() {
+        String token = gerarToken(tokenJwt(instancia(ChavesJwt.ES256)));
+
+        ChavesJwt reiniciada = instancia(ChavesJwt.ES256);
+
+        assertThat(tabela).hasSize(1);
+        assertThat(tokenJwt(reiniciada).validacaoJwt(token)).isTrue();
+    }
+
+    @Test
+    void chavePrivadaNaoEhGravadaEmClaro() {
+        ChavesJwt chavesJwt = instancia(ChavesJwt.EDDSA);
+
+        byte[] privada = chavesJwt.getChaveAtual().parChaves().getPrivate().getEncoded();
+        assertThat(tabela.get(0).getChavePrivada())
+                .isNotEqualTo(Base64.getEncoder().encodeToString(privada));
+    }
+
+    @Test
+    void novaChaveEhPublicadaAntesDeAssinarEAnteriorContinuaValida() {
+        ChavesJwt chavesJwt = instancia(ChavesJwt.ES256);
+        String tokenAntigo = gerarToken(tokenJwt(chavesJwt));
+        ChaveJwtModel primeira = tabela.get(0);
+        // A primeira chave já assina há quase um período de rotação
+        primeira.setDataAtivacao(LocalDateTime.now(ZONA).minusHours(23).minusMinutes(50));
+
+        ChavesJwt outraInstancia = instancia(ChavesJwt.ES256);
+
+        assertThat(tabela).hasSize(2);
+        ChaveJwtModel segunda = tabela.get(1);
+        assertThat(segunda.getDataAtivacao()).isAfter(LocalDateTime.now(ZONA).plusMinutes(14));
+        // A próxima chave já está no JWKS, mas ainda não assina
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> chavesPublicadas = (List<Map<String, Object>>) outraInstancia.getJwks().get("keys");
+        assertThat(chavesPublicadas.stream().map(jwk -> jwk.get("kid"))).contains(primeira.getKid(), segunda.getKid());
+        assertThat(outraInstancia.getChaveAtual().kid()).isEqualTo(primeira.getKid());
+        // A anterior é mantida até a ativação da nova mais a expiração do token
+        assertThat(primeira.getDataExpiracao()).isEqualTo(segunda.getDataAtivacao().plusNanos(EXPIRACAO_MS * 1_000_000));
+        assertThat(tokenJwt(outraInstancia).validacaoJwt(tokenAntigo)).isTrue();
+    }
+
+    @Test
+    void rotacaoNaoSeRepeteEnquantoAProximaChaveNaoAssina() {
+        instancia(ChavesJwt.ES256);
+        tabela.get(0).setDataAtivacao(LocalDateTime.now(ZONA).minusDays(1));
+
+        instancia(ChavesJwt.ES256);
+        instancia(ChavesJwt.ES256);
+
+        assertThat(tabela).hasSize(2);
+    }
+
+    @Test
+    void instanciaQuePerdeACorridaUsaAChaveDaOutra() {
+        ChavesJwt vencedora = instancia(ChavesJwt.ES256);
+        // A outra instância leu a tabela ainda vazia e tenta gravar a mesma geração
+        when(repository.findEmUso(anyString(), any()))
+                .thenReturn(List.of())
+                .thenAnswer(invocacao -> emUso(invocacao.getArgument(0), invocacao.getArgument(1)));
+        when(repository.findUltimaGeracao()).thenReturn(0);
+
+        ChavesJwt perdedora = instancia(ChavesJwt.ES256);
+
+        assertThat(tabela).hasSize(1);
+        assertThat(perdedora.getChaveAtual().kid()).isEqualTo(vencedora.getChaveAtual().kid());
+    }
+}
@@ -0,0 +1,42 @@
+package com.ecommer.usuario.configs.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CalibradorCustoSenhaTest {
+
+    private static final String SENHA = "Senha@123";
+
+    @Test
+    void recriptografaSomenteHashComCustoMenor() {
+        var encoder = new CalibradorCustoSenha.BCryptCalibrado(5);
+
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode(SENHA))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode(SENHA))).isFalse();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode(SENHA))).isFalse();
+    }
+
+    @Test
+    void ignoraHashEmFormatoDesconhecido() {
+        var encoder = new CalibradorCustoSenha.BCryptCalibrado(5);
+
+        assertThat(encoder.upgradeEncoding(null)).isFalse();
+        assertThat(encoder.upgradeEncoding("$2a")).isFalse();
+        assertThat(encoder.upgradeEncoding("$2a$xx$abc")).isFalse();
+    }
+
+    @Test
+    void encoderUsaOCustoConfigurado() {
+        PasswordEncoder encoder = CalibradorCustoSenha.criarEncoder(5, 0);
+
+        String hash = encoder.encode(SENHA);
+
+        assertThat(hash).startsWith("{bcrypt}$2a$05$");
+        assertThat(encoder.matches(SENHA, hash)).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+        assertThat(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(4).encode(SENHA))).isTrue();
+    }
+}
@@ -0,0 +1,41 @@
+package com.ecommer.usuario.configs.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FiltroBloomTest {
+
+    @Test
+    void naoTemFalsoNegativo() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        var valores = IntStream.range(0, 10_000).mapToObj(i -> UUID.randomUUID().toString()).toList();
+
+        valores.forEach(filtro::adicionar);
+
+        assertThat(valores).allMatch(filtro::talvezContenha);
+    }
+
+    @Test
+    void taxaDeFalsoPositivoFicaPertoDaConfigurada() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filtro.adicionar("revogado-" + i));
+
+        long falsosPositivos = IntStream.range(0, 100_000)
+                .filter(i -> filtro.talvezContenha("valido-" + i))
+                .count();
+
+        assertThat(falsosPositivos / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    void filtroVazioNaoContemNada() {
+        FiltroBloom filtro = new FiltroBloom(0, 0.01);
+
+        assertThat(filtro.talvezContenha("qualquer")).isFalse();
+        assertThat(filtro.talvezContenha("")).isFalse();
+    }
+}
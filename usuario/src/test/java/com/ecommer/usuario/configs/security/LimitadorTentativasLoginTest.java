@@ -0,0 +1,137 @@
+package com.ecommer.usuario.configs.security;
+
+import com.ecommer.usuario.exceptios.LimiteTentativasException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LimitadorTentativasLoginTest {
+
+    private static final int FALHAS_ANTES_BLOQUEIO = 5;
+    private static final int CAPACIDADE_NOME = 5;
+
+    // Baldes folgados, para que os testes exercitem apenas o bloqueio por falhas
+    private static LimitadorTentativasLogin limitador(int slots, long bloqueioBaseMs) {
+        return new LimitadorTentativasLogin(slots, 1000, 1000, 1000, 1000,
+                FALHAS_ANTES_BLOQUEIO, 1000, bloqueioBaseMs, 900_000, 900_000, 100_000, 100_000, new SimpleMeterRegistry());
+    }
+
+    // Limites padrão de taxa por nome (5 tentativas, 5 por minuto) e IPs folgados, sem bloqueio por falhas
+    private static LimitadorTentativasLogin limitadorDeTaxa(int slots, int nomesComBalde) {
+        return new LimitadorTentativasLogin(slots, CAPACIDADE_NOME, 5, 1000, 1000,
+                1000, 1000, 30_000, 900_000, 900_000, 10_000, nomesComBalde, new SimpleMeterRegistry());
+    }
+
+    private static String ip(int i) {
+        return "10." + (i >> 16 & 255) + "." + (i >> 8 & 255) + "." + (i & 255);
+    }
+
+    @Test
+    void nomeComFalhasConsecutivasEhBloqueado() {
+        LimitadorTentativasLogin limitador = limitador(16384, 30_000);
+
+        // A primeira falha fica só no sketch; o bloqueio vem uma falha depois do configurado
+        for (int i = 0; i < FALHAS_ANTES_BLOQUEIO; i++) {
+            limitador.registrarFalha("atacado", ip(i));
+        }
+        assertThatCode(() -> limitador.verificar("atacado", ip(100))).doesNotThrowAnyException();
+
+        limitador.registrarFalha("atacado", ip(100));
+        assertThatThrownBy(() -> limitador.verificar("atacado", ip(101)))
+                .isInstanceOf(LimiteTentativasException.class);
+    }
+
+    @Test
+    void nomesQueColidemNoSketchNuncaSaoBloqueadosPelasFalhasDeOutro() {
+        // Sketch mínimo e milhares de nomes com falhas: todas as posições ficam saturadas, ou seja,
+        // todo nome colide com o do atacante nas duas linhas
+        LimitadorTentativasLogin limitador = limitador(1024, 30_000);
+        for (int i = 0; i < 20; i++) {
+            limitador.registrarFalha("atacante", ip(i));
+        }
+        List<String> nomes = IntStream.range(0, 20_000).mapToObj(i -> "usuario" + i).toList();
+        for (int i = 0; i < nomes.size(); i++) {
+            // Cada nome erra a senha uma vez a menos que o necessário para o próprio bloqueio
+            for (int falha = 0; falha < FALHAS_ANTES_BLOQUEIO - 1; falha++) {
+                limitador.registrarFalha(nomes.get(i), ip(i));
+            }
+        }
+
+        assertThatThrownBy(() -> limitador.verificar("atacante", ip(1)))
+                .isInstanceOf(LimiteTentativasException.class);
+        for (int i = 0; i < nomes.size(); i++) {
+            String nome = nomes.get(i);
+            String ipCliente = ip(i);
+            assertThatCode(() -> limitador.verificar(nome, ipCliente)).doesNotThrowAnyException();
+        }
+        for (int i = 0; i < 1000; i++) {
+            String nome = "sem-falhas" + i;
+            String ipCliente = ip(50_000 + i);
+            assertThatCode(() -> limitador.verificar(nome, ipCliente)).doesNotThrowAnyException();
+        }
+    }
+
+    @Test
+    void nomeSemFichasEhRecusado() {
+        LimitadorTentativasLogin limitador = limitadorDeTaxa(16384, 100_000);
+        for (int i = 0; i < CAPACIDADE_NOME; i++) {
+            limitador.verificar("usuario", ip(i));
+        }
+
+        assertThatThrownBy(() -> limitador.verificar("usuario", ip(100)))
+                .isInstanceOf(LimiteTentativasException.class);
+        assertThatCode(() -> limitador.verificar("outro", ip(100))).doesNotThrowAnyException();
+    }
+
+    @Test
+    void enxurradaDeNomesDistintosNaoEsgotaOsBaldesDosDemais() {
+        // Vetores mínimos e muito mais nomes que posições e que baldes em memória: cada nome do atacante
+        // esgota as próprias fichas, vindo de um IP diferente a cada nome
+        LimitadorTentativasLogin limitador = limitadorDeTaxa(1024, 10_000);
+        for (int i = 0; i < 50_000; i++) {
+            String nome = "enxurrada" + i;
+            for (int tentativa = 0; tentativa < CAPACIDADE_NOME; tentativa++) {
+                limitador.verificar(nome, ip(i));
+            }
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            String nome = "legitimo" + i;
+            String ipCliente = ip(100_000 + i);
+            assertThatCode(() -> limitador.verificar(nome, ipCliente)).doesNotThrowAnyException();
+        }
+    }
+
+    @Test
+    void sucessoZeraAsFalhasDoNome() {
+        LimitadorTentativasLogin limitador = limitador(16384, 30_000);
+        for (int i = 0; i < FALHAS_ANTES_BLOQUEIO; i++) {
+            limitador.registrarFalha("usuario", ip(i));
+        }
+
+        limitador.registrarSucesso("usuario");
+        limitador.registrarFalha("usuario", ip(100));
+        limitador.registrarFalha("usuario", ip(101));
+
+        assertThatCode(() -> limitador.verificar("usuario", ip(102))).doesNotThrowAnyException();
+    }
+
+    @Test
+    void bloqueioTerminaAposODuracaoConfigurada() throws InterruptedException {
+        LimitadorTentativasLogin limitador = limitador(16384, 50);
+        for (int i = 0; i <= FALHAS_ANTES_BLOQUEIO; i++) {
+            limitador.registrarFalha("usuario", ip(i));
+        }
+        assertThatThrownBy(() -> limitador.verificar("usuario", ip(100)))
+                .isInstanceOf(LimiteTentativasException.class);
+
+        Thread.sleep(100);
+
+        assertThatCode(() -> limitador.verificar("usuario", ip(100))).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,134 @@
+package com.ecommer.usuario.configs.security;
+
+import com.ecommer.usuario.models.TokenRevogadoModel;
+import com.ecommer.usuario.repositorys.TokenRevogadoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RevogacaoTokenJwtTest {
+
+    private static final ZoneId ZONA = ZoneId.of("America/Recife");
+    private static final long EXPIRACAO_MS = 900_000;
+
+    // Conteúdo da TB_TOKEN_REVOGADO compartilhado pelas "instâncias" do teste
+    private final List<TokenRevogadoModel> tabela = new ArrayList<>();
+    private TokenRevogadoRepository repository;
+    private UsuarioDetailsServiceImpl usuarioDetailsService;
+
+    @BeforeEach
+    void preparar() {
+        repository = mock(TokenRevogadoRepository.class);
+        when(repository.save(any())).thenAnswer(invocacao -> {
+            TokenRevogadoModel revogacao = invocacao.getArgument(0);
+            tabela.add(revogacao);
+            return revogacao;
+        });
+        when(repository.findByDataExpiracaoAfter(any())).thenAnswer(invocacao -> {
+            LocalDateTime agora = invocacao.getArgument(0);
+            return tabela.stream().filter(r -> r.getDataExpiracao().isAfter(agora)).toList();
+        });
+        when(repository.findByDataRevogacaoGreaterThanEqualAndDataExpiracaoAfter(any(), any())).thenAnswer(invocacao -> {
+            LocalDateTime desde = invocacao.getArgument(0);
+            LocalDateTime agora = invocacao.getArgument(1);
+            return tabela.stream()
+                    .filter(r -> !r.getDataRevogacao().isBefore(desde) && r.getDataExpiracao().isAfter(agora))
+                    .toList();
+        });
+        usuarioDetailsService = mock(UsuarioDetailsServiceImpl.class);
+    }
+
+    private RevogacaoTokenJwt instancia() {
+        var revogacao = new RevogacaoTokenJwt(repository, usuarioDetailsService, EXPIRACAO_MS, 30_000, 1000, new SimpleMeterRegistry());
+        revogacao.carregar();
+        return revogacao;
+    }
+
+    private void gravarRevogacaoUsuario(UUID usuarioId, long revogadoEmMs) {
+        var revogacao = new TokenRevogadoModel();
+        revogacao.setUsuarioId(usuarioId);
+        revogacao.setDataRevogacao(LocalDateTime.ofInstant(Instant.ofEpochMilli(revogadoEmMs), ZONA));
+        revogacao.setDataExpiracao(LocalDateTime.ofInstant(Instant.ofEpochMilli(revogadoEmMs + EXPIRACAO_MS), ZONA));
+        tabela.add(revogacao);
+    }
+
+    @Test
+    void tokenRevogadoValeImediatamenteEContinuaAposAReconstrucao() {
+        RevogacaoTokenJwt revogacao = instancia();
+        UUID usuarioId = UUID.randomUUID();
+        long expiracao = System.currentTimeMillis() + EXPIRACAO_MS;
+
+        revogacao.revogarToken("jti-1", usuarioId, expiracao);
+        assertThat(revogacao.estaRevogado("jti-1", usuarioId, 0)).isTrue();
+        assertThat(revogacao.estaRevogado("jti-2", usuarioId, 0)).isFalse();
+
+        revogacao.atualizar();
+        assertThat(revogacao.estaRevogado("jti-1", usuarioId, 0)).isTrue();
+        assertThat(revogacao.estaRevogado("jti-2", usuarioId, 0)).isFalse();
+    }
+
+    @Test
+    void revogacaoDeOutraInstanciaValeAposALeituraPeriodica() {
+        RevogacaoTokenJwt instanciaA = instancia();
+        RevogacaoTokenJwt instanciaB = instancia();
+        UUID usuarioId = UUID.randomUUID();
+
+        instanciaA.revogarToken("jti-1", usuarioId, System.currentTimeMillis() + EXPIRACAO_MS);
+        assertThat(instanciaB.estaRevogado("jti-1", usuarioId, 0)).isFalse();
+
+        instanciaB.atualizar();
+        assertThat(instanciaB.estaRevogado("jti-1", usuarioId, 0)).isTrue();
+    }
+
+    @Test
+    void tokenVencidoDeixaALista() {
+        RevogacaoTokenJwt revogacao = instancia();
+        UUID usuarioId = UUID.randomUUID();
+
+        revogacao.revogarToken("jti-1", usuarioId, System.currentTimeMillis() - 1);
+        revogacao.atualizar();
+
+        assertThat(revogacao.estaRevogado("jti-1", usuarioId, 0)).isFalse();
+    }
+
+    @Test
+    void revogacaoDoUsuarioComparaSegundosInteiros() {
+        UUID usuarioId = UUID.randomUUID();
+        // Revogação no meio de um segundo; o "iat" do token tem precisão de segundos
+        long segundo = (System.currentTimeMillis() / 1000 - 10) * 1000;
+        gravarRevogacaoUsuario(usuarioId, segundo + 700);
+
+        RevogacaoTokenJwt revogacao = instancia();
+
+        assertThat(revogacao.estaRevogado("jti", usuarioId, segundo - 1000)).isTrue();
+        // Novo login no mesmo segundo da revogação: o token não é recusado
+        assertThat(revogacao.estaRevogado("jti", usuarioId, segundo)).isFalse();
+        assertThat(revogacao.estaRevogado("jti", usuarioId, segundo + 1000)).isFalse();
+        assertThat(revogacao.estaRevogado("jti", UUID.randomUUID(), segundo - 1000)).isFalse();
+    }
+
+    @Test
+    void revogacaoDeUsuarioLidaInvalidaOCache() {
+        RevogacaoTokenJwt revogacao = instancia();
+        UUID usuarioId = UUID.randomUUID();
+        gravarRevogacaoUsuario(usuarioId, System.currentTimeMillis());
+
+        revogacao.atualizar();
+
+        verify(usuarioDetailsService).invalidarUsuarioId(usuarioId);
+        assertThat(revogacao.estaRevogado(null, usuarioId, 0)).isTrue();
+    }
+}
@@ -0,0 +1,51 @@
+package com.ecommer.usuario.dtos;
+
+import com.ecommer.usuario.exceptios.CursorInvalidoException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorUsuarioRecordDtoTest {
+
+    @Test
+    void decodificaOCursorCodificado() {
+        var cursor = new CursorUsuarioRecordDto(LocalDateTime.of(2024, 5, 17, 13, 45, 12, 123_456_000), UUID.randomUUID());
+
+        assertThat(CursorUsuarioRecordDto.decodificar(cursor.codificar())).isEqualTo(cursor);
+    }
+
+    @Test
+    void preservaHorarioSemSegundos() {
+        // LocalDateTime.toString omite os segundos zerados ("2024-01-01T10:00")
+        var cursor = new CursorUsuarioRecordDto(LocalDateTime.of(2024, 1, 1, 10, 0), UUID.randomUUID());
+
+        assertThat(CursorUsuarioRecordDto.decodificar(cursor.codificar())).isEqualTo(cursor);
+    }
+
+    @Test
+    void cursorEhSeguroParaURL() {
+        var cursor = new CursorUsuarioRecordDto(LocalDateTime.of(2024, 12, 31, 23, 59, 59, 999_999_999), UUID.randomUUID());
+
+        assertThat(cursor.codificar()).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void cursorAdulteradoEhRecusado() {
+        for (String cursor : new String[]{"", "@@@", base64("sem-separador"), base64("2024-01-01T10:00|nao-eh-uuid"),
+                base64("ontem|" + UUID.randomUUID()), null}) {
+            assertThatThrownBy(() -> CursorUsuarioRecordDto.decodificar(cursor))
+                    .isInstanceOf(CursorInvalidoException.class)
+                    .hasMessage("ERRO, CURSOR DE PAGINAÇÃO INVÁLIDO!");
+        }
+    }
+
+    private static String base64(String valor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+}
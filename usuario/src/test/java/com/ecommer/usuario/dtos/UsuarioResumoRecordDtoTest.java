@@ -0,0 +1,69 @@
+package com.ecommer.usuario.dtos;
+
+import com.ecommer.usuario.configs.DateConfig;
+import com.ecommer.usuario.enums.StatusUsuario;
+import com.ecommer.usuario.enums.TipoPerfio;
+import com.ecommer.usuario.models.UsuarioModel;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UsuarioResumoRecordDtoTest {
+
+    private static final String BASE_HREF = "http://localhost:8087/usuario/usuario/";
+
+    private static ObjectMapper objectMapper() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new DateConfig().jsonCustomizer().customize(builder);
+        return builder.build();
+    }
+
+    private static UsuarioModel usuarioModel() {
+        UsuarioModel usuarioModel = new UsuarioModel();
+        usuarioModel.setUsuarioId(UUID.randomUUID());
+        usuarioModel.setNome("usuario.teste");
+        usuarioModel.setEmail("usuario@teste.com");
+        usuarioModel.setSenha("hash");
+        usuarioModel.setStatusUsuario(StatusUsuario.ATIVO);
+        usuarioModel.setPerfilUsuario(TipoPerfio.USUARIO);
+        usuarioModel.setDataCriacao(LocalDateTime.of(2024, 5, 17, 13, 45, 12));
+        usuarioModel.setDataAtualizacao(LocalDateTime.of(2024, 6, 1, 8, 0));
+        return usuarioModel;
+    }
+
+    private static UsuarioResumoRecordDto resumo(UsuarioModel usuarioModel) {
+        return new UsuarioResumoRecordDto(usuarioModel.getUsuarioId(), usuarioModel.getNome(), usuarioModel.getStatusUsuario(),
+                usuarioModel.getPerfilUsuario(), usuarioModel.getDataCriacao(), usuarioModel.getDataAtualizacao());
+    }
+
+    @Test
+    void jsonDaListagemIgualAoDaEntidadeComLink() throws Exception {
+        ObjectMapper objectMapper = objectMapper();
+        UsuarioModel usuarioModel = usuarioModel();
+        UsuarioResumoRecordDto resumo = resumo(usuarioModel).comLink(BASE_HREF);
+        usuarioModel.add(Link.of(BASE_HREF + usuarioModel.getUsuarioId()).withSelfRel());
+
+        JsonNode json = objectMapper.valueToTree(resumo);
+
+        assertThat(json).isEqualTo(objectMapper.valueToTree(usuarioModel));
+        assertThat(json.get("links").get(0).get("rel").asText()).isEqualTo("self");
+    }
+
+    @Test
+    void jsonDoDetalheIgualAoDaEntidadeSemLink() {
+        ObjectMapper objectMapper = objectMapper();
+        UsuarioModel usuarioModel = usuarioModel();
+
+        JsonNode json = objectMapper.valueToTree(resumo(usuarioModel));
+
+        assertThat(json).isEqualTo(objectMapper.valueToTree(usuarioModel));
+        assertThat(json.get("links")).isEmpty();
+    }
+}
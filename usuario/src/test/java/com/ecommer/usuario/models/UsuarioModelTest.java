@@ -0,0 +1,69 @@
+package com.ecommer.usuario.models;
+
+import com.ecommer.usuario.enums.RoleType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UsuarioModelTest {
+
+    private static RoleModel role(RoleType roleType) {
+        RoleModel roleModel = new RoleModel();
+        roleModel.setRoleNome(roleType);
+        return roleModel;
+    }
+
+    @Test
+    void rolesNaoPodemSerAlteradasPeloGetter() {
+        UsuarioModel usuario = new UsuarioModel();
+        usuario.adicionarRole(role(RoleType.ROLE_USUARIO));
+
+        assertThatThrownBy(() -> usuario.getRoles().add(role(RoleType.ROLE_ADMINISTRADOR)))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> usuario.getRoles().clear())
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(usuario.getRolesMascara()).isEqualTo(RoleType.ROLE_USUARIO.bit());
+    }
+
+    @Test
+    void adicionarERemoverRoleAtualizamAMascara() {
+        UsuarioModel usuario = new UsuarioModel();
+        usuario.adicionarRole(role(RoleType.ROLE_USUARIO));
+        usuario.adicionarRole(role(RoleType.ROLE_ADMINISTRADOR));
+        assertThat(usuario.getRolesMascara()).isEqualTo(RoleType.ROLE_USUARIO.bit() | RoleType.ROLE_ADMINISTRADOR.bit());
+
+        // Outra instância da mesma role, como a vinda do registro de roles
+        usuario.removerRole(role(RoleType.ROLE_ADMINISTRADOR));
+
+        assertThat(usuario.getRolesMascara()).isEqualTo(RoleType.ROLE_USUARIO.bit());
+        assertThat(usuario.getRoles()).extracting(RoleModel::getRoleNome).containsExactly(RoleType.ROLE_USUARIO);
+    }
+
+    @Test
+    void removerRoleAusenteNaoAlteraAsDemais() {
+        UsuarioModel usuario = new UsuarioModel();
+        usuario.adicionarRole(role(RoleType.ROLE_USUARIO));
+
+        usuario.removerRole(role(RoleType.ROLE_ADMINISTRADOR));
+
+        assertThat(usuario.getRolesMascara()).isEqualTo(RoleType.ROLE_USUARIO.bit());
+        assertThat(usuario.getRoles()).hasSize(1);
+    }
+
+    @Test
+    void setRolesCopiaAsRolesERecalculaAMascara() {
+        UsuarioModel usuario = new UsuarioModel();
+        usuario.adicionarRole(role(RoleType.ROLE_USUARIO));
+
+        usuario.setRoles(Set.of(role(RoleType.ROLE_ADMINISTRADOR)));
+        assertThat(usuario.getRolesMascara()).isEqualTo(RoleType.ROLE_ADMINISTRADOR.bit());
+
+        // Reatribuir a própria visão não perde as roles
+        usuario.setRoles(usuario.getRoles());
+        assertThat(usuario.getRolesMascara()).isEqualTo(RoleType.ROLE_ADMINISTRADOR.bit());
+        assertThat(usuario.getRoles()).extracting(RoleModel::getRoleNome).containsExactly(RoleType.ROLE_ADMINISTRADOR);
+    }
+}
@@ -0,0 +1,71 @@
+package com.ecommer.usuario.repositorys;
+
+import org.flywaydb.core.Flyway;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.StringJoiner;
+
+// Apoio aos testes de planos de consulta: banco criado pelas migrações do Flyway e populado com usuários sintéticos
+// e as suas roles
+final class BancoPostgresTeste {
+
+    static final String IMAGEM = "postgres:16-alpine";
+
+    private BancoPostgresTeste() {
+    }
+
+    static Connection preparar(PostgreSQLContainer<?> postgres, int usuarios) throws SQLException {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        Connection conexao = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        try (Statement statement = conexao.createStatement()) {
+            // Nomes e e-mails com trigramas variados (hexadecimal do md5) e e-mails com maiúsculas
+            statement.execute("""
+                    INSERT INTO tb_usuario (usuario_id, nome, senha, email, status_usuario, perfil_usuario,
+                                            data_criacao, data_atualizacao)
+                    SELECT gen_random_uuid(), 'usuario_' || md5(i::text), 'hash', 'Usuario' || i || '@Email.com',
+                           CASE WHEN i % 10 = 0 THEN 'INATIVO' ELSE 'ATIVO' END, 'USUARIO',
+                           now() - i * interval '1 minute', now()
+                    FROM generate_series(1, %d) i
+                    """.formatted(usuarios));
+            // Todos com ROLE_USUARIO e um a cada cem também com ROLE_ADMINISTRADOR, para a junção nos dois sentidos
+            statement.execute("""
+                    INSERT INTO tb_usuario_role (usuario_id, role_id)
+                    SELECT u.usuario_id, r.role_id
+                    FROM tb_usuario u
+                    JOIN tb_role r ON r.role_nome = 'ROLE_USUARIO'
+                       OR (r.role_nome = 'ROLE_ADMINISTRADOR' AND u.email LIKE 'Usuario%00@Email.com')
+                    """);
+            statement.execute("VACUUM ANALYZE tb_usuario, tb_usuario_role, tb_role");
+        }
+        return conexao;
+    }
+
+    // Primeira coluna da primeira linha, para usar valores reais do banco nas consultas dos planos
+    static String valor(Connection conexao, String sql) throws SQLException {
+        try (Statement statement = conexao.createStatement(); ResultSet resultado = statement.executeQuery(sql)) {
+            resultado.next();
+            return resultado.getString(1);
+        }
+    }
+
+    // Plano de execução em texto, uma linha por nó
+    static String plano(Connection conexao, String sql) throws SQLException {
+        StringJoiner plano = new StringJoiner("\n");
+        try (Statement statement = conexao.createStatement(); ResultSet resultado = statement.executeQuery("EXPLAIN " + sql)) {
+            while (resultado.next()) {
+                plano.add(resultado.getString(1));
+            }
+        }
+        return plano.toString();
+    }
+}
@@ -0,0 +1,44 @@
+package com.ecommer.usuario.repositorys;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers(disabledWithoutDocker = true)
+class UsuarioRepositoryCustomImplTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(BancoPostgresTeste.IMAGEM);
+
+    private static Connection conexao;
+
+    @BeforeAll
+    static void preparar() throws SQLException {
+        conexao = BancoPostgresTeste.preparar(postgres, 50_000);
+    }
+
+    @AfterAll
+    static void encerrar() throws SQLException {
+        conexao.close();
+    }
+
+    @Test
+    void buscaPorNomeUsaOIndiceDeTrigramas() throws SQLException {
+        String sql = UsuarioRepositoryCustomImpl.SQL_BUSCA_POR_NOME
+                .replace(":padrao", "'%7f3ab%'")
+                .replace(":termo", "'7f3ab'")
+                .replace(":limite", "20");
+
+        String plano = BancoPostgresTeste.plano(conexao, sql);
+
+        assertThat(plano).contains("idx_tb_usuario_nome_trgm").doesNotContain("Seq Scan");
+    }
+}
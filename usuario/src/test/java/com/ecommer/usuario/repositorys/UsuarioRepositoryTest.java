@@ -0,0 +1,151 @@
+package com.ecommer.usuario.repositorys;
+
+import com.ecommer.usuario.models.UsuarioModel;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Testcontainers(disabledWithoutDocker = true)
+class UsuarioRepositoryTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(BancoPostgresTeste.IMAGEM);
+
+    private static Connection conexao;
+
+    @BeforeAll
+    static void preparar() throws SQLException {
+        conexao = BancoPostgresTeste.preparar(postgres, 50_000);
+    }
+
+    @AfterAll
+    static void encerrar() throws SQLException {
+        conexao.close();
+    }
+
+    // Colunas da projeção UsuarioResumoRecordDto, lidas pela listagem, pelo cursor e pelo detalhe
+    private static final String COLUNAS_RESUMO = "SELECT u.usuario_id, u.nome, u.status_usuario, u.perfil_usuario, "
+            + "u.data_criacao, u.data_atualizacao FROM tb_usuario u";
+
+    // Nenhuma tabela de usuários (TB_USUARIO e TB_USUARIO_ROLE) pode ser lida por inteiro
+    private static void semVarreduraSequencial(String plano) {
+        assertThat(plano).doesNotContain("Seq Scan on tb_usuario");
+    }
+
+    @Test
+    void buscaDeEmailsDaImportacaoUsaOIndiceEmMinusculas() throws SQLException {
+        // Mesma forma do SQL gerado para findEmailsExistentes
+        String plano = BancoPostgresTeste.plano(conexao,
+                "SELECT lower(u.email) FROM tb_usuario u WHERE lower(u.email) IN ('usuario10@email.com', 'usuario20@email.com')");
+
+        assertThat(plano).contains(UsuarioModel.UK_EMAIL_MINUSCULO).doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void buscaPorNomeUsaARestricaoDeUnicidade() throws SQLException {
+        // Mesma forma do SQL gerado para findByNome (autenticação)
+        String plano = BancoPostgresTeste.plano(conexao,
+                "SELECT u.* FROM tb_usuario u WHERE u.nome = 'usuario_' || md5('4242')");
+
+        assertThat(plano).contains(UsuarioModel.UK_NOME);
+        semVarreduraSequencial(plano);
+    }
+
+    @Test
+    void listagemPorStatusUsaOIndiceDeStatusEDataDeCriacao() throws SQLException {
+        // Forma do SQL da listagem com o filtro statusUsuario, ordenada por dataCriacao (único caminho que GuardaConsulta permite)
+        String plano = BancoPostgresTeste.plano(conexao, COLUNAS_RESUMO
+                + " WHERE u.status_usuario = 'INATIVO' ORDER BY u.data_criacao LIMIT 20");
+        assertThat(plano).contains("idx_tb_usuario_status_data_criacao");
+        semVarreduraSequencial(plano);
+
+        // O status mais comum também não varre a tabela
+        semVarreduraSequencial(BancoPostgresTeste.plano(conexao, COLUNAS_RESUMO
+                + " WHERE u.status_usuario = 'ATIVO' ORDER BY u.data_criacao LIMIT 20"));
+    }
+
+    @Test
+    void paginaPorCursorUsaOIndiceDeDataDeCriacao() throws SQLException {
+        // Chave de um usuário do meio da listagem, como a recebida no cursor
+        String dataCriacao = BancoPostgresTeste.valor(conexao,
+                "SELECT data_criacao FROM tb_usuario ORDER BY data_criacao, usuario_id OFFSET 25000 LIMIT 1");
+        String usuarioId = BancoPostgresTeste.valor(conexao,
+                "SELECT usuario_id FROM tb_usuario ORDER BY data_criacao, usuario_id OFFSET 25000 LIMIT 1");
+        String aposCursor = " u.data_criacao >= '%1$s' AND (u.data_criacao > '%1$s' OR u.usuario_id > '%2$s')"
+                .formatted(dataCriacao, usuarioId);
+
+        // Mesma forma do SQL gerado para findAllAposCursor, sem filtro e com o filtro statusUsuario
+        String plano = BancoPostgresTeste.plano(conexao, COLUNAS_RESUMO + " WHERE" + aposCursor
+                + " ORDER BY u.data_criacao, u.usuario_id LIMIT 20");
+        assertThat(plano).contains("idx_tb_usuario_data_criacao_usuario_id");
+        semVarreduraSequencial(plano);
+
+        plano = BancoPostgresTeste.plano(conexao, COLUNAS_RESUMO + " WHERE u.status_usuario = 'INATIVO' AND" + aposCursor
+                + " ORDER BY u.data_criacao, u.usuario_id LIMIT 20");
+        assertThat(plano).contains("idx_tb_usuario_status_data_criacao");
+        semVarreduraSequencial(plano);
+    }
+
+    @Test
+    void detalheUsaAChavePrimaria() throws SQLException {
+        String usuarioId = BancoPostgresTeste.valor(conexao, "SELECT usuario_id FROM tb_usuario LIMIT 1");
+
+        // Mesma forma do SQL gerado para findResumoById
+        String plano = BancoPostgresTeste.plano(conexao, COLUNAS_RESUMO + " WHERE u.usuario_id = '" + usuarioId + "'");
+
+        assertThat(plano).contains("tb_usuario_pkey");
+        semVarreduraSequencial(plano);
+    }
+
+    @Test
+    void rolesDoUsuarioUsamAChavePrimariaDaAssociacao() throws SQLException {
+        String usuarioId = BancoPostgresTeste.valor(conexao, "SELECT usuario_id FROM tb_usuario LIMIT 1");
+
+        // Mesma forma do SQL gerado na carga da associação UsuarioModel.roles (usuário -> roles).
+        // TB_ROLE tem uma linha por RoleType e pode ser varrida.
+        String plano = BancoPostgresTeste.plano(conexao, """
+                SELECT r.role_id, r.role_nome FROM tb_usuario_role ur
+                JOIN tb_role r ON r.role_id = ur.role_id
+                WHERE ur.usuario_id = '%s'
+                """.formatted(usuarioId));
+
+        assertThat(plano).contains("tb_usuario_role_pkey");
+        semVarreduraSequencial(plano);
+    }
+
+    @Test
+    void usuariosDaRoleUsamOIndiceDaAssociacao() throws SQLException {
+        String roleId = BancoPostgresTeste.valor(conexao, "SELECT role_id FROM tb_role WHERE role_nome = 'ROLE_ADMINISTRADOR'");
+
+        // Sentido role -> usuários da junção, atendido pelo índice (role_id, usuario_id) de V7
+        String plano = BancoPostgresTeste.plano(conexao,
+                "SELECT ur.usuario_id FROM tb_usuario_role ur WHERE ur.role_id = '" + roleId + "'");
+
+        assertThat(plano).contains("idx_tb_usuario_role_role_id_usuario_id");
+        semVarreduraSequencial(plano);
+    }
+
+    @Test
+    void emailQueDifereApenasNasMaiusculasEhDuplicado() {
+        // O usuário 1 foi gravado como "Usuario1@Email.com"
+        assertThatThrownBy(() -> {
+            try (Statement statement = conexao.createStatement()) {
+                statement.execute("""
+                        INSERT INTO tb_usuario (usuario_id, nome, senha, email, status_usuario, perfil_usuario,
+                                                data_criacao, data_atualizacao)
+                        VALUES (gen_random_uuid(), 'outro', 'hash', 'USUARIO1@email.COM', 'ATIVO', 'USUARIO', now(), now())
+                        """);
+            }
+        }).isInstanceOf(SQLException.class).hasMessageContaining(UsuarioModel.UK_EMAIL_MINUSCULO);
+    }
+}
@@ -0,0 +1,55 @@
+package com.ecommer.usuario.services.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImportacaoUsuarioServiceImplTest {
+
+    @Test
+    void separaCamposSimples() {
+        assertThat(ImportacaoUsuarioServiceImpl.camposCsv("maria,maria@email.com,Senha@1"))
+                .containsExactly("maria", "maria@email.com", "Senha@1");
+    }
+
+    @Test
+    void campoEntreAspasPodeConterVirgulaEAspas() {
+        assertThat(ImportacaoUsuarioServiceImpl.camposCsv("\"silva, maria\",maria@email.com,\"Se\"\"nha,1\""))
+                .containsExactly("silva, maria", "maria@email.com", "Se\"nha,1");
+    }
+
+    @Test
+    void mantemCamposVaziosEEspacos() {
+        assertThat(ImportacaoUsuarioServiceImpl.camposCsv(",, a ,"))
+                .containsExactly("", "", " a ", "");
+        assertThat(ImportacaoUsuarioServiceImpl.camposCsv(""))
+                .containsExactly("");
+        assertThat(ImportacaoUsuarioServiceImpl.camposCsv("\"\",x"))
+                .containsExactly("", "x");
+    }
+
+    @Test
+    void aspaNoMeioDoCampoAbreTrechoEntreAspas() {
+        assertThat(ImportacaoUsuarioServiceImpl.camposCsv("ab\"c,d\"e,f"))
+                .containsExactly("abc,de", "f");
+    }
+
+    @Test
+    void aspasSemFechamentoVaoAteOFimDaLinha() {
+        assertThat(ImportacaoUsuarioServiceImpl.camposCsv("a,\"b,c"))
+                .containsExactly("a", "b,c");
+    }
+
+    @Test
+    void cabecalhoEmQualquerOrdemMaiusculasEEspacos() {
+        assertThat(ImportacaoUsuarioServiceImpl.lerCabecalho(" Senha ,EMAIL,extra,nome"))
+                .containsExactly(3, 1, 0);
+    }
+
+    @Test
+    void cabecalhoSemColunaObrigatoriaEhRecusado() {
+        assertThat(ImportacaoUsuarioServiceImpl.lerCabecalho("nome,email")).isNull();
+        assertThat(ImportacaoUsuarioServiceImpl.lerCabecalho("nome,e-mail,senha")).isNull();
+        assertThat(ImportacaoUsuarioServiceImpl.lerCabecalho("")).isNull();
+    }
+}
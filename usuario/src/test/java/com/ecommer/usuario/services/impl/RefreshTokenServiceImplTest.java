@@ -0,0 +1,91 @@
+package com.ecommer.usuario.services.impl;
+
+import com.ecommer.usuario.enums.StatusUsuario;
+import com.ecommer.usuario.exceptios.TokenInvalidoException;
+import com.ecommer.usuario.models.RefreshTokenModel;
+import com.ecommer.usuario.models.UsuarioModel;
+import com.ecommer.usuario.repositorys.RefreshTokenRepository;
+import com.ecommer.usuario.repositorys.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceImplTest {
+
+    private static final ZoneId ZONA = ZoneId.of("America/Recife");
+
+    // Conteúdo da TB_REFRESH_TOKEN, indexado pelo resumo
+    private final Map<String, RefreshTokenModel> tabela = new HashMap<>();
+    private RefreshTokenServiceImpl refreshTokenService;
+    private UsuarioModel usuario;
+
+    @BeforeEach
+    void preparar() {
+        usuario = new UsuarioModel();
+        usuario.setUsuarioId(UUID.randomUUID());
+        usuario.setStatusUsuario(StatusUsuario.ATIVO);
+
+        RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+        when(refreshTokenRepository.save(any())).thenAnswer(invocacao -> {
+            RefreshTokenModel refreshToken = invocacao.getArgument(0);
+            tabela.put(refreshToken.getTokenHash(), refreshToken);
+            return refreshToken;
+        });
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenAnswer(invocacao ->
+                Optional.ofNullable(tabela.get(invocacao.<String>getArgument(0))));
+        when(refreshTokenRepository.deleteByTokenHash(anyString())).thenAnswer(invocacao ->
+                tabela.remove(invocacao.<String>getArgument(0)) != null ? 1 : 0);
+
+        UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+        when(usuarioRepository.getReferenceById(any())).thenReturn(usuario);
+
+        refreshTokenService = new RefreshTokenServiceImpl(refreshTokenRepository, usuarioRepository, 60_000, 1000);
+    }
+
+    @Test
+    void tokenSoPodeSerConsumidoUmaVez() {
+        String refreshToken = refreshTokenService.criarRefreshToken(usuario.getUsuarioId());
+
+        assertThat(refreshTokenService.consumirRefreshToken(refreshToken)).isSameAs(usuario);
+        assertThatThrownBy(() -> refreshTokenService.consumirRefreshToken(refreshToken))
+                .isInstanceOf(TokenInvalidoException.class);
+    }
+
+    @Test
+    void requisicaoQuePerdeARemocaoSimultaneaEhRejeitada() {
+        String refreshToken = refreshTokenService.criarRefreshToken(usuario.getUsuarioId());
+        // As duas requisições leram o token antes de qualquer remoção
+        RefreshTokenModel lido = tabela.values().iterator().next();
+        RefreshTokenRepository repository = refreshTokenService.refreshTokenRepository;
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(lido));
+
+        assertThat(refreshTokenService.consumirRefreshToken(refreshToken)).isSameAs(usuario);
+        assertThatThrownBy(() -> refreshTokenService.consumirRefreshToken(refreshToken))
+                .isInstanceOf(TokenInvalidoException.class)
+                .hasMessage("ERRO, REFRESH TOKEN INVÁLIDO!");
+    }
+
+    @Test
+    void tokenExpiradoEhRemovidoERejeitado() {
+        String refreshToken = refreshTokenService.criarRefreshToken(usuario.getUsuarioId());
+        tabela.values().iterator().next().setDataExpiracao(LocalDateTime.now(ZONA).minusSeconds(1));
+
+        assertThatThrownBy(() -> refreshTokenService.consumirRefreshToken(refreshToken))
+                .isInstanceOf(TokenInvalidoException.class)
+                .hasMessage("ERRO, REFRESH TOKEN EXPIRADO!");
+        assertThat(tabela).isEmpty();
+    }
+}
@@ -0,0 +1,126 @@
+package com.ecommer.usuario.services.impl;
+
+import com.ecommer.usuario.enums.RoleType;
+import com.ecommer.usuario.models.RoleModel;
+import com.ecommer.usuario.repositorys.RoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RoleServiceImplTest {
+
+    // Conteúdo da TB_ROLE
+    private final List<RoleModel> tabela = new ArrayList<>();
+    private RoleRepository roleRepository;
+
+    @BeforeEach
+    void preparar() {
+        tabela.add(role(RoleType.ROLE_USUARIO));
+        roleRepository = mock(RoleRepository.class);
+        when(roleRepository.findAll()).thenAnswer(invocacao -> List.copyOf(tabela));
+    }
+
+    private static RoleModel role(RoleType roleType) {
+        RoleModel roleModel = new RoleModel();
+        roleModel.setRoleNome(roleType);
+        return roleModel;
+    }
+
+    private RoleServiceImpl iniciar(long intervaloRecargaMs) {
+        RoleServiceImpl roleService = new RoleServiceImpl(roleRepository, intervaloRecargaMs);
+        roleService.carregar();
+        return roleService;
+    }
+
+    @Test
+    void roleDoRegistroNaoConsultaOBanco() {
+        RoleServiceImpl roleService = iniciar(60_000);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(roleService.findByRoleNome(RoleType.ROLE_USUARIO).getRoleNome()).isEqualTo(RoleType.ROLE_USUARIO);
+        }
+
+        verify(roleRepository, times(1)).findAll();
+    }
+
+    @Test
+    void faltasRepetidasNaoRecarregamDentroDoIntervalo() {
+        RoleServiceImpl roleService = iniciar(60_000);
+
+        for (int i = 0; i < 100; i++) {
+            assertThatThrownBy(() -> roleService.findByRoleNome(RoleType.ROLE_ADMINISTRADOR))
+                    .hasMessage("ERROR: ROLE NÃO EXISTENTE.");
+        }
+
+        // Somente a carga da inicialização: a falta logo em seguida ainda está dentro do intervalo
+        verify(roleRepository, times(1)).findAll();
+    }
+
+    @Test
+    void faltaRecarregaDepoisDoIntervalo() {
+        RoleServiceImpl roleService = iniciar(0);
+        tabela.add(role(RoleType.ROLE_ADMINISTRADOR));
+
+        assertThat(roleService.findByRoleNome(RoleType.ROLE_ADMINISTRADOR).getRoleNome()).isEqualTo(RoleType.ROLE_ADMINISTRADOR);
+        verify(roleRepository, times(2)).findAll();
+    }
+
+    @Test
+    void recargaAdministrativaIgnoraOIntervalo() {
+        RoleServiceImpl roleService = iniciar(60_000);
+        tabela.add(role(RoleType.ROLE_ADMINISTRADOR));
+
+        assertThat(roleService.recarregar()).containsKeys(RoleType.ROLE_USUARIO, RoleType.ROLE_ADMINISTRADOR);
+        assertThat(roleService.findByRoleNome(RoleType.ROLE_ADMINISTRADOR).getRoleNome()).isEqualTo(RoleType.ROLE_ADMINISTRADOR);
+        verify(roleRepository, times(2)).findAll();
+    }
+
+    @Test
+    void faltasSimultaneasCompartilhamUmaRecarga() throws Exception {
+        RoleServiceImpl roleService = iniciar(0);
+        tabela.add(role(RoleType.ROLE_ADMINISTRADOR));
+        // A recarga fica presa na consulta até todas as threads terem pedido a role ausente
+        CountDownLatch consultaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarConsulta = new CountDownLatch(1);
+        when(roleRepository.findAll()).thenAnswer(invocacao -> {
+            consultaIniciada.countDown();
+            liberarConsulta.await(5, TimeUnit.SECONDS);
+            return List.copyOf(tabela);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<RoleModel>> buscas = new ArrayList<>();
+            buscas.add(executor.submit(() -> roleService.findByRoleNome(RoleType.ROLE_ADMINISTRADOR)));
+            assertThat(consultaIniciada.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 7; i++) {
+                buscas.add(executor.submit(() -> roleService.findByRoleNome(RoleType.ROLE_ADMINISTRADOR)));
+            }
+            // Espera as demais threads chegarem à trava antes de liberar a consulta
+            Thread.sleep(200);
+            liberarConsulta.countDown();
+
+            for (Future<RoleModel> busca : buscas) {
+                assertThat(busca.get(5, TimeUnit.SECONDS).getRoleNome()).isEqualTo(RoleType.ROLE_ADMINISTRADOR);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // Carga da inicialização e uma única recarga
+        verify(roleRepository, times(2)).findAll();
+    }
+}
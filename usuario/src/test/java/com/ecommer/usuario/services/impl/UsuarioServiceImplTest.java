@@ -0,0 +1,36 @@
+package com.ecommer.usuario.services.impl;
+
+import com.ecommer.usuario.models.UsuarioModel;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UsuarioServiceImplTest {
+
+    private static DataIntegrityViolationException violacao(String restricao) {
+        return new DataIntegrityViolationException("violação",
+                new ConstraintViolationException("violação", new SQLException("duplicado"), restricao));
+    }
+
+    @Test
+    void identificaOCampoDuplicadoPelaRestricao() {
+        assertThat(UsuarioServiceImpl.mensagemDuplicidade(violacao(UsuarioModel.UK_NOME)))
+                .isEqualTo("ERRO, USUARIO JÁ EXISTENTE!");
+        assertThat(UsuarioServiceImpl.mensagemDuplicidade(violacao(UsuarioModel.UK_EMAIL)))
+                .isEqualTo("ERRO, ESTE E-MAIL JÁ ESTÁ EM USO!");
+        assertThat(UsuarioServiceImpl.mensagemDuplicidade(violacao(UsuarioModel.UK_EMAIL_MINUSCULO)))
+                .isEqualTo("ERRO, ESTE E-MAIL JÁ ESTÁ EM USO!");
+    }
+
+    @Test
+    void outraViolacaoNaoEhCadastroDuplicado() {
+        DataIntegrityViolationException e = violacao("tb_usuario_role_role_id_fkey");
+
+        assertThatThrownBy(() -> UsuarioServiceImpl.mensagemDuplicidade(e)).isSameAs(e);
+    }
+}
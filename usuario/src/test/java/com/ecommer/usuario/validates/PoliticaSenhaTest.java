@@ -0,0 +1,114 @@
+package com.ecommer.usuario.validates;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PoliticaSenhaTest {
+
+    // Validação anterior de SenhaConstraintImpl, usada como referência
+    private static final Pattern SENHA_PATTERN =
+            Pattern.compile("^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[!@#&()–[{}]:;',?/*~$^+=<>]).{5,20}$");
+
+    private static boolean regexAnterior(String senha) {
+        if (senha == null || senha.trim().isEmpty() || senha.contains(" ")) {
+            return false;
+        }
+        return SENHA_PATTERN.matcher(senha).matches();
+    }
+
+    private static List<String> corpus() {
+        List<String> corpus = new ArrayList<>(List.of(
+                // Tamanhos nos limites: 4, 5, 20 e 21
+                "Ab1!", "Ab1!x", "Ab1!xxxxxxxxxxxxxxxx", "Ab1!xxxxxxxxxxxxxxxxx",
+                // Falta uma classe de cada vez
+                "ab1!x", "AB1!X", "Abc!x", "Ab1xx",
+                // Espaços e quebras de linha
+                "Ab1! x", " Ab1!x", "Ab1!x ", "     ", "Ab1!\nx", "Ab1!x\r",
+                // Colchetes: na regex anterior formavam uma união de classes, sem entrar no conjunto de especiais
+                "Ab1[x", "Ab1]x", "Ab1[]x", "Ab1[{x", "Ab1}]x",
+                // Travessão (U+2013), o único especial fora da faixa ASCII, e o hífen comum, que não é especial
+                "Ab1–x", "Ab1-x",
+                // Cada especial do conjunto padrão e alguns de fora dele
+                "Ab1%x", "Ab1_x", "Ab1.x", "Ab1\\x", "Ab1\"x", "Ab1|x", "Ab1`x", "Ab1éx",
+                "", "A"));
+        for (char especial : PoliticaSenha.ESPECIAIS_PADRAO.toCharArray()) {
+            corpus.add("Ab1" + especial + "x");
+        }
+        return corpus;
+    }
+
+    @Test
+    void politicaPadraoEquivaleARegexAnterior() {
+        for (String senha : corpus()) {
+            assertThat(PoliticaSenha.PADRAO.aceita(senha)).as("senha [%s]", senha).isEqualTo(regexAnterior(senha));
+        }
+        assertThat(PoliticaSenha.PADRAO.aceita(null)).isFalse();
+    }
+
+    @Test
+    void tabulacaoEhRecusadaAoContrarioDaRegexAnterior() {
+        // Diferença intencional: a regex anterior só recusava o espaço e as quebras de linha
+        assertThat(regexAnterior("Ab1!\tx")).isTrue();
+        assertThat(PoliticaSenha.PADRAO.aceita("Ab1!\tx")).isFalse();
+        assertThat(PoliticaSenha.PADRAO.aceita("Ab1! x")).isFalse();
+    }
+
+    @Test
+    void colchetesNaoContamComoEspeciais() {
+        assertThat(PoliticaSenha.PADRAO.aceita("Ab1[x")).isFalse();
+        assertThat(PoliticaSenha.PADRAO.aceita("Ab1]x")).isFalse();
+        assertThat(PoliticaSenha.PADRAO.aceita("Ab1–x")).isTrue();
+    }
+
+    @Test
+    void proibidaEhRecusadaSemDiferenciarMaiusculas() {
+        PoliticaSenha politica = new PoliticaSenha(5, 20, PoliticaSenha.MINUSCULA | PoliticaSenha.MAIUSCULA
+                | PoliticaSenha.DIGITO | PoliticaSenha.ESPECIAL, PoliticaSenha.ESPECIAIS_PADRAO,
+                List.of("Senha@123", " P@ssw0rd ", "", "  "));
+
+        assertThat(politica.aceita("Senha@123")).isFalse();
+        assertThat(politica.aceita("sENHA@123")).isFalse();
+        assertThat(politica.aceita("SENHA@123x")).isTrue();
+        // A entrada é comparada sem os espaços das pontas
+        assertThat(politica.aceita("p@SSW0RD")).isFalse();
+        // Prefixos e extensões de uma proibida continuam aceitos
+        assertThat(politica.aceita("Senha@12")).isTrue();
+        assertThat(politica.aceita("Senha@1234")).isTrue();
+        assertThat(politica.aceita("Outra@123")).isTrue();
+    }
+
+    @Test
+    void proibidasNaMesmaPosicaoDaTabelaSaoTodasEncontradas() {
+        // Muitas proibidas para uma tabela pequena: várias caem na mesma posição e são resolvidas por sondagem
+        List<String> proibidas = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            proibidas.add("Proibida@" + i);
+        }
+        PoliticaSenha politica = new PoliticaSenha(5, 20, PoliticaSenha.MINUSCULA | PoliticaSenha.MAIUSCULA
+                | PoliticaSenha.DIGITO | PoliticaSenha.ESPECIAL, PoliticaSenha.ESPECIAIS_PADRAO, proibidas);
+
+        for (int i = 0; i < 300; i++) {
+            assertThat(politica.aceita("Proibida@" + i)).as("Proibida@%d", i).isFalse();
+            assertThat(politica.aceita("PROIBIDA@" + i)).as("PROIBIDA@%d", i).isFalse();
+        }
+        for (int i = 300; i < 3000; i++) {
+            assertThat(politica.aceita("Proibida@" + i)).as("Proibida@%d", i).isTrue();
+        }
+    }
+
+    @Test
+    void regrasConfiguraveis() {
+        PoliticaSenha soDigitos = new PoliticaSenha(4, 6, PoliticaSenha.DIGITO, "", List.of("1234"));
+
+        assertThat(soDigitos.aceita("4321")).isTrue();
+        assertThat(soDigitos.aceita("1234")).isFalse();
+        assertThat(soDigitos.aceita("432")).isFalse();
+        assertThat(soDigitos.aceita("4321000")).isFalse();
+        assertThat(soDigitos.aceita("abcd")).isFalse();
+    }
+}